@@ -17,6 +17,7 @@
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 module org.pdfsam.basic {
+    requires com.fasterxml.jackson.databind;
     requires org.apache.commons.lang3;
     requires org.pdfsam.gui;
     requires org.pdfsam.tools.alternatemix;
@@ -31,6 +32,11 @@ module org.pdfsam.basic {
     requires javafx.graphics;
     requires org.pdfsam.core;
     requires org.pdfsam.injector;
+    requires org.sejda.commons;
+    requires org.sejda.core;
+    requires org.slf4j;
 
     exports org.pdfsam.basic;
+
+    uses org.pdfsam.core.support.params.WorkspaceParametersFactory;
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ package org.pdfsam.basic;
 
 import javafx.application.Application;
 import org.pdfsam.gui.PdfsamApp;
+import org.pdfsam.gui.PdfsamSystemProperties;
 import org.pdfsam.injector.Injector;
 import org.pdfsam.tools.alternatemix.AlternateMixTool;
 import org.pdfsam.tools.backpages.AddBackpagesTool;
@@ -29,9 +30,12 @@ import org.pdfsam.tools.rotate.RotateTool;
 import org.pdfsam.tools.split.SplitTool;
 import org.pdfsam.tools.splitbybookmarks.SplitByBookmarksTool;
 import org.pdfsam.tools.splitbysize.SplitBySizeTool;
+import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * PDFsam Basic Edition App
@@ -45,6 +49,10 @@ public class App {
                 .anyMatch(s -> "--verbose".equals(s) || "-verbose".equals(s) || "-v".equals(s))) {
             System.setProperty("tinylog.configuration", "tinylog-verbose.properties");
         }
+        var batch = batchFile(args);
+        if (batch.isPresent()) {
+            System.exit(runBatch(batch.get()));
+        }
 
         Injector.addConfig(new PdfsamBasicConfig(), new AlternateMixTool.ModuleConfig(), new ExtractTool.ModuleConfig(),
                 new MergeTool.ModuleConfig(), new RotateTool.ModuleConfig(), new SplitTool.ModuleConfig(),
@@ -53,4 +61,26 @@ public class App {
         Application.launch(PdfsamApp.class, args);
     }
 
+    /**
+     * @return the file following the --batch argument, if any
+     */
+    static Optional<Path> batchFile(String[] args) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if ("--batch".equalsIgnoreCase(args[i]) || "-batch".equalsIgnoreCase(args[i])) {
+                return Optional.ofNullable(args[i + 1]).map(Path::of);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static int runBatch(Path file) {
+        try {
+            PdfsamSystemProperties.configure();
+            return new BatchRunner().run(file).stream().allMatch(BatchRunner.TaskResult::successful) ? 0 : 1;
+        } catch (Exception e) {
+            LoggerFactory.getLogger(App.class).error("Unable to execute the batch file " + file, e);
+            return 2;
+        }
+    }
+
 }
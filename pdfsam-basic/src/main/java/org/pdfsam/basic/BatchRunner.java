@@ -0,0 +1,161 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.basic;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.pdfsam.core.support.params.WorkspaceData;
+import org.pdfsam.core.support.params.WorkspaceParametersFactory;
+import org.sejda.core.notification.context.GlobalNotificationContext;
+import org.sejda.core.service.DefaultTaskExecutionService;
+import org.sejda.core.service.TaskExecutionService;
+import org.sejda.model.notification.EventListener;
+import org.sejda.model.notification.event.TaskExecutionFailedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.toMap;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Executes tasks back to back, without starting the JavaFX toolkit, reading them from a workspace file or from a job file. A
+ * workspace file is what PDFsam saves from the GUI, a map of tool ids to the tool data, and every tool with some input
+ * selected is executed. A job file is a list of workspaces, executed in order. A tool with some input selected that can't be
+ * executed headless is reported as a failed task.
+ *
+ * @author Andrea Vacondio
+ */
+public class BatchRunner {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchRunner.class);
+    private static final TypeReference<Map<String, String>> TOOL_DATA = new TypeReference<>() {
+    };
+
+    private final Map<String, WorkspaceParametersFactory> factories;
+    private final TaskExecutionService executionService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public BatchRunner() {
+        this(ServiceLoader.load(WorkspaceParametersFactory.class).stream().map(ServiceLoader.Provider::get).toList(),
+                new DefaultTaskExecutionService());
+    }
+
+    BatchRunner(Collection<WorkspaceParametersFactory> factories, TaskExecutionService executionService) {
+        this.factories = factories.stream()
+                .collect(toMap(WorkspaceParametersFactory::toolId, Function.identity(), (a, b) -> a));
+        this.executionService = executionService;
+    }
+
+    /**
+     * Executes all the tasks in the given workspace or job file
+     *
+     * @return the results of the executed tasks, in execution order
+     */
+    public List<TaskResult> run(Path file) throws IOException {
+        requireNotNullArg(file, "Batch file cannot be null");
+        var root = objectMapper.readTree(file.toFile());
+        var workspaces = new ArrayList<JsonNode>();
+        if (root.isArray()) {
+            root.forEach(workspaces::add);
+        } else {
+            workspaces.add(root);
+        }
+        var results = new ArrayList<TaskResult>();
+        var failure = new FailureListener();
+        GlobalNotificationContext.getContext().addListener(TaskExecutionFailedEvent.class, failure);
+        try {
+            for (var workspace : workspaces) {
+                for (var tool : workspace.properties()) {
+                    run(tool.getKey(), tool.getValue(), failure).ifPresent(results::add);
+                }
+            }
+        } finally {
+            GlobalNotificationContext.getContext().removeListener(failure);
+        }
+        var failed = results.stream().filter(r -> !r.successful()).count();
+        LOG.info("Executed {} tasks, {} failed, in {} ms", results.size(), failed,
+                results.stream().map(TaskResult::elapsed).reduce(Duration.ZERO, Duration::plus).toMillis());
+        return results;
+    }
+
+    private Optional<TaskResult> run(String toolId, JsonNode data, FailureListener failure) {
+        var factory = factories.get(toolId);
+        var toolData = objectMapper.convertValue(data, TOOL_DATA);
+        if (nonNull(factory)) {
+            long start = System.nanoTime();
+            try {
+                var parameters = factory.create(toolData);
+                if (parameters.isPresent()) {
+                    failure.cause = null;
+                    LOG.info("Executing {}", toolId);
+                    executionService.execute(parameters.get());
+                    var result = new TaskResult(toolId, Duration.ofNanos(System.nanoTime() - start),
+                            Optional.ofNullable(failure.cause).map(Throwable::getMessage).orElse(null));
+                    LOG.info("{} {} in {} ms", toolId, result.successful() ? "completed" : "failed",
+                            result.elapsed().toMillis());
+                    return Optional.of(result);
+                }
+            } catch (IllegalArgumentException e) {
+                LOG.error("Invalid {} task: {}", toolId, e.getMessage());
+                return Optional.of(new TaskResult(toolId, Duration.ofNanos(System.nanoTime() - start), e.getMessage()));
+            }
+        } else if (new WorkspaceData(toolData).hasInput()) {
+            LOG.error("Headless execution is not supported for {}", toolId);
+            return Optional.of(new TaskResult(toolId, Duration.ZERO, "Headless execution is not supported"));
+        } else {
+            LOG.debug("Nothing to execute for {}", toolId);
+        }
+        return Optional.empty();
+    }
+
+    private static class FailureListener implements EventListener<TaskExecutionFailedEvent> {
+        private Throwable cause;
+
+        @Override
+        public void onEvent(TaskExecutionFailedEvent event) {
+            cause = Optional.ofNullable(event.getFailingCause()).orElseGet(() -> new RuntimeException("Task failed"));
+        }
+    }
+
+    /**
+     * The result of a task executed by the {@link BatchRunner}
+     *
+     * @param toolId  the tool the task belongs to
+     * @param elapsed the time it took to create the parameters and execute the task
+     * @param error   the reason of the failure or null if the task completed successfully
+     */
+    public record TaskResult(String toolId, Duration elapsed, String error) {
+
+        public boolean successful() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.basic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pdfsam.core.support.params.WorkspaceParametersFactory;
+import org.sejda.core.notification.context.GlobalNotificationContext;
+import org.sejda.core.service.TaskExecutionService;
+import org.sejda.model.notification.event.TaskExecutionFailedEvent;
+import org.sejda.model.parameter.base.AbstractParameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class BatchRunnerTest {
+
+    @TempDir
+    private Path folder;
+    private TaskExecutionService executionService;
+    private WorkspaceParametersFactory factory;
+    private AbstractParameters parameters;
+    private BatchRunner victim;
+
+    @BeforeEach
+    public void setUp() {
+        executionService = mock(TaskExecutionService.class);
+        factory = mock(WorkspaceParametersFactory.class);
+        parameters = mock(AbstractParameters.class);
+        when(factory.toolId()).thenReturn("merge");
+        doAnswer(i -> Optional.of(parameters)).when(factory).create(any());
+        victim = new BatchRunner(List.of(factory), executionService);
+    }
+
+    @Test
+    public void workspace() throws IOException {
+        var file = Files.writeString(folder.resolve("workspace.json"),
+                "{\"merge\":{\"input.size\":\"1\"},\"split\":{\"size\":\"2\"}}");
+        var results = victim.run(file);
+        assertEquals(1, results.size());
+        assertEquals("merge", results.get(0).toolId());
+        assertTrue(results.get(0).successful());
+        verify(factory).create(Map.of("input.size", "1"));
+        verify(executionService).execute(parameters);
+    }
+
+    @Test
+    public void jobFile() throws IOException {
+        var file = Files.writeString(folder.resolve("jobs.json"),
+                "[{\"merge\":{\"input.size\":\"1\"}},{\"merge\":{\"input.size\":\"2\"}}]");
+        var results = victim.run(file);
+        assertEquals(2, results.size());
+        verify(factory).create(Map.of("input.size", "1"));
+        verify(factory).create(Map.of("input.size", "2"));
+        verify(executionService, times(2)).execute(parameters);
+    }
+
+    @Test
+    public void nothingToExecute() throws IOException {
+        doAnswer(i -> Optional.empty()).when(factory).create(any());
+        var file = Files.writeString(folder.resolve("workspace.json"), "{\"merge\":{}}");
+        assertTrue(victim.run(file).isEmpty());
+        verify(executionService, never()).execute(any());
+    }
+
+    @Test
+    public void unsupportedToolWithInput() throws IOException {
+        var file = Files.writeString(folder.resolve("workspace.json"),
+                "{\"merge\":{\"input.size\":\"1\"},\"split\":{\"input\":\"/tmp/chuck.pdf\"}}");
+        var results = victim.run(file);
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).successful());
+        assertEquals("split", results.get(1).toolId());
+        assertFalse(results.get(1).successful());
+    }
+
+    @Test
+    public void invalidTask() throws IOException {
+        when(factory.create(any())).thenThrow(new IllegalArgumentException("Invalid"));
+        var file = Files.writeString(folder.resolve("workspace.json"), "{\"merge\":{}}");
+        var results = victim.run(file);
+        assertEquals(1, results.size());
+        assertEquals("Invalid", results.get(0).error());
+        verify(executionService, never()).execute(any());
+    }
+
+    @Test
+    public void failedTask() throws IOException {
+        doAnswer(i -> {
+            GlobalNotificationContext.getContext()
+                    .notifyListeners(new TaskExecutionFailedEvent(new Exception("Failed"), null));
+            return null;
+        }).doNothing().when(executionService).execute(any());
+        var file = Files.writeString(folder.resolve("jobs.json"), "[{\"merge\":{}},{\"merge\":{}}]");
+        var results = victim.run(file);
+        assertFalse(results.get(0).successful());
+        assertEquals("Failed", results.get(0).error());
+        assertNull(results.get(1).error());
+    }
+}
@@ -40,6 +40,16 @@ public class ConfigurableSystemProperty {
     public static final String DISCARD_BOOKMARKS_PROP = "org.pdfsam.default.discard.bookmarks";
     public static final String PREFIX_PROP = "org.pdfsam.default.prefix";
     public static final String PDFVERSION_PROP = "org.pdfsam.default.pdf.version";
+    public static final String PDFSAM_LOAD_CONCURRENCY = "org.pdfsam.load.concurrency";
+    public static final String PDFSAM_DISABLE_MEMORY_MAPPED_INPUT = "org.pdfsam.disable.memory.mapped.input";
+    public static final String PDFSAM_MEMORY_MAPPED_INPUT_THRESHOLD = "org.pdfsam.memory.mapped.input.threshold";
+    public static final String PDFSAM_TASK_CONCURRENCY = "org.pdfsam.task.concurrency";
+    public static final String PDFSAM_TASK_MEMORY_BUDGET = "org.pdfsam.task.memory.budget";
+    public static final String PDFSAM_ROTATE_PARALLELISM = "org.pdfsam.rotate.parallelism";
+    public static final String PDFSAM_PROGRESS_RATE = "org.pdfsam.progress.rate";
+    public static final String PDFSAM_JOB_JOURNAL = "org.pdfsam.job.journal";
+    public static final String PDFSAM_INCREMENTAL_EXECUTION = "org.pdfsam.incremental.execution";
+    public static final String TMP_BUFFER_DIRECTORY_PROP = "org.pdfsam.default.tmp.buffer.directory";
 
     private ConfigurableSystemProperty() {
         //NOOP
@@ -21,10 +21,13 @@ package org.pdfsam.core.context;
 import javafx.application.ConditionalFeature;
 import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.stage.Window;
+import javafx.util.Subscription;
 import org.apache.commons.lang3.StringUtils;
 import org.pdfsam.injector.Injector;
 import org.pdfsam.injector.Key;
-import org.pdfsam.persistence.PreferencesRepository;
+import org.pdfsam.persistence.CachingRepository;
+import org.pdfsam.persistence.Repositories;
 
 import java.io.Closeable;
 import java.nio.file.Files;
@@ -32,7 +35,9 @@ import java.nio.file.Paths;
 import java.util.Base64;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static java.util.Objects.isNull;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 import static java.util.function.Predicate.not;
@@ -53,7 +58,8 @@ public class ApplicationContext implements Closeable {
     private Optional<Injector> injector = Optional.empty();
 
     private ApplicationContext() {
-        this(new ApplicationPersistentSettings(new PreferencesRepository("/org/pdfsam/user/conf")), null);
+        this(new ApplicationPersistentSettings(
+                new CachingRepository(Repositories.repository("/org/pdfsam/user/conf"))), null);
     }
 
     /**
@@ -105,9 +111,10 @@ public class ApplicationContext implements Closeable {
      * Register the given scene to application context to listen to theme changes and other events
      *
      * @param scene
+     * @return a subscription that stops listening for changes on behalf of the scene, once it's no longer used
      */
-    public void registerScene(Scene scene) {
-        this.runtimeState().theme().subscribe(t -> {
+    public Subscription registerScene(Scene scene) {
+        var theme = this.runtimeState().theme().subscribe(t -> {
             if (Objects.nonNull(t)) {
                 Platform.runLater(() -> {
                     scene.getStylesheets().setAll(t.stylesheets());
@@ -122,8 +129,27 @@ public class ApplicationContext implements Closeable {
                 });
             }
         });
-        this.persistentSettings().settingsChanges(FONT).subscribe(_ -> updateFont(scene));
-        this.persistentSettings().settingsChanges(FONT_SIZE).subscribe(_ -> updateFont(scene));
+        return Subscription.combine(theme,
+                this.persistentSettings().settingsChanges(FONT).subscribe(_ -> updateFont(scene)),
+                this.persistentSettings().settingsChanges(FONT_SIZE).subscribe(_ -> updateFont(scene)));
+    }
+
+    /**
+     * Registers the scene of the given window, the same way {@link #registerScene(Scene)} does, for as long as the window
+     * is showing. The scene is registered right away and again every time the window is shown, it's unregistered when
+     * the window is hidden so that a window that is no longer used is not kept alive by the application context.
+     *
+     * @param window
+     */
+    public void registerWhileShowing(Window window) {
+        var registration = new AtomicReference<>(registerScene(window.getScene()));
+        window.showingProperty().addListener((o, oldVal, showing) -> {
+            if (showing && isNull(registration.get())) {
+                registration.set(registerScene(window.getScene()));
+            } else if (!showing) {
+                ofNullable(registration.getAndSet(null)).ifPresent(Subscription::unsubscribe);
+            }
+        });
     }
 
     private void updateFont(Scene scene) {
@@ -162,6 +188,7 @@ public class ApplicationContext implements Closeable {
 
     @Override
     public void close() {
+        persistentSettings.flush();
         injector.ifPresent(Injector::close);
     }
 
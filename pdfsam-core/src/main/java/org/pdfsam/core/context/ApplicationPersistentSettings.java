@@ -18,14 +18,16 @@
  */
 package org.pdfsam.core.context;
 
-import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.value.ObservableValue;
 import org.pdfsam.persistence.PersistenceException;
-import org.pdfsam.persistence.PreferencesRepository;
+import org.pdfsam.persistence.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.util.Objects.nonNull;
@@ -43,15 +45,27 @@ public class ApplicationPersistentSettings {
 
     private static final Logger LOG = LoggerFactory.getLogger(ApplicationPersistentSettings.class);
 
-    private final PreferencesRepository repo;
-    private final SimpleObjectProperty<PersistentPropertyChange<String>> stringSettingsChanges = new SimpleObjectProperty<>();
-    private final SimpleObjectProperty<PersistentPropertyChange<Integer>> intSettingsChanges = new SimpleObjectProperty<>();
-    private final SimpleObjectProperty<PersistentPropertyChange<Boolean>> boolSettingsChanges = new SimpleObjectProperty<>();
+    private final Repository repo;
+    // one observable per property, created once, so that a change is dispatched only to the listeners of that property
+    private final Map<StringPersistentProperty, ReadOnlyObjectWrapper<Optional<String>>> stringSettingsChanges = changes(
+            StringPersistentProperty.class);
+    private final Map<IntegerPersistentProperty, ReadOnlyObjectWrapper<Optional<Integer>>> intSettingsChanges = changes(
+            IntegerPersistentProperty.class);
+    private final Map<BooleanPersistentProperty, ReadOnlyObjectWrapper<Optional<Boolean>>> boolSettingsChanges = changes(
+            BooleanPersistentProperty.class);
 
-    ApplicationPersistentSettings(PreferencesRepository repo) {
+    ApplicationPersistentSettings(Repository repo) {
         this.repo = repo;
     }
 
+    private static <K extends Enum<K>, T> Map<K, ReadOnlyObjectWrapper<Optional<T>>> changes(Class<K> properties) {
+        var changes = new EnumMap<K, ReadOnlyObjectWrapper<Optional<T>>>(properties);
+        for (K property : properties.getEnumConstants()) {
+            changes.put(property, new ReadOnlyObjectWrapper<>(empty()));
+        }
+        return changes;
+    }
+
     /**
      * @param prop
      * @return the value for the given {@link StringPersistentProperty} or the default associated value
@@ -101,7 +115,7 @@ public class ApplicationPersistentSettings {
         requireNotNullArg(prop, "Cannot set value for a null property");
         try {
             this.repo.saveString(prop.key(), value);
-            stringSettingsChanges.set(new PersistentPropertyChange<>(prop, ofNullable(value)));
+            stringSettingsChanges.get(prop).set(ofNullable(value));
         } catch (PersistenceException e) {
             LOG.error("Unable to save persistent property", e);
         }
@@ -115,7 +129,7 @@ public class ApplicationPersistentSettings {
         requireNotNullArg(prop, "Cannot set value for a null property");
         try {
             this.repo.saveInt(prop.key(), value);
-            intSettingsChanges.set(new PersistentPropertyChange<>(prop, of(value)));
+            intSettingsChanges.get(prop).set(of(value));
         } catch (PersistenceException e) {
             LOG.error("Unable to save persistent property", e);
         }
@@ -128,7 +142,7 @@ public class ApplicationPersistentSettings {
         requireNotNullArg(prop, "Cannot set value for a null property");
         try {
             this.repo.saveBoolean(prop.key(), value);
-            boolSettingsChanges.set(new PersistentPropertyChange<>(prop, of(value)));
+            boolSettingsChanges.get(prop).set(of(value));
         } catch (PersistenceException e) {
             LOG.error("Unable to save persistent property", e);
         }
@@ -157,42 +171,30 @@ public class ApplicationPersistentSettings {
     }
 
     /**
-     * @return an observable for changes to the given property
+     * @return an observable for changes to the given property. The same observable is returned for every call with the
+     * same property, callers should unsubscribe when they are no longer interested in changes.
      */
     public ObservableValue<Optional<String>> settingsChanges(StringPersistentProperty prop) {
-        var value = new SimpleObjectProperty<Optional<String>>(empty());
-        stringSettingsChanges.subscribe((old, c) -> {
-            if (c.property().equals(prop)) {
-                value.set(c.value());
-            }
-        });
-        return value;
+        requireNotNullArg(prop, "Cannot observe a null property");
+        return stringSettingsChanges.get(prop).getReadOnlyProperty();
     }
 
     /**
-     * @return an observable for changes to the given property
+     * @return an observable for changes to the given property. The same observable is returned for every call with the
+     * same property, callers should unsubscribe when they are no longer interested in changes.
      */
     public ObservableValue<Optional<Integer>> settingsChanges(IntegerPersistentProperty prop) {
-        var value = new SimpleObjectProperty<Optional<Integer>>(empty());
-        intSettingsChanges.subscribe((old, c) -> {
-            if (c.property().equals(prop)) {
-                value.set(c.value());
-            }
-        });
-        return value;
+        requireNotNullArg(prop, "Cannot observe a null property");
+        return intSettingsChanges.get(prop).getReadOnlyProperty();
     }
 
     /**
-     * @return an observable for changes to the given property
+     * @return an observable for changes to the given property. The same observable is returned for every call with the
+     * same property, callers should unsubscribe when they are no longer interested in changes.
      */
     public ObservableValue<Optional<Boolean>> settingsChanges(BooleanPersistentProperty prop) {
-        var value = new SimpleObjectProperty<Optional<Boolean>>(empty());
-        boolSettingsChanges.subscribe((old, c) -> {
-            if (c.property().equals(prop)) {
-                value.set(c.value());
-            }
-        });
-        return value;
+        requireNotNullArg(prop, "Cannot observe a null property");
+        return boolSettingsChanges.get(prop).getReadOnlyProperty();
     }
 
     /**
@@ -207,4 +209,15 @@ public class ApplicationPersistentSettings {
         }
     }
 
+    /**
+     * Writes the pending changes to the persistent settings
+     */
+    public void flush() {
+        try {
+            this.repo.flush();
+        } catch (PersistenceException e) {
+            LOG.error("Unable to store application settings", e);
+        }
+    }
+
 }
@@ -26,6 +26,7 @@ import static org.pdfsam.core.ConfigurableSystemProperty.LOCALE_PROP;
 import static org.pdfsam.core.ConfigurableSystemProperty.PDFVERSION_PROP;
 import static org.pdfsam.core.ConfigurableSystemProperty.PREFIX_PROP;
 import static org.pdfsam.core.ConfigurableSystemProperty.THEME_PROP;
+import static org.pdfsam.core.ConfigurableSystemProperty.TMP_BUFFER_DIRECTORY_PROP;
 
 /**
  * Configurable String value property
@@ -50,7 +51,8 @@ public enum StringPersistentProperty implements PersistentProperty<String> {
             return PdfVersion.VERSION_1_5.name();
         }
     }),
-    PREFIX(() -> System.getProperty(PREFIX_PROP, "PDFsam_"));
+    PREFIX(() -> System.getProperty(PREFIX_PROP, "PDFsam_")),
+    TMP_BUFFER_PATH(() -> System.getProperty(TMP_BUFFER_DIRECTORY_PROP, ""));
 
     private final Supplier<String> defaultSupplier;
 
@@ -0,0 +1,172 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.core.support.params;
+
+import org.apache.commons.lang3.StringUtils;
+import org.pdfsam.core.support.EncryptionUtils;
+import org.sejda.commons.collection.NullSafeSet;
+import org.sejda.conversion.exception.ConversionException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.parameter.base.AbstractPdfOutputParameters;
+import org.sejda.model.pdf.PdfVersion;
+import org.sejda.model.pdf.page.PageRange;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Optional.ofNullable;
+import static org.apache.commons.lang3.StringUtils.trim;
+import static org.pdfsam.i18n.I18nContext.i18n;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+import static org.sejda.model.output.FileOrDirectoryTaskOutput.directory;
+
+/**
+ * Read only view over the data a tool saves in a workspace, reading the keys written by the selection panes, the destination
+ * fields and the destination panes so that {@link WorkspaceParametersFactory} implementations can share them.
+ *
+ * @author Andrea Vacondio
+ */
+public final class WorkspaceData {
+
+    private final Map<String, String> data;
+
+    public WorkspaceData(Map<String, String> data) {
+        requireNotNullArg(data, "Workspace data cannot be null");
+        this.data = data;
+    }
+
+    /**
+     * @return the non blank value for the given key
+     */
+    public Optional<String> get(String key) {
+        return ofNullable(data.get(key)).filter(StringUtils::isNotBlank);
+    }
+
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(data.get(key));
+    }
+
+    /**
+     * @return true if the data contains some input saved by a single or multiple selection pane
+     */
+    public boolean hasInput() {
+        return get("input").isPresent() || get("input.size").filter(s -> !"0".equals(s)).isPresent();
+    }
+
+    /**
+     * @return the input saved by a single selection pane
+     */
+    public Optional<PdfFileSource> singleInput() {
+        return get("input").map(f -> source(f,
+                ofNullable(data.get("input.password.enc")).map(EncryptionUtils::decrypt)
+                        .orElseGet(() -> data.get("input.password"))));
+    }
+
+    /**
+     * @return the inputs saved by a multiple selection pane, in the order they have in the selection table
+     */
+    public List<Input> multipleInputs() {
+        int size = get("input.size").map(Integer::valueOf).orElse(0);
+        var inputs = new ArrayList<Input>(size);
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            get("input." + i).ifPresent(f -> inputs.add(new Input(source(f,
+                    ofNullable(data.get("input.password.enc" + index)).map(EncryptionUtils::decrypt)
+                            .orElseGet(() -> data.get("input.password." + index))), data.get("input.range." + index),
+                    data.get("input.step." + index), Boolean.parseBoolean(data.get("input.reverse." + index)))));
+        }
+        return inputs;
+    }
+
+    private static PdfFileSource source(String path, String password) {
+        var file = new File(path);
+        requireArg(file.isFile(), i18n().tr("File {0} does not exist", path));
+        return PdfFileSource.newInstanceWithPassword(file, password);
+    }
+
+    /**
+     * @return the output file saved by a browsable output field with the given id
+     */
+    public FileTaskOutput fileOutput(String fieldId) {
+        var output = get(fieldId + "browsableField").map(Path::of).filter(p -> p.toString().toLowerCase().endsWith(".pdf"))
+                .orElseThrow(() -> new IllegalArgumentException(i18n().tr("A .pdf destination file extension is required")));
+        return new FileTaskOutput(output.toAbsolutePath().toFile());
+    }
+
+    /**
+     * @return the output directory saved by a browsable output directory field with the given id
+     */
+    public Path directoryOutput(String fieldId) {
+        var output = get(fieldId + "browsableField").map(Path::of)
+                .orElseThrow(() -> new IllegalArgumentException(i18n().tr("The output directory is required")));
+        requireArg(Files.isDirectory(output), i18n().tr("An existing output directory is required"));
+        return output;
+    }
+
+    /**
+     * Applies the options saved by a pdf destination pane to the given builder
+     */
+    public void applyDestination(AbstractPdfOutputParametersBuilder<? extends AbstractPdfOutputParameters> builder) {
+        builder.compress(getBoolean("compress"));
+        if (getBoolean("overwrite")) {
+            builder.existingOutput(ExistingOutputPolicy.OVERWRITE);
+        }
+        get("version").map(PdfVersion::valueOf).ifPresent(builder::version);
+        builder.discardBookmarks(getBoolean("discardBookmarks"));
+    }
+
+    /**
+     * Applies the output directory saved by the field with the given id and the prefix saved by a prefix pane to the given
+     * builder
+     */
+    public void applyDirectoryOutput(String fieldId, MultipleOutputTaskParametersBuilder<?> builder) {
+        builder.output(directory(directoryOutput(fieldId).toFile()));
+        get("prefix").ifPresent(builder::prefix);
+    }
+
+    /**
+     * An input saved by a multiple selection pane
+     *
+     * @param source        the pdf source
+     * @param pageSelection the page selection as typed by the user
+     * @param pace          the pace as typed by the user
+     * @param reverse       if the input should be reversed
+     */
+    public record Input(PdfFileSource source, String pageSelection, String pace, boolean reverse) {
+
+        /**
+         * @return true if the user explicitly excluded this input typing 0 as page selection
+         */
+        public boolean excluded() {
+            return "0".equals(trim(pageSelection));
+        }
+
+        public NullSafeSet<PageRange> pageRanges() throws ConversionException {
+            return ConversionUtils.toPageRangeSet(pageSelection);
+        }
+    }
+}
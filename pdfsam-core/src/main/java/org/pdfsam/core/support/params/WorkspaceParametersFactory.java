@@ -0,0 +1,45 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.core.support.params;
+
+import org.sejda.model.parameter.base.AbstractParameters;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Creates the task parameters for a tool starting from the data the tool saves in a workspace, without any UI involved. It's
+ * used to execute tools in headless mode.
+ *
+ * @author Andrea Vacondio
+ */
+public interface WorkspaceParametersFactory {
+
+    /**
+     * @return the id of the tool whose workspace data this factory understands
+     */
+    String toolId();
+
+    /**
+     * @param data the workspace data of the tool
+     * @return the parameters for the task or an empty {@link Optional} if the data has no input and there's nothing to execute
+     * @throws IllegalArgumentException if the data doesn't describe a valid task
+     */
+    Optional<? extends AbstractParameters> create(Map<String, String> data);
+}
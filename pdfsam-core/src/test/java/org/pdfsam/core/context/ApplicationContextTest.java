@@ -1,5 +1,9 @@
 package org.pdfsam.core.context;
 
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+import javafx.util.Subscription;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,8 +18,12 @@ import java.util.Optional;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /*
  * This file is part of the PDF Split And Merge source code
@@ -80,4 +88,24 @@ class ApplicationContextTest {
         victim.close();
         verify(injector).close();
     }
+
+    @Test
+    void sceneIsRegisteredWhileShowing() {
+        var victim = spy(new ApplicationContext(persistentSettings, null));
+        var scene = mock(Scene.class);
+        var window = mock(Window.class);
+        var showing = new ReadOnlyBooleanWrapper(false);
+        when(window.getScene()).thenReturn(scene);
+        when(window.showingProperty()).thenReturn(showing.getReadOnlyProperty());
+        var registration = mock(Subscription.class);
+        doReturn(registration).when(victim).registerScene(scene);
+        victim.registerWhileShowing(window);
+        verify(victim).registerScene(scene);
+        showing.set(true);
+        verify(victim).registerScene(scene);
+        showing.set(false);
+        verify(registration).unsubscribe();
+        showing.set(true);
+        verify(victim, times(2)).registerScene(scene);
+    }
 }
\ No newline at end of file
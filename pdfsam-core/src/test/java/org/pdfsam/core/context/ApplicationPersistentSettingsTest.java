@@ -35,6 +35,7 @@ import static java.util.Optional.of;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -161,6 +162,46 @@ public class ApplicationPersistentSettingsTest {
         assertThrows(IllegalArgumentException.class, () -> victim.set(null, true));
     }
 
+    @Test
+    @DisplayName("Changes are notified only to the changed property observers")
+    public void changesArePerProperty() {
+        var locale = new ValuesRecorder<Optional<String>>();
+        var theme = new ValuesRecorder<Optional<String>>();
+        victim.settingsChanges(StringPersistentProperty.LOCALE).subscribe(locale);
+        victim.settingsChanges(StringPersistentProperty.THEME).subscribe(theme);
+        victim.set(StringPersistentProperty.LOCALE, "it");
+        assertThat(locale.values()).containsExactly(empty(), of("it"));
+        assertThat(theme.values()).containsExactly(empty());
+    }
+
+    @Test
+    @DisplayName("Same observable is returned for the same property")
+    public void sameObservable() {
+        assertSame(victim.settingsChanges(StringPersistentProperty.LOCALE),
+                victim.settingsChanges(StringPersistentProperty.LOCALE));
+        assertSame(victim.settingsChanges(IntegerPersistentProperty.LOGVIEW_ROWS_NUMBER),
+                victim.settingsChanges(IntegerPersistentProperty.LOGVIEW_ROWS_NUMBER));
+        assertSame(victim.settingsChanges(BooleanPersistentProperty.OVERWRITE_OUTPUT),
+                victim.settingsChanges(BooleanPersistentProperty.OVERWRITE_OUTPUT));
+    }
+
+    @Test
+    @DisplayName("Unsubscribed observers are not notified")
+    public void unsubscribe() {
+        var values = new ValuesRecorder<Optional<Boolean>>();
+        var subscription = victim.settingsChanges(BooleanPersistentProperty.OVERWRITE_OUTPUT).subscribe(values);
+        victim.set(BooleanPersistentProperty.OVERWRITE_OUTPUT, true);
+        subscription.unsubscribe();
+        victim.set(BooleanPersistentProperty.OVERWRITE_OUTPUT, false);
+        assertThat(values.values()).containsExactly(empty(), of(true));
+    }
+
+    @Test
+    @DisplayName("Observe null prop")
+    public void nullSettingsChanges() {
+        assertThrows(IllegalArgumentException.class, () -> victim.settingsChanges((StringPersistentProperty) null));
+    }
+
     @Test
     @DisplayName("Get string value")
     public void getString() throws PersistenceException {
@@ -0,0 +1,159 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.core.support.params;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pdfsam.core.support.EncryptionUtils;
+import org.sejda.model.output.FileOrDirectoryTaskOutput;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.parameter.SplitBySizeParameters;
+import org.sejda.model.pdf.PdfVersion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class WorkspaceDataTest {
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    public void nullData() {
+        assertThrows(IllegalArgumentException.class, () -> new WorkspaceData(null));
+    }
+
+    @Test
+    public void blankIsEmpty() {
+        var victim = new WorkspaceData(Map.of("key", " "));
+        assertTrue(victim.get("key").isEmpty());
+        assertTrue(victim.get("missing").isEmpty());
+    }
+
+    @Test
+    public void hasInput() {
+        assertTrue(new WorkspaceData(Map.of("input", "/tmp/chuck.pdf")).hasInput());
+        assertTrue(new WorkspaceData(Map.of("input.size", "2")).hasInput());
+        assertFalse(new WorkspaceData(Map.of("input.size", "0")).hasInput());
+        assertFalse(new WorkspaceData(Map.of("input", " ", "size", "2")).hasInput());
+    }
+
+    @Test
+    public void singleInput() throws IOException {
+        var file = Files.createTempFile(folder, null, ".pdf");
+        var victim = new WorkspaceData(
+                Map.of("input", file.toString(), "input.password.enc", EncryptionUtils.encrypt("pwd")));
+        var source = victim.singleInput().orElseThrow();
+        assertEquals(file.toFile(), source.getSource());
+        assertEquals("pwd", source.getPassword());
+    }
+
+    @Test
+    public void missingSingleInput() {
+        var victim = new WorkspaceData(Map.of("input", folder.resolve("missing.pdf").toString()));
+        assertThrows(IllegalArgumentException.class, victim::singleInput);
+    }
+
+    @Test
+    public void multipleInputs() throws IOException {
+        var first = Files.createTempFile(folder, null, ".pdf");
+        var second = Files.createTempFile(folder, null, ".pdf");
+        var data = new HashMap<String, String>();
+        data.put("input.size", "2");
+        data.put("input.0", first.toString());
+        data.put("input.range.0", "1-3,5");
+        data.put("input.1", second.toString());
+        data.put("input.password.1", "pwd");
+        data.put("input.range.1", "0");
+        data.put("input.reverse.1", "true");
+        var inputs = new WorkspaceData(data).multipleInputs();
+        assertEquals(2, inputs.size());
+        assertEquals(first.toFile(), inputs.get(0).source().getSource());
+        assertEquals(2, inputs.get(0).pageRanges().size());
+        assertFalse(inputs.get(0).excluded());
+        assertEquals("pwd", inputs.get(1).source().getPassword());
+        assertTrue(inputs.get(1).excluded());
+        assertTrue(inputs.get(1).reverse());
+    }
+
+    @Test
+    public void fileOutput() {
+        var output = folder.resolve("out.pdf");
+        assertEquals(output.toFile(),
+                new WorkspaceData(Map.of("browsableField", output.toString())).fileOutput("").getDestination());
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkspaceData(Map.of("browsableField", "out.txt")).fileOutput(""));
+        assertThrows(IllegalArgumentException.class, () -> new WorkspaceData(Map.of()).fileOutput(""));
+    }
+
+    @Test
+    public void directoryOutput() {
+        var victim = new WorkspaceData(Map.of("fieldbrowsableField", folder.toString(), "prefix", "chuck_"));
+        var builder = new SinglePdfSourceMultipleOutputParametersBuilder<SplitBySizeParameters>() {
+            @Override
+            public SplitBySizeParameters build() {
+                var params = new SplitBySizeParameters(10);
+                params.setOutput(getOutput());
+                params.setOutputPrefix(getPrefix());
+                return params;
+            }
+        };
+        victim.applyDirectoryOutput("field", builder);
+        var params = builder.build();
+        assertEquals(folder.toFile(), ((FileOrDirectoryTaskOutput) params.getOutput()).getDestination());
+        assertEquals("chuck_", params.getOutputPrefix());
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkspaceData(Map.of("fieldbrowsableField", folder.resolve("missing").toString()))
+                        .directoryOutput("field"));
+    }
+
+    @Test
+    public void applyDestination() {
+        var victim = new WorkspaceData(
+                Map.of("compress", "true", "overwrite", "true", "version", "VERSION_1_7", "discardBookmarks", "true"));
+        var builder = new SinglePdfSourceMultipleOutputParametersBuilder<SplitBySizeParameters>() {
+            @Override
+            public SplitBySizeParameters build() {
+                var params = new SplitBySizeParameters(10);
+                params.setCompress(isCompress());
+                params.setExistingOutputPolicy(existingOutput());
+                params.setVersion(getVersion());
+                params.discardOutline(isDiscardBookmarks());
+                return params;
+            }
+        };
+        victim.applyDestination(builder);
+        var params = builder.build();
+        assertTrue(params.isCompress());
+        assertEquals(ExistingOutputPolicy.OVERWRITE, params.getExistingOutputPolicy());
+        assertEquals(PdfVersion.VERSION_1_7, params.getVersion());
+        assertTrue(params.discardOutline());
+    }
+}
@@ -36,6 +36,7 @@ module org.pdfsam.gui {
     requires org.sejda.commons;
     requires org.sejda.core;
     requires org.sejda.impl.sambox;
+    requires org.sejda.io;
     requires org.slf4j;
     requires transitive org.tinylog.impl;
     requires transitive org.tinylog.api;
@@ -29,6 +29,7 @@ import javafx.scene.input.KeyCombination;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
+import javafx.util.Subscription;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.apache.commons.lang3.time.StopWatch;
@@ -61,8 +62,6 @@ import org.pdfsam.model.ui.workspace.WorkspaceCloseEvent;
 import org.pdfsam.model.update.UpdateCheckRequest;
 import org.pdfsam.ui.components.tool.RunButtonTriggerRequest;
 import org.sejda.core.Sejda;
-import org.sejda.impl.sambox.component.PDDocumentHandler;
-import org.sejda.model.util.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,20 +89,19 @@ public class PdfsamApp extends Application {
     private Stage primaryStage;
     private List<String> rawParameters;
     private boolean clean;
+    private Subscription mainSceneRegistration;
 
     @Override
     public void init() {
         STOPWATCH.start();
         Thread.setDefaultUncaughtExceptionHandler(new UncaughtExceptionLogger());
         rawParameters = getParameters().getRaw();
-        System.setProperty(PDDocumentHandler.SAMBOX_USE_ASYNC_WRITER, Boolean.TRUE.toString());
-        System.setProperty(Sejda.UNETHICAL_READ_PROPERTY_NAME, Boolean.TRUE.toString());
-        System.setProperty(IOUtils.TMP_BUFFER_PREFIX_PROPERTY_NAME, "pdfsam");
         LOG.info("Starting...");
         clean = rawParameters.contains("--clean") || rawParameters.contains("-clean") || rawParameters.contains("-c");
         if (clean) {
             app().clean();
         }
+        PdfsamSystemProperties.configure();
         app().persistentSettings().get(StringPersistentProperty.LOCALE)
                 .ifPresent(l -> eventStudio().broadcast(new SetLocaleRequest(l)));
     }
@@ -180,7 +178,7 @@ public class PdfsamApp extends Application {
     }
 
     private void initTheme(Scene scene) {
-        app().registerScene(scene);
+        mainSceneRegistration = app().registerScene(scene);
         var theme = app().persistentSettings().get(THEME).orElse(null);
         app().runtimeState().theme(Themes.getOrDefault(theme));
     }
@@ -241,6 +239,7 @@ public class PdfsamApp extends Application {
         eventStudio().broadcast(new SetLatestStageStatusRequest(status));
         saveWorkspaceIfRequired();
         eventStudio().broadcast(new ShutdownEvent());
+        ofNullable(mainSceneRegistration).ifPresent(Subscription::unsubscribe);
         app().close();
     }
 
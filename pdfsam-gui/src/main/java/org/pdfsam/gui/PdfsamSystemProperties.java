@@ -0,0 +1,61 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.gui;
+
+import org.apache.commons.lang3.StringUtils;
+import org.pdfsam.core.context.StringPersistentProperty;
+import org.sejda.core.Sejda;
+import org.sejda.impl.sambox.component.PDDocumentHandler;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.util.IOUtils;
+
+import static java.util.Optional.ofNullable;
+import static org.pdfsam.core.ConfigurableSystemProperty.PDFSAM_DISABLE_MEMORY_MAPPED_INPUT;
+import static org.pdfsam.core.ConfigurableSystemProperty.PDFSAM_MEMORY_MAPPED_INPUT_THRESHOLD;
+import static org.pdfsam.core.ConfigurableSystemProperty.TMP_BUFFER_DIRECTORY_PROP;
+import static org.pdfsam.core.context.ApplicationContext.app;
+
+/**
+ * System properties configuring Sejda and SAMBox the way PDFsam uses them. They are set both by the GUI and by the headless batch execution so that
+ * tasks run with the same configuration.
+ *
+ * @author Andrea Vacondio
+ */
+public final class PdfsamSystemProperties {
+
+    private PdfsamSystemProperties() {
+        // hide
+    }
+
+    /**
+     * Sets the system properties, including the ones derived from the user preferences
+     */
+    public static void configure() {
+        System.setProperty(PDDocumentHandler.SAMBOX_USE_ASYNC_WRITER, Boolean.TRUE.toString());
+        System.setProperty(Sejda.UNETHICAL_READ_PROPERTY_NAME, Boolean.TRUE.toString());
+        System.setProperty(IOUtils.TMP_BUFFER_PREFIX_PROPERTY_NAME, "pdfsam");
+        if (Boolean.getBoolean(PDFSAM_DISABLE_MEMORY_MAPPED_INPUT)) {
+            System.setProperty(SeekableSources.DISABLE_MEMORY_MAPPED_PROPERTY, Boolean.TRUE.toString());
+        }
+        ofNullable(System.getProperty(PDFSAM_MEMORY_MAPPED_INPUT_THRESHOLD)).ifPresent(
+                t -> System.setProperty(SeekableSources.MAPPED_SIZE_THRESHOLD_PROPERTY, t));
+        app().persistentSettings().get(StringPersistentProperty.TMP_BUFFER_PATH).filter(StringUtils::isNotBlank)
+                .ifPresent(d -> System.setProperty(TMP_BUFFER_DIRECTORY_PROP, d));
+    }
+}
@@ -60,6 +60,7 @@ import static org.pdfsam.core.context.StringPersistentProperty.LOCALE;
 import static org.pdfsam.core.context.StringPersistentProperty.PDF_VERSION;
 import static org.pdfsam.core.context.StringPersistentProperty.STARTUP_MODULE;
 import static org.pdfsam.core.context.StringPersistentProperty.THEME;
+import static org.pdfsam.core.context.StringPersistentProperty.TMP_BUFFER_PATH;
 import static org.pdfsam.core.context.StringPersistentProperty.WORKING_PATH;
 import static org.pdfsam.core.context.StringPersistentProperty.WORKSPACE_PATH;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
@@ -307,6 +308,15 @@ public class PreferenceConfig {
         return workingDirectory;
     }
 
+    @Provides
+    @Named("tmpBufferDirectory")
+    public PreferenceBrowsableDirectoryField tmpBufferDirectory() {
+        var tmpBufferDirectory = new PreferenceBrowsableDirectoryField(TMP_BUFFER_PATH);
+        tmpBufferDirectory.getTextField().setText(app().persistentSettings().get(TMP_BUFFER_PATH).orElse(""));
+        tmpBufferDirectory.setId("tmpBufferDirectory");
+        return tmpBufferDirectory;
+    }
+
     @Provides
     @Named("workspace")
     public PreferenceBrowsableFileField workspace() {
@@ -43,6 +43,7 @@ class PreferenceWorkspacePane extends VBox {
 
     @Inject
     public PreferenceWorkspacePane(@Named("workingDirectory") PreferenceBrowsableDirectoryField workingDirectory,
+            @Named("tmpBufferDirectory") PreferenceBrowsableDirectoryField tmpBufferDirectory,
             @Named("workspace") PreferenceBrowsableFileField workspace,
             @Named("saveWorkspaceOnExit") PreferenceCheckBox saveWorkspaceOnExit,
             @Named("savePwdInWorkspace") PreferenceCheckBox savePwdInWorkspace) {
@@ -61,6 +62,21 @@ class PreferenceWorkspacePane extends VBox {
         GridPane.setValignment(workingDirLabel, VPos.CENTER);
         workigDirPane.add(workingDirLabel, 1, 0);
 
+        tmpBufferDirectory.getTextField()
+                .setPromptText(i18n().tr("Select a directory where the Rotate tool writes its temporary files"));
+        tmpBufferDirectory.setBrowseWindowTitle(i18n().tr("Select a directory"));
+        var tmpBufferDirPane = new GridPane();
+        tmpBufferDirPane.getStyleClass().addAll(Style.GRID.css());
+        tmpBufferDirPane.getStyleClass().addAll(Style.VITEM.css());
+        GridPane.setValignment(tmpBufferDirectory, VPos.BOTTOM);
+        GridPane.setHalignment(tmpBufferDirectory, HPos.LEFT);
+        GridPane.setHgrow(tmpBufferDirectory, Priority.ALWAYS);
+        tmpBufferDirPane.add(tmpBufferDirectory, 0, 0);
+        var tmpBufferDirLabel = helpIcon(i18n().tr(
+                "A fast local directory, like a RAM disk, where the Rotate tool writes its temporary files. Other tools are not affected. When empty, they are written in the destination directory. Changes apply after a restart"));
+        GridPane.setValignment(tmpBufferDirLabel, VPos.CENTER);
+        tmpBufferDirPane.add(tmpBufferDirLabel, 1, 0);
+
         workspace.getTextField().setPromptText(
                 i18n().tr("Select a previously saved workspace that will be automatically loaded at startup"));
         workspace.setBrowseWindowTitle(i18n().tr("Select a workspace"));
@@ -81,6 +97,7 @@ class PreferenceWorkspacePane extends VBox {
                 isBlank(workspace.getTextField().getText()) || newVal != FXValidationSupport.ValidationState.VALID));
         workspace.getTextField().validate();
         getChildren().addAll(new Label(i18n().tr("Default working directory:")), workigDirPane,
+                new Label(i18n().tr("Temporary files directory:")), tmpBufferDirPane,
                 new Label(i18n().tr("Load default workspace at startup:")), workspaceDirPane, saveWorkspaceOnExit,
                 savePwdInWorkspace);
         getStyleClass().addAll(Style.CONTAINER.css());
@@ -54,7 +54,7 @@ public class ConfirmationDialog extends Stage {
         containerPane.getChildren().addAll(dialogContent, buttons);
         Scene scene = new Scene(containerPane);
         setScene(scene);
-        app().registerScene(scene);
+        app().registerWhileShowing(this);
         this.setOnShown(e -> {
             Platform.runLater(() -> {
                 setResizable(false);
@@ -61,7 +61,7 @@ public class OverwriteConfirmationDialog extends Stage {
         containerPane.getChildren().addAll(dialogContent, buttons);
         Scene scene = new Scene(containerPane);
         setScene(scene);
-        app().registerScene(scene);
+        app().registerWhileShowing(this);
         this.setOnShown(e -> {
             Platform.runLater(() -> {
                 setResizable(false);
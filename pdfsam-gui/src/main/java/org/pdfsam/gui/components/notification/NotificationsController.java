@@ -35,6 +35,9 @@ import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.gui.components.content.log.LogContentItem;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.model.news.NewImportantNewsEvent;
+import org.pdfsam.model.tool.DiscardUnfinishedJobsRequest;
+import org.pdfsam.model.tool.ResumeUnfinishedJobsRequest;
+import org.pdfsam.model.tool.UnfinishedJobsEvent;
 import org.pdfsam.model.ui.SetActiveContentItemRequest;
 import org.pdfsam.model.update.NoUpdateAvailable;
 import org.pdfsam.model.update.UpdateAvailableEvent;
@@ -183,6 +186,22 @@ public class NotificationsController {
         container.addNotification(i18n().tr("No update"), content);
     }
 
+    @EventListener
+    public void onUnfinishedJobs(UnfinishedJobsEvent event) {
+        var resume = new Button(i18n().tr("Resume"));
+        resume.getStyleClass().addAll(Style.BUTTON.css());
+        resume.setOnAction(e -> eventStudio().broadcast(new ResumeUnfinishedJobsRequest()));
+        var discard = new Button(i18n().tr("Discard"));
+        discard.getStyleClass().addAll(Style.BUTTON.css());
+        discard.setOnAction(e -> eventStudio().broadcast(new DiscardUnfinishedJobsRequest()));
+        var content = new VBox(buildLabel(
+                i18n().tr("{0} tasks did not complete the last time PDFsam was running", Integer.toString(event.count())),
+                NotificationType.WARN), new HBox(3, resume, discard));
+        content.getStyleClass().add("notification-container");
+
+        container.addStickyNotification(i18n().tr("Unfinished tasks"), content);
+    }
+
     @EventListener
     public void onNewImportantNews(NewImportantNewsEvent event) {
         var content = new VBox(buildLabel(event.news().content(), null),
@@ -30,7 +30,7 @@ import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.model.lifecycle.CleanupRequest;
 import org.pdfsam.model.lifecycle.ShutdownEvent;
 import org.pdfsam.model.tool.Tool;
-import org.pdfsam.persistence.PreferencesRepository;
+import org.pdfsam.persistence.Repository;
 
 import java.util.Comparator;
 import java.util.Map;
@@ -45,7 +45,7 @@ public class ToolsButtons extends VBox {
 
     private static final DataFormat DND_BUTTONS_MIME_TYPE = new DataFormat("application/x-java-tools-button");
     private static final String TOOL_ORDER = "toolOrder";
-    private final PreferencesRepository repo;
+    private final Repository repo;
     private boolean orderChanged;
     private final Comparator<ToolSelectableSidebarButton> toolsComparator = Comparator.comparing(
             ToolSelectableSidebarButton::category).thenComparing(ToolSelectableSidebarButton::getText);
@@ -53,11 +53,11 @@ public class ToolsButtons extends VBox {
             ToolSelectableSidebarButton::order).thenComparing(toolsComparator);
 
     @Inject
-    public ToolsButtons(@Named("toolsOrderRepository") PreferencesRepository repo) {
+    public ToolsButtons(@Named("toolsOrderRepository") Repository repo) {
         this(repo, app().runtimeState().tools());
     }
 
-    public ToolsButtons(PreferencesRepository repo, Map<String, Tool> tools) {
+    public ToolsButtons(Repository repo, Map<String, Tool> tools) {
         getStyleClass().addAll("tools-buttons");
         this.repo = repo;
         tools.values().stream().map(t -> ToolSelectableSidebarButton.of(t, repo.getInt(TOOL_ORDER + "_" + t.id(), -1)))
@@ -124,6 +124,7 @@ public class ToolsButtons extends VBox {
                     repo.saveInt(TOOL_ORDER + "_" + t.id(), i);
                 }
             }
+            repo.flush();
         }
     }
 
@@ -30,10 +30,20 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.inject.Named;
 import org.pdfsam.injector.Provides;
 import org.pdfsam.model.ui.StageStatus;
+import org.pdfsam.persistence.CachingRepository;
 import org.pdfsam.persistence.DefaultEntityRepository;
-import org.pdfsam.persistence.PreferencesRepository;
+import org.pdfsam.persistence.Repositories;
+import org.pdfsam.persistence.Repository;
+import org.pdfsam.service.pdf.CachedPdfMetadata;
+import org.pdfsam.service.task.JobJournal;
+import org.pdfsam.service.task.OutputManifest;
 import org.pdfsam.service.tool.ToolUsage;
 
+import java.nio.file.Paths;
+
+import static org.pdfsam.core.ConfigurableSystemProperty.PDFSAM_INCREMENTAL_EXECUTION;
+import static org.pdfsam.core.ConfigurableSystemProperty.PDFSAM_JOB_JOURNAL;
+
 /**
  * @author Andrea Vacondio
  */
@@ -57,14 +67,14 @@ public class PersistenceConfig {
 
     @Provides
     @Named("recentWorkspacesRepository")
-    PreferencesRepository recentWorkspacesRepository() {
-        return new PreferencesRepository("/org/pdfsam/user/workspaces");
+    Repository recentWorkspacesRepository() {
+        return new CachingRepository(Repositories.repository("/org/pdfsam/user/workspaces"));
     }
 
     @Provides
     @Named("newsRepository")
-    PreferencesRepository newsRepo() {
-        return new PreferencesRepository("/org/pdfsam/user/news");
+    Repository newsRepo() {
+        return Repositories.repository("/org/pdfsam/user/news");
     }
 
     @Provides
@@ -73,9 +83,32 @@ public class PersistenceConfig {
         return new DefaultEntityRepository<>("/org/pdfsam/modules/usage", mapper, ToolUsage.class);
     }
 
+    @Provides
+    @Named("pdfMetadataRepository")
+    DefaultEntityRepository<CachedPdfMetadata> pdfMetadataRepository(ObjectMapper mapper) {
+        return new DefaultEntityRepository<>("/org/pdfsam/pdf/metadata", mapper, CachedPdfMetadata.class);
+    }
+
+    @Provides
+    JobJournal jobJournal(ObjectMapper mapper) {
+        if (Boolean.getBoolean(PDFSAM_JOB_JOURNAL)) {
+            return new JobJournal(Paths.get(System.getProperty("user.home"), ".pdfsam", "jobs.journal"), mapper);
+        }
+        return JobJournal.disabled();
+    }
+
+    @Provides
+    OutputManifest outputManifest(ObjectMapper mapper) {
+        if (Boolean.getBoolean(PDFSAM_INCREMENTAL_EXECUTION)) {
+            return new OutputManifest(Paths.get(System.getProperty("user.home"), ".pdfsam", "outputs.manifest"),
+                    mapper);
+        }
+        return OutputManifest.disabled();
+    }
+
     @Provides
     @Named("toolsOrderRepository")
-    PreferencesRepository toolsOrderRepo() {
-        return new PreferencesRepository("/org/pdfsam/tools/order");
+    Repository toolsOrderRepo() {
+        return new CachingRepository(Repositories.repository("/org/pdfsam/tools/order"));
     }
 }
@@ -18,20 +18,27 @@ package org.pdfsam.gui.configuration;
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 
+import jakarta.inject.Named;
 import org.pdfsam.injector.Components;
 import org.pdfsam.injector.Provides;
+import org.pdfsam.persistence.DefaultEntityRepository;
 import org.pdfsam.service.news.DefaultNewsService;
 import org.pdfsam.service.news.NewsController;
 import org.pdfsam.service.news.NewsService;
 import org.pdfsam.service.pdf.BookmarksLevelSAMBoxLoader;
+import org.pdfsam.service.pdf.BookmarksLevelsRegistry;
+import org.pdfsam.service.pdf.CachedPdfMetadata;
 import org.pdfsam.service.pdf.DefaultPdfLoadService;
 import org.pdfsam.service.pdf.DefaultSAMBoxLoader;
 import org.pdfsam.service.pdf.PdfLoadController;
 import org.pdfsam.service.pdf.PdfLoadService;
+import org.pdfsam.service.pdf.PdfMetadataCache;
 import org.pdfsam.service.premium.DefaultPremiumToolsService;
 import org.pdfsam.service.premium.PremiumToolsController;
 import org.pdfsam.service.premium.PremiumToolsService;
+import org.pdfsam.service.task.TaskAdmissionController;
 import org.pdfsam.service.task.TaskExecutionController;
+import org.pdfsam.service.task.UnfinishedJobsController;
 import org.pdfsam.service.tool.DefaultUsageService;
 import org.pdfsam.service.tool.UsageService;
 import org.pdfsam.service.ui.DefaultRecentWorkspacesService;
@@ -55,7 +62,7 @@ import java.util.Arrays;
  */
 @Components({ NewsController.class, PdfLoadController.class, PremiumToolsController.class,
         TaskExecutionController.class, WorkspaceController.class, StageServiceController.class,
-        UpdatesController.class })
+        UpdatesController.class, UnfinishedJobsController.class })
 public class ServicesConfig {
 
     @Provides
@@ -64,8 +71,20 @@ public class ServicesConfig {
     }
 
     @Provides
-    PdfLoadService loadService() {
-        return new DefaultPdfLoadService(Arrays.asList(new DefaultSAMBoxLoader(), new BookmarksLevelSAMBoxLoader()));
+    PdfLoadService loadService(PdfMetadataCache cache, BookmarksLevelsRegistry bookmarksLevels) {
+        return new DefaultPdfLoadService(
+                Arrays.asList(new DefaultSAMBoxLoader(), new BookmarksLevelSAMBoxLoader(bookmarksLevels)), cache);
+    }
+
+    @Provides
+    BookmarksLevelsRegistry bookmarksLevelsRegistry(PdfMetadataCache cache) {
+        return new BookmarksLevelsRegistry(cache);
+    }
+
+    @Provides
+    PdfMetadataCache pdfMetadataCache(
+            @Named("pdfMetadataRepository") DefaultEntityRepository<CachedPdfMetadata> repo) {
+        return new PdfMetadataCache(repo);
     }
 
     @Provides
@@ -73,6 +92,11 @@ public class ServicesConfig {
         return service;
     }
 
+    @Provides
+    TaskAdmissionController taskAdmission(PdfMetadataCache cache) {
+        return new TaskAdmissionController(cache);
+    }
+
     @Provides
     TaskExecutionService executionService() {
         return new DefaultTaskExecutionService();
@@ -24,6 +24,7 @@ import javafx.scene.media.AudioClip;
 import org.pdfsam.core.context.BooleanPersistentProperty;
 import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.injector.Auto;
+import org.pdfsam.model.tool.TaskCancelledException;
 import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
 import org.sejda.model.notification.event.TaskExecutionFailedEvent;
 
@@ -52,7 +53,9 @@ public class PlaySoundController {
 
     @EventListener
     public void playFailed(TaskExecutionFailedEvent event) {
-        playSound(errorSoundURI);
+        if (!(event.getFailingCause() instanceof TaskCancelledException)) {
+            playSound(errorSoundURI);
+        }
     }
 
     @EventListener
@@ -26,6 +26,7 @@ import org.pdfsam.core.BrandableProperty;
 import org.pdfsam.core.context.BooleanPersistentProperty;
 import org.pdfsam.model.news.NewImportantNewsEvent;
 import org.pdfsam.model.news.NewsData;
+import org.pdfsam.model.tool.UnfinishedJobsEvent;
 import org.pdfsam.model.update.NoUpdateAvailable;
 import org.pdfsam.model.update.UpdateAvailableEvent;
 import org.pdfsam.service.tool.UsageService;
@@ -149,6 +150,12 @@ public class NotificationsControllerTest {
         verify(container, never()).addStickyNotification(anyString(), any());
     }
 
+    @Test
+    public void onUnfinishedJobs() {
+        victim.onUnfinishedJobs(new UnfinishedJobsEvent(2));
+        verify(container).addStickyNotification(eq("Unfinished tasks"), any());
+    }
+
     @Test
     public void onNewImportantNews() {
         NewsData data = new NewsData(5, "title", "content", "20221010", "link", true);
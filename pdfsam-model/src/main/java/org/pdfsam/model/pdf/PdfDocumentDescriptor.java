@@ -29,12 +29,17 @@ import org.sejda.model.pdf.PdfVersion;
 import java.io.File;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -51,12 +56,15 @@ public class PdfDocumentDescriptor {
     private final ObservableAtomicReference<PdfDescriptorLoadingStatus> loadingStatus = new ObservableAtomicReference<>(
             PdfDescriptorLoadingStatus.INITIAL);
     private final AtomicInteger references = new AtomicInteger(1);
+    private final List<Runnable> invalidationListeners = new CopyOnWriteArrayList<>();
     private final ObservableAtomicReference<Integer> pages = new ObservableAtomicReference<>(0);
     private String password;
     private final File file;
     private PdfVersion version;
     private final Map<String, String> metadata = new HashMap<>();
-    private SortedSet<Integer> validBookmarksLevels = Collections.emptySortedSet();
+    private volatile SortedSet<Integer> validBookmarksLevels = Collections.emptySortedSet();
+    private volatile Supplier<? extends Set<Integer>> validBookmarksLevelsSupplier;
+    private CompletableFuture<SortedSet<Integer>> validBookmarksLevelsLoading;
 
     private PdfDocumentDescriptor(File file, String password) {
         requireNotNullArg(file, "Input file is mandatory");
@@ -85,6 +93,13 @@ public class PdfDocumentDescriptor {
         return StringUtils.defaultString(metadata.get(key));
     }
 
+    /**
+     * @return an unmodifiable view of the information dictionary
+     */
+    public Map<String, String> getInformationDictionary() {
+        return Collections.unmodifiableMap(metadata);
+    }
+
     public void setInformationDictionary(Map<String, String> info) {
         metadata.clear();
         metadata.putAll(info);
@@ -143,17 +158,70 @@ public class PdfDocumentDescriptor {
         return file;
     }
 
-    public void setValidBookmarksLevels(Set<Integer> levels) {
-        this.validBookmarksLevels = new TreeSet<>();
+    public synchronized void setValidBookmarksLevels(Set<Integer> levels) {
+        var validLevels = new TreeSet<Integer>();
         if (nonNull(levels)) {
-            this.validBookmarksLevels.addAll(levels);
+            validLevels.addAll(levels);
         }
+        this.validBookmarksLevelsSupplier = null;
+        this.validBookmarksLevelsLoading = null;
+        this.validBookmarksLevels = validLevels;
+    }
+
+    /**
+     * Sets a supplier for the valid bookmarks levels. The supplier is invoked at most once, on a virtual thread, the first time the levels are requested
+     * using {@link #loadValidBookmarksLevels()}, so that the outline is only walked if someone actually needs it.
+     *
+     * @param levels
+     */
+    public synchronized void setValidBookmarksLevelsSupplier(Supplier<? extends Set<Integer>> levels) {
+        requireNotNullArg(levels, "Bookmarks levels supplier cannot be null");
+        this.validBookmarksLevelsSupplier = levels;
+        this.validBookmarksLevelsLoading = null;
     }
 
+    /**
+     * @return true if the valid bookmarks levels are not known yet and they are going to be computed when requested
+     * @see #setValidBookmarksLevelsSupplier(Supplier)
+     */
+    public boolean hasPendingValidBookmarksLevels() {
+        return nonNull(validBookmarksLevelsSupplier);
+    }
+
+    /**
+     * @return the valid bookmarks levels, as currently known. They are empty if they are still to be computed.
+     * @see #loadValidBookmarksLevels()
+     */
     public SortedSet<Integer> getValidBookmarksLevels() {
         return validBookmarksLevels;
     }
 
+    /**
+     * @return a future completed with the valid bookmarks levels, computing them asynchronously if they are not known yet
+     */
+    public synchronized CompletableFuture<SortedSet<Integer>> loadValidBookmarksLevels() {
+        var supplier = validBookmarksLevelsSupplier;
+        if (isNull(supplier)) {
+            return CompletableFuture.completedFuture(validBookmarksLevels);
+        }
+        if (isNull(validBookmarksLevelsLoading)) {
+            validBookmarksLevelsLoading = CompletableFuture.supplyAsync(supplier,
+                    r -> Thread.ofVirtual().name("bookmarks-levels").start(r)).thenApply(levels -> {
+                synchronized (this) {
+                    if (validBookmarksLevelsSupplier == supplier) {
+                        setValidBookmarksLevels(levels);
+                    }
+                }
+                var validLevels = new TreeSet<Integer>();
+                if (nonNull(levels)) {
+                    validLevels.addAll(levels);
+                }
+                return Collections.unmodifiableSortedSet(validLevels);
+            });
+        }
+        return validBookmarksLevelsLoading;
+    }
+
     /**
      * @return true if this descriptor has references, this can be false if the user deletes it from the UI and it tells to any service performing or about to perform some action
      *         on the descriptor that it should be ignored since not relevant anymore.
@@ -166,11 +234,35 @@ public class PdfDocumentDescriptor {
      * @return true if the descriptor has become invalid because of the release
      */
     public boolean release() {
-        return this.references.decrementAndGet() <= 0;
+        var remaining = this.references.decrementAndGet();
+        if (remaining == 0) {
+            invalidated();
+        }
+        return remaining <= 0;
     }
 
     public void releaseAll() {
-        this.references.set(0);
+        if (this.references.getAndSet(0) > 0) {
+            invalidated();
+        }
+    }
+
+    /**
+     * Adds a listener notified, on the thread releasing the descriptor, when the descriptor loses all its references. This allows services working on
+     * the descriptor to stop as soon as the descriptor is not relevant anymore.
+     *
+     * @param listener
+     */
+    public void addInvalidationListener(Runnable listener) {
+        invalidationListeners.add(listener);
+    }
+
+    public void removeInvalidationListener(Runnable listener) {
+        invalidationListeners.remove(listener);
+    }
+
+    private void invalidated() {
+        invalidationListeners.forEach(Runnable::run);
     }
 
     /**
@@ -31,9 +31,20 @@ import java.util.List;
  */
 public class PdfLoadRequest extends BaseToolBound {
     private final List<PdfDocumentDescriptor> documents = new ArrayList<>();
+    private final boolean fallbackDestination;
 
     public PdfLoadRequest(String toolId) {
+        this(toolId, true);
+    }
+
+    /**
+     * @param toolId
+     * @param fallbackDestination
+     *         false if the documents are a continuation of a previous request, and the destination shouldn't fall back to their location again
+     */
+    public PdfLoadRequest(String toolId, boolean fallbackDestination) {
         super(toolId);
+        this.fallbackDestination = fallbackDestination;
     }
 
     public boolean add(PdfDocumentDescriptor e) {
@@ -43,4 +54,11 @@ public class PdfLoadRequest extends BaseToolBound {
     public List<PdfDocumentDescriptor> getDocuments() {
         return Collections.unmodifiableList(documents);
     }
+
+    /**
+     * @return true if the destination should fall back to the location of the first document of this request
+     */
+    public boolean fallbackDestination() {
+        return fallbackDestination;
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.model.pdf;
+
+import java.util.List;
+
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Request to load the given documents before the other pending ones, usually because they are the ones the user is looking at
+ *
+ * @author Andrea Vacondio
+ */
+public record PrioritizePdfLoadRequest(List<PdfDocumentDescriptor> documents) {
+    public PrioritizePdfLoadRequest {
+        requireNotNullArg(documents, "Documents to prioritize cannot be null");
+        documents = List.copyOf(documents);
+    }
+}
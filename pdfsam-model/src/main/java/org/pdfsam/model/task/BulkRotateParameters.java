@@ -40,6 +40,7 @@ import java.util.Set;
 public class BulkRotateParameters extends AbstractPdfOutputParameters implements SingleOrMultipleOutputTaskParameters {
 
     private String outputPrefix = "";
+    private boolean incremental = false;
 
     @NotEmpty
     @Valid
@@ -79,9 +80,22 @@ public class BulkRotateParameters extends AbstractPdfOutputParameters implements
         this.outputPrefix = outputPrefix;
     }
 
+    /**
+     * @return true if the rotated documents should be written as an incremental update of the original ones, leaving
+     * the original bytes untouched and appending only the modified pages
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(outputPrefix).append(inputSet).toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(outputPrefix).append(incremental).append(inputSet)
+                .toHashCode();
     }
 
     @Override
@@ -93,6 +107,7 @@ public class BulkRotateParameters extends AbstractPdfOutputParameters implements
             return false;
         }
         return new EqualsBuilder().appendSuper(super.equals(other)).append(outputPrefix, params.outputPrefix)
-                .append(output, params.output).append(inputSet, params.inputSet).isEquals();
+                .append(incremental, params.incremental).append(output, params.output)
+                .append(inputSet, params.inputSet).isEquals();
     }
 }
@@ -1,7 +1,7 @@
 /*
  * This file is part of the PDF Split And Merge source code
- * Created on 18/09/22
- * Copyright 2022 by Sober Lemur S.r.l. (info@soberlemur.com).
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU Affero General Public License as
@@ -16,15 +16,12 @@
  * You should have received a copy of the GNU Affero General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package org.pdfsam.core.context;
-
-import java.util.Optional;
+package org.pdfsam.model.tool;
 
 /**
- * A settings change event with the property changed and the new value
+ * Request to forget the tasks that didn't complete the last time the application was running
  *
  * @author Andrea Vacondio
  */
-public record PersistentPropertyChange<T>(PersistentProperty<T> property, Optional<T> value) {
-
+public record DiscardUnfinishedJobsRequest() {
 }
@@ -0,0 +1,36 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.model.tool;
+
+import java.io.Serial;
+
+/**
+ * Exception used as failing cause of a task that has been cancelled by the user.
+ *
+ * @author Andrea Vacondio
+ */
+public class TaskCancelledException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -2370127416329915742L;
+
+    public TaskCancelledException() {
+        super("Task cancelled by the user");
+    }
+}
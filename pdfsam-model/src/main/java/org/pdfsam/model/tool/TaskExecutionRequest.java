@@ -20,19 +20,29 @@ package org.pdfsam.model.tool;
 
 import org.sejda.model.parameter.base.AbstractParameters;
 
+import java.util.Map;
+
+import static java.util.Optional.ofNullable;
 import static org.sejda.commons.util.RequireUtils.requireNotBlank;
 import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
 
 /**
  * Event sent to request a parameters execution.
  *
+ * @param data the state of the requesting tool, as it's saved in a workspace, that can be used to restore the tool and
+ *             create the same parameters again
  * @author Andrea Vacondio
  */
-public record TaskExecutionRequest(String toolId, AbstractParameters parameters) {
+public record TaskExecutionRequest(String toolId, AbstractParameters parameters, Map<String, String> data) {
 
     public TaskExecutionRequest {
         requireNotNullArg(parameters, "Task parameters cannot be null");
         requireNotBlank(toolId, "Tool id cannot be blank");
+        data = ofNullable(data).orElseGet(Map::of);
+    }
+
+    public TaskExecutionRequest(String toolId, AbstractParameters parameters) {
+        this(toolId, parameters, null);
     }
 
 }
@@ -0,0 +1,34 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.model.tool;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * Event sent at startup when some of the tasks requested the last time the application was running didn't complete
+ *
+ * @param count number of unfinished tasks
+ * @author Andrea Vacondio
+ */
+public record UnfinishedJobsEvent(int count) {
+
+    public UnfinishedJobsEvent {
+        requireArg(count > 0, "Unfinished jobs count must be a positive number");
+    }
+}
@@ -26,8 +26,14 @@ import org.sejda.model.pdf.PdfVersion;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -132,4 +138,29 @@ public class PdfDocumentDescriptorTest {
         assertEquals("value", victim.getInformation("key"));
     }
 
+
+    @Test
+    public void bookmarksLevelsAreComputedOnDemand() throws InterruptedException, ExecutionException, TimeoutException {
+        var calls = new AtomicInteger();
+        victim.setValidBookmarksLevelsSupplier(() -> {
+            calls.incrementAndGet();
+            return Set.of(3, 1);
+        });
+        assertTrue(victim.hasPendingValidBookmarksLevels());
+        assertTrue(victim.getValidBookmarksLevels().isEmpty());
+        assertEquals(0, calls.get());
+        assertThat(victim.loadValidBookmarksLevels().get(2, TimeUnit.SECONDS)).containsExactly(1, 3);
+        assertThat(victim.loadValidBookmarksLevels().get(2, TimeUnit.SECONDS)).containsExactly(1, 3);
+        assertEquals(1, calls.get());
+        assertFalse(victim.hasPendingValidBookmarksLevels());
+        assertThat(victim.getValidBookmarksLevels()).containsExactly(1, 3);
+    }
+
+    @Test
+    public void knownBookmarksLevelsOverrideTheSupplier() throws InterruptedException, ExecutionException, TimeoutException {
+        victim.setValidBookmarksLevelsSupplier(() -> Set.of(1));
+        victim.setValidBookmarksLevels(Set.of(2));
+        assertFalse(victim.hasPendingValidBookmarksLevels());
+        assertThat(victim.loadValidBookmarksLevels().get(2, TimeUnit.SECONDS)).containsExactly(2);
+    }
 }
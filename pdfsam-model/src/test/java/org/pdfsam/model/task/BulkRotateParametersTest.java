@@ -45,4 +45,22 @@ public class BulkRotateParametersTest {
         diff.addInput(two);
         TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
     }
+
+    @Test
+    public void testEqualsIncremental() {
+        PdfSource<?> source = mock(PdfSource.class);
+        PdfRotationInput one = new PdfRotationInput(source, Rotation.DEGREES_180);
+        BulkRotateParameters eq1 = new BulkRotateParameters();
+        eq1.addInput(one);
+        eq1.setIncremental(true);
+        BulkRotateParameters eq2 = new BulkRotateParameters();
+        eq2.addInput(one);
+        eq2.setIncremental(true);
+        BulkRotateParameters eq3 = new BulkRotateParameters();
+        eq3.addInput(one);
+        eq3.setIncremental(true);
+        BulkRotateParameters diff = new BulkRotateParameters();
+        diff.addInput(one);
+        TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
+    }
 }
@@ -21,8 +21,11 @@ package org.pdfsam.model.tool;
 import org.junit.jupiter.api.Test;
 import org.sejda.model.parameter.base.AbstractParameters;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -52,6 +55,18 @@ public class TaskExecutionRequestTest {
         var victim = new TaskExecutionRequest("id", params);
         assertEquals(params, victim.parameters());
         assertEquals("id", victim.toolId());
+        assertTrue(victim.data().isEmpty());
+    }
+
+    @Test
+    public void testNullData() {
+        assertTrue(new TaskExecutionRequest("id", mock(AbstractParameters.class), null).data().isEmpty());
+    }
+
+    @Test
+    public void testData() {
+        var victim = new TaskExecutionRequest("id", mock(AbstractParameters.class), Map.of("key", "value"));
+        assertEquals("value", victim.data().get("key"));
     }
 
 }
@@ -0,0 +1,202 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * A {@link Repository} caching the values of another repository in memory. The values are read from the wrapped
+ * repository the first time the repository is accessed, after that reads are served from memory. Writes are applied to
+ * memory right away while they are coalesced and written to the wrapped repository asynchronously, in batches, after a
+ * short delay. {@link #flush()} writes the pending changes right away and it's expected to be called when the
+ * application exits.
+ *
+ * @author Andrea Vacondio
+ */
+public class CachingRepository extends StringValuesRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingRepository.class);
+    /**
+     * Default delay in milliseconds between a write and the moment it's written to the wrapped repository
+     */
+    static final long DEFAULT_FLUSH_DELAY = 1000;
+
+    /**
+     * Background thread where pending changes are written
+     */
+    static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "repository-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Repository delegate;
+    private final long delay;
+    private final Object writing = new Object();
+    private volatile Map<String, String> snapshot;
+    // changes not yet written to the delegate, a null value is a deletion
+    private final Map<String, String> pending = new HashMap<>();
+    private boolean scheduled = false;
+
+    public CachingRepository(Repository delegate) {
+        this(delegate, DEFAULT_FLUSH_DELAY);
+    }
+
+    /**
+     * @param delegate the repository where values are read from and written to
+     * @param delay    milliseconds between a write and the moment it's written to the wrapped repository
+     */
+    CachingRepository(Repository delegate, long delay) {
+        requireNotNullArg(delegate, "Wrapped repository cannot be null");
+        requireArg(delay >= 0, "Flush delay cannot be negative");
+        this.delegate = delegate;
+        this.delay = delay;
+    }
+
+    @Override
+    String value(String key) {
+        return snapshot().get(key);
+    }
+
+    @Override
+    public String[] keys() {
+        return snapshot().keySet().toArray(String[]::new);
+    }
+
+    /**
+     * Discards the pending changes and removes all the values from the cache and the wrapped repository
+     */
+    @Override
+    public void clean() {
+        synchronized (writing) {
+            synchronized (pending) {
+                pending.clear();
+                snapshot = new ConcurrentHashMap<>();
+            }
+            delegate.clean();
+        }
+    }
+
+    /**
+     * Writes the pending changes to the wrapped repository and flushes it
+     */
+    @Override
+    public void flush() {
+        synchronized (writing) {
+            writePending();
+            delegate.flush();
+        }
+    }
+
+    private void writePending() {
+        synchronized (writing) {
+            Map<String, String> changes;
+            synchronized (pending) {
+                changes = new HashMap<>(pending);
+                pending.clear();
+                scheduled = false;
+            }
+            if (!changes.isEmpty()) {
+                changes.forEach((key, value) -> {
+                    try {
+                        if (nonNull(value)) {
+                            delegate.saveString(key, value);
+                        } else {
+                            delegate.delete(key);
+                        }
+                    } catch (PersistenceException | IllegalArgumentException e) {
+                        LOG.error(String.format("Unable to write pending change: [key '%s']", key), e);
+                        // retried with the next write or flush, unless it has been superseded in the meantime
+                        synchronized (pending) {
+                            pending.putIfAbsent(key, value);
+                        }
+                    }
+                });
+                LOG.trace("Written {} pending changes", changes.size());
+            }
+        }
+    }
+
+    @Override
+    void write(String key, String value) {
+        requireStorable(key, value);
+        synchronized (pending) {
+            var values = snapshot();
+            if (nonNull(value)) {
+                values.put(key, value);
+            } else {
+                values.remove(key);
+            }
+            pending.put(key, value);
+            if (!scheduled) {
+                scheduled = true;
+                FLUSHER.schedule(this::flushPending, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flushPending() {
+        try {
+            writePending();
+        } catch (PersistenceException | IllegalArgumentException e) {
+            LOG.error("Unable to write pending changes", e);
+        }
+    }
+
+    /**
+     * Fails fast on keys and values that the wrapped repository cannot store, since they are written later
+     */
+    @Override
+    public void requireStorable(String key, String value) {
+        delegate.requireStorable(key, value);
+    }
+
+    private Map<String, String> snapshot() {
+        var values = snapshot;
+        if (isNull(values)) {
+            synchronized (pending) {
+                values = snapshot;
+                if (isNull(values)) {
+                    values = new ConcurrentHashMap<>();
+                    for (var key : delegate.keys()) {
+                        var value = delegate.getString(key, () -> null);
+                        if (nonNull(value)) {
+                            values.put(key, value);
+                        }
+                    }
+                    snapshot = values;
+                }
+            }
+        }
+        return values;
+    }
+}
@@ -19,9 +19,18 @@
 package org.pdfsam.persistence;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.prefs.Preferences;
 
@@ -32,23 +41,37 @@ import static org.sejda.commons.util.RequireUtils.requireNotBlank;
 import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
 
 /**
- * A DAO providing basic CRUD functionalities for {@link String} keys and <T> values.
+ * A DAO providing basic CRUD functionalities for {@link String} keys and <T> values. Entities are deserialized once,
+ * the first time they are requested, and cached. Saved entities are serialized right away, so that serialization errors
+ * are reported to the caller, and marked as dirty; dirty entities are written in batches shortly after, while
+ * {@link #flush()} writes them right away.
  *
  * @param <T> the type of the persisted values
  * @author Andrea Vacondio
  */
 public class DefaultEntityRepository<T> implements EntityRepository<T> {
 
-    private final ObjectMapper mapper;
-    private final Class<T> clazz;
-    private final PreferencesRepository repo;
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultEntityRepository.class);
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Repository repo;
+    private final Map<String, Optional<T>> entities = new ConcurrentHashMap<>();
+    // serialized entities not yet written, an empty value is a deletion
+    private final Map<String, Optional<String>> dirty = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Object writing = new Object();
 
     public DefaultEntityRepository(String path, ObjectMapper mapper, Class<T> clazz) {
+        this(Repositories.repository(path), mapper, clazz);
+    }
+
+    DefaultEntityRepository(Repository repo, ObjectMapper mapper, Class<T> clazz) {
         requireNotNullArg(mapper, "Mapper cannot be null");
         requireNotNullArg(clazz, "Type class cannot be null");
-        this.repo = new PreferencesRepository(path);
-        this.mapper = mapper;
-        this.clazz = clazz;
+        this.repo = repo;
+        this.reader = mapper.readerFor(clazz);
+        this.writer = mapper.writerFor(clazz);
     }
 
     /**
@@ -58,15 +81,22 @@ public class DefaultEntityRepository<T> implements EntityRepository<T> {
      */
     @Override
     public Optional<T> get(String key) throws PersistenceException {
+        var cached = entities.get(requireValidKey(key));
+        if (nonNull(cached)) {
+            return cached;
+        }
         try {
             var value = ofNullable(this.repo.getString(key, (String) null));
+            Optional<T> entity = empty();
             if (value.isPresent()) {
-                return ofNullable(mapper.readValue(value.get(), clazz));
+                entity = ofNullable(reader.readValue(value.get()));
             }
+            // an entity saved in the meantime wins
+            var previous = entities.putIfAbsent(key, entity);
+            return nonNull(previous) ? previous : entity;
         } catch (IOException e) {
             throw new PersistenceException(String.format("Unable to get entity: [key '%s']", key), e);
         }
-        return empty();
     }
 
     @Override
@@ -104,23 +134,31 @@ public class DefaultEntityRepository<T> implements EntityRepository<T> {
      *
      * @param key
      * @param entity the entity to persist. Can be null.
-     * @throws PersistenceException if this node (or an ancestor) has been removed or if key contains the null control character, code point U+0000.
-     * @see Preferences#put(String, String)
+     * @throws PersistenceException if the entity cannot be serialized or if the key or the serialized entity cannot be stored
+     * @see Repository#requireStorable(String, String)
      */
     @Override
     public void save(String key, T entity) throws PersistenceException {
         // fast fail
-        requireNotBlank(key, "Key cannot be blank");
+        requireValidKey(key);
         try {
+            Optional<String> serialized = empty();
             if (nonNull(entity)) {
-                this.repo.saveString(key, mapper.writeValueAsString(entity));
-            } else {
-                this.repo.delete(key);
+                serialized = Optional.of(writer.writeValueAsString(entity));
+            }
+            this.repo.requireStorable(key, serialized.orElse(null));
+            synchronized (writing) {
+                entities.put(key, ofNullable(entity));
+                dirty.put(key, serialized);
             }
         } catch (IOException e) {
             throw new PersistenceException(
                     String.format("Unable to store entity: [key '%s', entity '%s']", key, entity), e);
         }
+        if (scheduled.compareAndSet(false, true)) {
+            CachingRepository.FLUSHER.schedule(this::writeDirty, CachingRepository.DEFAULT_FLUSH_DELAY,
+                    TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
@@ -145,17 +183,72 @@ public class DefaultEntityRepository<T> implements EntityRepository<T> {
 
     @Override
     public String[] keys() {
+        writeDirty();
         return this.repo.keys();
     }
 
     @Override
     public void delete(String key) throws PersistenceException {
-        this.repo.delete(key);
+        requireNotBlank(key, "Key cannot be blank");
+        synchronized (writing) {
+            dirty.remove(key);
+            this.repo.delete(key);
+            entities.put(key, empty());
+        }
     }
 
     @Override
     public void clean() throws PersistenceException {
-        this.repo.clean();
+        synchronized (writing) {
+            dirty.clear();
+            entities.clear();
+            this.repo.clean();
+        }
+    }
+
+    /**
+     * Writes the dirty entities and forces them to the backing store
+     */
+    @Override
+    public void flush() {
+        writeDirty();
+        this.repo.flush();
+    }
+
+    /**
+     * Writes the entities saved since the last write
+     */
+    private void writeDirty() {
+        synchronized (writing) {
+            scheduled.set(false);
+            var changes = new HashMap<>(dirty);
+            dirty.clear();
+            changes.forEach((key, value) -> {
+                try {
+                    if (value.isPresent()) {
+                        this.repo.saveString(key, value.get());
+                    } else {
+                        this.repo.delete(key);
+                    }
+                } catch (PersistenceException | IllegalArgumentException e) {
+                    LOG.error(String.format("Unable to store entity: [key '%s']", key), e);
+                    // retried with the next write or flush, unless it has been superseded in the meantime
+                    dirty.putIfAbsent(key, value);
+                }
+            });
+            if (!changes.isEmpty()) {
+                LOG.trace("Written {} entities", changes.size());
+            }
+        }
+    }
+
+    /**
+     * Fails fast on keys that cannot be stored, since entities are written later
+     */
+    private String requireValidKey(String key) {
+        requireNotBlank(key, "Key cannot be blank");
+        this.repo.requireStorable(key, null);
+        return key;
     }
 
 }
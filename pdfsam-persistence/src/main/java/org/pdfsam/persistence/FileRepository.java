@@ -0,0 +1,264 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.nonNull;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * A {@link Repository} storing values in an append only log file, where every change is appended to the file as a
+ * line. The whole file is read once, when the repository is created, and values are then served from memory. When the
+ * log contains too many lines that have been overwritten by later ones, it's compacted writing only the current values
+ * to a temporary file that atomically replaces the log, so that the log is never left half written. A last line left
+ * incomplete by a crash is discarded when the log is read.
+ *
+ * @author Andrea Vacondio
+ */
+public class FileRepository extends StringValuesRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileRepository.class);
+    /**
+     * Number of overwritten lines tolerated in the log before it's compacted
+     */
+    static final int COMPACTION_THRESHOLD = 256;
+    private static final char PUT = '+';
+    private static final char DELETE = '-';
+
+    private final Path file;
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private int lines = 0;
+
+    /**
+     * @param file the log file, created when the first value is written
+     * @throws PersistenceException if the log file exists and cannot be read
+     */
+    public FileRepository(Path file) {
+        requireNotNullArg(file, "Repository file cannot be null");
+        this.file = file;
+        load();
+    }
+
+    private void load() {
+        if (Files.exists(file)) {
+            try {
+                var bytes = Files.readAllBytes(file);
+                // a new line byte is never part of a multi byte character, everything after the last one is an
+                // incomplete line, possibly truncated in the middle of a character
+                int complete = lastNewLine(bytes) + 1;
+                var content = new String(bytes, 0, complete, UTF_8);
+                int start = 0;
+                for (int end = content.indexOf('\n'); end >= 0; end = content.indexOf('\n', start)) {
+                    replay(content.substring(start, end));
+                    start = end + 1;
+                }
+                LOG.trace("Loaded {} values from {} lines of {}", values.size(), lines, file);
+                if (complete < bytes.length) {
+                    LOG.warn("Discarding incomplete last line of {}", file);
+                    // rewrite the log so that the next appended line doesn't end up glued to the incomplete one
+                    compact();
+                    return;
+                }
+            } catch (IOException e) {
+                throw new PersistenceException(String.format("Unable to read repository file: [file '%s']", file), e);
+            }
+            compactIfNeeded();
+        }
+    }
+
+    private static int lastNewLine(byte[] bytes) {
+        for (int i = bytes.length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void replay(String line) {
+        lines++;
+        if (line.isEmpty()) {
+            return;
+        }
+        if (line.charAt(0) == PUT) {
+            int separator = line.indexOf('\t');
+            if (separator > 0) {
+                values.put(unescape(line.substring(1, separator)), unescape(line.substring(separator + 1)));
+                return;
+            }
+        } else if (line.charAt(0) == DELETE) {
+            values.remove(unescape(line.substring(1)));
+            return;
+        }
+        LOG.warn("Skipping unreadable line of {}", file);
+    }
+
+    @Override
+    String value(String key) {
+        return values.get(key);
+    }
+
+    @Override
+    synchronized void write(String key, String value) {
+        if (nonNull(value)) {
+            append(PUT + escape(key) + '\t' + escape(value));
+            values.put(key, value);
+        } else if (values.containsKey(key)) {
+            append(DELETE + escape(key));
+            values.remove(key);
+        }
+        compactIfNeeded();
+    }
+
+    @Override
+    public String[] keys() {
+        return values.keySet().toArray(String[]::new);
+    }
+
+    @Override
+    public synchronized void clean() {
+        values.clear();
+        lines = 0;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new PersistenceException(String.format("Unable to delete repository file: [file '%s']", file), e);
+        }
+    }
+
+    /**
+     * Forces the log to the storage device
+     */
+    @Override
+    public synchronized void flush() {
+        if (Files.exists(file)) {
+            try (var channel = FileChannel.open(file, WRITE)) {
+                channel.force(true);
+            } catch (IOException e) {
+                throw new PersistenceException(String.format("Unable to flush repository file: [file '%s']", file), e);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the log with only the current values if it contains too many overwritten lines
+     */
+    synchronized void compactIfNeeded() {
+        if (lines - values.size() > COMPACTION_THRESHOLD) {
+            compact();
+        }
+    }
+
+    synchronized void compact() {
+        var compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        var current = new ArrayList<String>(values.size());
+        values.forEach((key, value) -> current.add(PUT + escape(key) + '\t' + escape(value)));
+        try {
+            write(compacted, current, TRUNCATE_EXISTING);
+            Files.move(compacted, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            LOG.debug("Compacted {} lines of {} to {}", lines, file, current.size());
+            lines = current.size();
+        } catch (IOException e) {
+            LOG.warn("Unable to compact repository file {}", file, e);
+        }
+    }
+
+    private void append(String line) {
+        try {
+            write(file, List.of(line), APPEND);
+            lines++;
+        } catch (IOException e) {
+            throw new PersistenceException(String.format("Unable to write repository file: [file '%s']", file), e);
+        }
+    }
+
+    private static void write(Path destination, Collection<String> lines, OpenOption mode) throws IOException {
+        var parent = destination.toAbsolutePath().getParent();
+        if (nonNull(parent)) {
+            Files.createDirectories(parent);
+        }
+        var content = new StringBuilder();
+        lines.forEach(line -> content.append(line).append('\n'));
+        try (var channel = FileChannel.open(destination, CREATE, WRITE, mode)) {
+            var buffer = ByteBuffer.wrap(content.toString().getBytes(UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (mode != APPEND) {
+                // the compacted file must be on the storage device before it replaces the log
+                channel.force(true);
+            }
+        }
+    }
+
+    static String escape(String value) {
+        var escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    static String unescape(String value) {
+        var unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 'n' -> unescaped.append('\n');
+                    case 'r' -> unescaped.append('\r');
+                    case 't' -> unescaped.append('\t');
+                    default -> unescaped.append(next);
+                }
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+}
@@ -161,6 +161,21 @@ public class PreferencesRepository implements Repository {
         }
     }
 
+    /**
+     * Checks the key and value against the limits of {@link Preferences}
+     *
+     * @see Preferences#put(String, String)
+     */
+    @Override
+    public void requireStorable(String key, String value) {
+        if (key.indexOf('\0') >= 0 || key.length() > Preferences.MAX_KEY_LENGTH) {
+            throw new PersistenceException(String.format("Invalid key: [key '%s']", key));
+        }
+        if (nonNull(value) && (value.indexOf('\0') >= 0 || value.length() > Preferences.MAX_VALUE_LENGTH)) {
+            throw new PersistenceException(String.format("Invalid value: [key '%s']", key));
+        }
+    }
+
     /**
      * Removes all the persisted values and keys for this repository
      *
@@ -179,4 +194,20 @@ public class PreferencesRepository implements Repository {
         }
     }
 
+    /**
+     * Forces any change to this repository to the backing store
+     *
+     * @throws PersistenceException if this operation cannot be completed due to a failure in the backing store, or
+     *                              if this node (or an ancestor) has been removed
+     * @see Preferences#flush()
+     */
+    @Override
+    public void flush() {
+        try {
+            Preferences.userRoot().node(path).flush();
+        } catch (IllegalStateException | BackingStoreException e) {
+            throw new PersistenceException(String.format("Unable to flush preferences: [path '%s']", path), e);
+        }
+    }
+
 }
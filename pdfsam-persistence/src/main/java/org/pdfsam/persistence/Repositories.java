@@ -0,0 +1,107 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import static java.util.Objects.nonNull;
+import static org.sejda.commons.util.RequireUtils.requireNotBlank;
+
+/**
+ * Factory for the {@link Repository} backing the given path. Repositories are backed by {@link Preferences} unless the
+ * {@value #FILE_REPOSITORY_DIRECTORY_PROP} system property is set, in that case they are backed by a
+ * {@link FileRepository} in that directory. The values of a {@link Preferences} node are migrated to the corresponding
+ * {@link FileRepository} the first time it's created.
+ *
+ * @author Andrea Vacondio
+ */
+public final class Repositories {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Repositories.class);
+    /**
+     * System property with the directory where {@link FileRepository} files are stored
+     */
+    public static final String FILE_REPOSITORY_DIRECTORY_PROP = "org.pdfsam.persistence.directory";
+
+    private Repositories() {
+        // hide
+    }
+
+    /**
+     * @param path the preferences node path, used to name the file of a {@link FileRepository}
+     * @return the repository for the given path
+     */
+    public static Repository repository(String path) {
+        requireNotBlank(path, "Repository path cannot be blank");
+        var directory = System.getProperty(FILE_REPOSITORY_DIRECTORY_PROP);
+        if (nonNull(directory) && !directory.isBlank()) {
+            var file = fileFor(Paths.get(directory), path);
+            var created = Files.notExists(file);
+            var repository = new FileRepository(file);
+            if (created && preferencesExist(path)) {
+                migrate(new PreferencesRepository(path), repository);
+            }
+            return repository;
+        }
+        return new PreferencesRepository(path);
+    }
+
+    /**
+     * @return the file for the repository with the given path in the given directory
+     */
+    static Path fileFor(Path directory, String path) {
+        return directory.resolve(
+                path.replaceAll("^/+|/+$", "").replace('/', '.').replaceAll("[^A-Za-z0-9._-]", "_") + ".log");
+    }
+
+    /**
+     * Copies all the values of the source repository to the destination one and forces them to the backing store
+     *
+     * @return the number of migrated values
+     */
+    public static int migrate(Repository source, Repository destination) {
+        int migrated = 0;
+        for (var key : source.keys()) {
+            var value = source.getString(key, (String) null);
+            if (nonNull(value)) {
+                destination.saveString(key, value);
+                migrated++;
+            }
+        }
+        destination.flush();
+        LOG.info("Migrated {} values", migrated);
+        return migrated;
+    }
+
+    private static boolean preferencesExist(String path) {
+        try {
+            return Preferences.userRoot().nodeExists(path);
+        } catch (BackingStoreException | IllegalStateException e) {
+            LOG.warn("Unable to check preferences node {}", path, e);
+            return false;
+        }
+    }
+}
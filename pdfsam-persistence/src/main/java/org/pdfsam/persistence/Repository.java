@@ -117,4 +117,24 @@ public interface Repository {
      * @throws PersistenceException if this operation cannot be completed
      */
     void clean();
+
+    /**
+     * Checks that the given key and value can be stored by this repository. It's used to fail fast by those writing to the repository
+     * asynchronously.
+     *
+     * @param value the value or null for a deletion
+     * @throws PersistenceException if the key or the value cannot be stored
+     */
+    default void requireStorable(String key, String value) {
+        // nothing
+    }
+
+    /**
+     * Forces any change to this repository to the backing store
+     *
+     * @throws PersistenceException if this operation cannot be completed
+     */
+    default void flush() {
+        // nothing
+    }
 }
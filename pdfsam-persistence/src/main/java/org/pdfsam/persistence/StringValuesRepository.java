@@ -0,0 +1,109 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.persistence;
+
+import java.util.function.Supplier;
+
+import static java.util.Optional.ofNullable;
+import static org.sejda.commons.util.RequireUtils.requireNotBlank;
+
+/**
+ * Base {@link Repository} storing every value as a {@link String}, where values are converted the same way
+ * {@link java.util.prefs.Preferences} does, so that values written by one implementation are read the same way by the
+ * others.
+ *
+ * @author Andrea Vacondio
+ */
+abstract class StringValuesRepository implements Repository {
+
+    /**
+     * @return the value stored for the given key or null
+     */
+    abstract String value(String key);
+
+    /**
+     * Stores the given value for the given key
+     *
+     * @param value the value or null to delete the stored value
+     */
+    abstract void write(String key, String value);
+
+    @Override
+    public int getInt(String key, int defaultValue) {
+        try {
+            return ofNullable(value(key)).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public long getLong(String key, long defaultValue) {
+        try {
+            return ofNullable(value(key)).map(Long::parseLong).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public String getString(String key, Supplier<String> supplier) {
+        requireNotBlank(key, "Key cannot be blank");
+        return ofNullable(value(key)).orElseGet(supplier);
+    }
+
+    @Override
+    public boolean getBoolean(String key, boolean defaultValue) {
+        var value = value(key);
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public void saveInt(String key, int value) {
+        saveString(key, Integer.toString(value));
+    }
+
+    @Override
+    public void saveLong(String key, long value) {
+        saveString(key, Long.toString(value));
+    }
+
+    @Override
+    public void saveString(String key, String value) {
+        requireNotBlank(key, "Key cannot be blank");
+        write(key, value);
+    }
+
+    @Override
+    public void saveBoolean(String key, boolean value) {
+        saveString(key, Boolean.toString(value));
+    }
+
+    @Override
+    public void delete(String key) {
+        requireNotBlank(key, "Key cannot be blank");
+        write(key, null);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.prefs.Preferences;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class CachingRepositoryTest {
+
+    private PreferencesRepository delegate;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = spy(new PreferencesRepository("/test/org/pdfsam/caching"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        delegate.clean();
+    }
+
+    @Test
+    public void nullDelegate() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingRepository(null));
+    }
+
+    @Test
+    public void readsExistingValues() {
+        delegate.saveString("string", "value");
+        delegate.saveInt("int", 5);
+        delegate.saveLong("long", 10L);
+        delegate.saveBoolean("boolean", true);
+        var victim = new CachingRepository(delegate);
+        assertEquals("value", victim.getString("string", "default"));
+        assertEquals(5, victim.getInt("int", 1));
+        assertEquals(10L, victim.getLong("long", 1L));
+        assertTrue(victim.getBoolean("boolean", false));
+        assertEquals("default", victim.getString("missing", "default"));
+        assertEquals(1, victim.getInt("string", 1));
+        assertFalse(victim.getBoolean("string", false));
+        assertEquals(4, victim.keys().length);
+        victim.getString("string", "default");
+        verify(delegate, times(1)).keys();
+    }
+
+    @Test
+    public void writesAreReadBeforeFlushing() {
+        var victim = new CachingRepository(delegate, Long.MAX_VALUE);
+        victim.saveString("string", "value");
+        victim.saveInt("int", 5);
+        victim.saveLong("long", 10L);
+        victim.saveBoolean("boolean", true);
+        assertEquals("value", victim.getString("string", "default"));
+        assertEquals(5, victim.getInt("int", 1));
+        assertEquals(10L, victim.getLong("long", 1L));
+        assertTrue(victim.getBoolean("boolean", false));
+        assertArrayEquals(new String[0], delegate.keys());
+        victim.flush();
+        assertEquals("value", delegate.getString("string", "default"));
+        assertEquals(5, delegate.getInt("int", 1));
+        assertEquals(10L, delegate.getLong("long", 1L));
+        assertTrue(delegate.getBoolean("boolean", false));
+    }
+
+    @Test
+    public void writesAreCoalesced() {
+        var victim = new CachingRepository(delegate, Long.MAX_VALUE);
+        victim.saveString("string", "value");
+        victim.saveString("string", "another");
+        victim.flush();
+        assertEquals("another", delegate.getString("string", "default"));
+        verify(delegate, times(1)).saveString("string", "another");
+        verify(delegate, times(0)).saveString("string", "value");
+    }
+
+    @Test
+    public void writesAreFlushedAsynchronously() {
+        var victim = new CachingRepository(delegate, 10);
+        victim.saveString("string", "value");
+        await().atMost(Duration.ofSeconds(2)).until(() -> "value".equals(delegate.getString("string", "default")));
+    }
+
+    @Test
+    public void delete() {
+        delegate.saveString("string", "value");
+        var victim = new CachingRepository(delegate, Long.MAX_VALUE);
+        victim.delete("string");
+        assertEquals("default", victim.getString("string", "default"));
+        victim.saveString("another", "value");
+        victim.saveString("another", null);
+        assertEquals(0, victim.keys().length);
+        victim.flush();
+        assertNull(delegate.getString("string", (String) null));
+        assertNull(delegate.getString("another", (String) null));
+    }
+
+    @Test
+    public void cleanDiscardsPending() {
+        delegate.saveString("string", "value");
+        var victim = new CachingRepository(delegate, Long.MAX_VALUE);
+        victim.saveString("another", "value");
+        victim.clean();
+        assertEquals(0, victim.keys().length);
+        victim.flush();
+        assertEquals(0, delegate.keys().length);
+    }
+
+    @Test
+    public void blankKey() {
+        var victim = new CachingRepository(delegate);
+        assertThrows(IllegalArgumentException.class, () -> victim.saveString(" ", "value"));
+        assertThrows(IllegalArgumentException.class, () -> victim.getString(" ", "value"));
+    }
+
+    @Test
+    public void invalidValuesFailFast() {
+        var victim = new CachingRepository(delegate, Long.MAX_VALUE);
+        assertThrows(PersistenceException.class,
+                () -> victim.saveString("string", "a".repeat(Preferences.MAX_VALUE_LENGTH + 1)));
+        assertThrows(PersistenceException.class,
+                () -> victim.saveString("k".repeat(Preferences.MAX_KEY_LENGTH + 1), "value"));
+        assertThrows(PersistenceException.class, () -> victim.saveString("string", "val\0ue"));
+        assertEquals(0, victim.keys().length);
+    }
+
+    @Test
+    public void limitsAreTheWrappedRepositoryOnes(@TempDir Path folder) {
+        var file = new FileRepository(folder.resolve("repo.log"));
+        var victim = new CachingRepository(file, Long.MAX_VALUE);
+        var value = "a".repeat(Preferences.MAX_VALUE_LENGTH + 1);
+        victim.saveString("string", value);
+        victim.flush();
+        assertEquals(value, file.getString("string", "default"));
+    }
+
+    @Test
+    public void failedChangeDoesNotDiscardTheOthers() {
+        var victim = new CachingRepository(delegate, Long.MAX_VALUE);
+        doThrow(PersistenceException.class).doCallRealMethod().when(delegate).saveString("failing", "value");
+        victim.saveString("failing", "value");
+        victim.saveString("string", "value");
+        victim.flush();
+        assertEquals("value", delegate.getString("string", "default"));
+        assertEquals("default", delegate.getString("failing", "default"));
+        victim.flush();
+        assertEquals("value", delegate.getString("failing", "default"));
+    }
+}
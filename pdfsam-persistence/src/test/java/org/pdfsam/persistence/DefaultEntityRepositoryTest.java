@@ -31,20 +31,34 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.prefs.Preferences;
+
+import static java.util.Objects.nonNull;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 
 /**
  * @author Andrea Vacondio
  */
 public class DefaultEntityRepositoryTest {
     private static DefaultEntityRepository<Entity> victim;
+    private static ObjectMapper mapper;
 
     @BeforeAll
     public static void setUp() {
-        var mapper = JsonMapper.builder().enable(DeserializationFeature.FAIL_ON_NUMBERS_FOR_ENUMS)
+        mapper = JsonMapper.builder().enable(DeserializationFeature.FAIL_ON_NUMBERS_FOR_ENUMS)
                 .disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)
                 .visibility(PropertyAccessor.FIELD, Visibility.ANY)
                 .configure(MapperFeature.CAN_OVERRIDE_ACCESS_MODIFIERS, false).serializationInclusion(Include.ALWAYS)
@@ -66,7 +80,7 @@ public class DefaultEntityRepositoryTest {
     @Test
     public void nullPath() {
         assertThrows(IllegalArgumentException.class,
-                () -> new DefaultEntityRepository<>(null, mock(ObjectMapper.class), Entity.class));
+                () -> new DefaultEntityRepository<>((String) null, mock(ObjectMapper.class), Entity.class));
     }
 
     @Test
@@ -87,6 +101,30 @@ public class DefaultEntityRepositoryTest {
         assertThrows(PersistenceException.class, () -> victim.save("key3" + '\0', new Entity("chuck", 3)));
     }
 
+    @Test
+    public void saveOversizedEntity() {
+        assertThrows(PersistenceException.class,
+                () -> victim.save("oversized", new Entity("a".repeat(Preferences.MAX_VALUE_LENGTH), 3)));
+        assertTrue(victim.get("oversized").isEmpty());
+    }
+
+    @Test
+    public void failedWriteIsRetried() {
+        var repo = spy(new PreferencesRepository("/test/org/pdfsam/entity/retry"));
+        try {
+            doThrow(PersistenceException.class).doCallRealMethod().when(repo).saveString(eq("failing"), anyString());
+            var retrying = new DefaultEntityRepository<>(repo, mapper, Entity.class);
+            retrying.save("failing", new Entity("Chuck", 1));
+            retrying.flush();
+            assertNull(repo.getString("failing", (String) null));
+            retrying.flush();
+            assertEquals(new Entity("Chuck", 1), new DefaultEntityRepository<>(repo, mapper, Entity.class).get("failing")
+                    .orElseThrow());
+        } finally {
+            repo.clean();
+        }
+    }
+
     @Test
     public void saveBlankKey() {
         assertThrows(IllegalArgumentException.class, () -> victim.save("  ", new Entity("chuck", 3)));
@@ -202,6 +240,43 @@ public class DefaultEntityRepositoryTest {
         assertTrue(victim.get("key9").isEmpty());
     }
 
+    @Test
+    @DisplayName("Entities are deserialized once")
+    public void cached() throws PersistenceException {
+        var raw = new PreferencesRepository("/test/org/pdfsam/entity");
+        raw.saveString("key10", "{\"name\":\"Bruce\",\"roundkicks\":7}");
+        var entity = victim.get("key10").get();
+        assertEquals(new Entity("Bruce", 7), entity);
+        raw.saveString("key10", "{\"name\":\"Chuck\",\"roundkicks\":7}");
+        assertSame(entity, victim.get("key10").get());
+    }
+
+    @Test
+    @DisplayName("Saved entities are written in background")
+    public void writeBehind() throws PersistenceException {
+        var raw = new PreferencesRepository("/test/org/pdfsam/entity");
+        victim.save("key11", new Entity("Bruce", 7));
+        assertNull(raw.getString("key11", (String) null));
+        await().atMost(Duration.ofSeconds(5)).until(() -> nonNull(raw.getString("key11", (String) null)));
+        assertTrue(raw.getString("key11", (String) null).contains("Bruce"));
+    }
+
+    @Test
+    @DisplayName("Flush writes the saved entities")
+    public void flush() throws PersistenceException {
+        var raw = new PreferencesRepository("/test/org/pdfsam/entity");
+        victim.save("key12", new Entity("Bruce", 7));
+        victim.save("key12", new Entity("Jackie", 8));
+        assertTrue(Arrays.asList(victim.keys()).contains("key12"));
+        victim.save("key13", new Entity("Bruce", 7));
+        victim.flush();
+        assertTrue(raw.getString("key12", (String) null).contains("Jackie"));
+        assertTrue(raw.getString("key13", (String) null).contains("Bruce"));
+        victim.save("key13", null);
+        victim.flush();
+        assertNull(raw.getString("key13", (String) null));
+    }
+
     public record Entity(String name, Integer roundkicks) {
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class FileRepositoryTest {
+
+    @TempDir
+    private Path folder;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() {
+        file = folder.resolve("store").resolve("repo.log");
+    }
+
+    @Test
+    public void nullFile() {
+        assertThrows(IllegalArgumentException.class, () -> new FileRepository(null));
+    }
+
+    @Test
+    public void valuesSurviveRestart() {
+        var victim = new FileRepository(file);
+        victim.saveString("string", "value");
+        victim.saveInt("int", 5);
+        victim.saveLong("long", 10L);
+        victim.saveBoolean("boolean", true);
+        var reloaded = new FileRepository(file);
+        assertEquals("value", reloaded.getString("string", "default"));
+        assertEquals(5, reloaded.getInt("int", 1));
+        assertEquals(10L, reloaded.getLong("long", 1L));
+        assertTrue(reloaded.getBoolean("boolean", false));
+        assertEquals(4, reloaded.keys().length);
+        assertEquals(1, reloaded.getInt("string", 1));
+    }
+
+    @Test
+    public void specialCharacters() {
+        var victim = new FileRepository(file);
+        var value = "multi\nline\tvalue with \\ and \r" + "x".repeat(10000);
+        victim.saveString("key\twith\nchars", value);
+        assertEquals(value, new FileRepository(file).getString("key\twith\nchars", "default"));
+    }
+
+    @Test
+    public void delete() {
+        var victim = new FileRepository(file);
+        victim.saveString("string", "value");
+        victim.saveString("another", "value");
+        victim.delete("string");
+        victim.saveString("another", null);
+        assertNull(victim.getString("string", (String) null));
+        var reloaded = new FileRepository(file);
+        assertNull(reloaded.getString("string", (String) null));
+        assertNull(reloaded.getString("another", (String) null));
+        assertEquals(0, reloaded.keys().length);
+    }
+
+    @Test
+    public void incompleteLineIsDiscarded() throws IOException {
+        var victim = new FileRepository(file);
+        victim.saveString("string", "value");
+        Files.writeString(file, "+another\tval", StandardOpenOption.APPEND);
+        var reloaded = new FileRepository(file);
+        assertEquals("value", reloaded.getString("string", "default"));
+        assertNull(reloaded.getString("another", (String) null));
+        reloaded.saveString("third", "value");
+        assertEquals("value", new FileRepository(file).getString("third", "default"));
+    }
+
+    @Test
+    public void incompleteMultiByteCharacterIsDiscarded() throws IOException {
+        var victim = new FileRepository(file);
+        victim.saveString("string", "caf\u00e9");
+        var line = "+another\t\u20ac".getBytes(StandardCharsets.UTF_8);
+        // truncated in the middle of the euro sign
+        Files.write(file, Arrays.copyOf(line, line.length - 1), StandardOpenOption.APPEND);
+        var reloaded = new FileRepository(file);
+        assertEquals("caf\u00e9", reloaded.getString("string", "default"));
+        assertNull(reloaded.getString("another", (String) null));
+        reloaded.saveString("third", "value");
+        assertEquals("value", new FileRepository(file).getString("third", "default"));
+    }
+
+    @Test
+    public void compaction() throws IOException {
+        var victim = new FileRepository(file);
+        for (int i = 0; i <= FileRepository.COMPACTION_THRESHOLD * 2; i++) {
+            victim.saveInt("int", i);
+        }
+        victim.saveString("string", "value");
+        try (var lines = Files.lines(file)) {
+            assertTrue(lines.count() <= FileRepository.COMPACTION_THRESHOLD + 2);
+        }
+        victim.compact();
+        try (var lines = Files.lines(file)) {
+            assertEquals(2, lines.count());
+        }
+        var reloaded = new FileRepository(file);
+        assertEquals(FileRepository.COMPACTION_THRESHOLD * 2, reloaded.getInt("int", -1));
+        assertEquals("value", reloaded.getString("string", "default"));
+        assertFalse(Files.exists(file.resolveSibling("repo.log.tmp")));
+    }
+
+    @Test
+    public void clean() {
+        var victim = new FileRepository(file);
+        victim.saveString("string", "value");
+        victim.flush();
+        victim.clean();
+        assertFalse(Files.exists(file));
+        assertEquals(0, victim.keys().length);
+        assertEquals(0, new FileRepository(file).keys().length);
+    }
+
+    @Test
+    public void blankKey() {
+        var victim = new FileRepository(file);
+        assertThrows(IllegalArgumentException.class, () -> victim.saveString(" ", "value"));
+        assertThrows(IllegalArgumentException.class, () -> victim.delete(" "));
+    }
+}
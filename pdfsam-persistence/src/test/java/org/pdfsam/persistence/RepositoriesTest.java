@@ -0,0 +1,74 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.pdfsam.persistence.Repositories.FILE_REPOSITORY_DIRECTORY_PROP;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class RepositoriesTest {
+
+    private static final String PATH = "/test/org/pdfsam/repositories";
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(FILE_REPOSITORY_DIRECTORY_PROP);
+        new PreferencesRepository(PATH).clean();
+    }
+
+    @Test
+    public void preferencesByDefault() {
+        assertInstanceOf(PreferencesRepository.class, Repositories.repository(PATH));
+    }
+
+    @Test
+    public void fileFor(@TempDir Path folder) {
+        assertEquals(folder.resolve("org.pdfsam.user.conf.log"),
+                Repositories.fileFor(folder, "/org/pdfsam/user/conf/"));
+        assertEquals(folder.resolve("org.pdfsam.user.conf.split_by_size_.log"),
+                Repositories.fileFor(folder, "/org/pdfsam/user/conf/split by size?"));
+    }
+
+    @Test
+    public void fileWithMigration(@TempDir Path folder) {
+        var preferences = new PreferencesRepository(PATH);
+        preferences.saveString("string", "value");
+        preferences.saveInt("int", 5);
+        System.setProperty(FILE_REPOSITORY_DIRECTORY_PROP, folder.toString());
+        var victim = Repositories.repository(PATH);
+        assertInstanceOf(FileRepository.class, victim);
+        assertTrue(Files.exists(Repositories.fileFor(folder, PATH)));
+        assertEquals("value", victim.getString("string", "default"));
+        assertEquals(5, victim.getInt("int", 1));
+        // migrated only once
+        preferences.saveString("string", "changed");
+        assertEquals("value", Repositories.repository(PATH).getString("string", "default"));
+    }
+}
@@ -176,7 +176,10 @@ public class ZianWhiteBoxTest {
         com.fasterxml.jackson.core.JsonProcessingException fakeException =
                 new com.fasterxml.jackson.core.JsonProcessingException("Simulated error") {};
 
-        org.mockito.Mockito.when(mockMapper.writeValueAsString(org.mockito.ArgumentMatchers.any()))
+        com.fasterxml.jackson.databind.ObjectWriter mockWriter = org.mockito.Mockito.mock(
+                com.fasterxml.jackson.databind.ObjectWriter.class);
+        org.mockito.Mockito.when(mockMapper.writerFor(TestEntity.class)).thenReturn(mockWriter);
+        org.mockito.Mockito.when(mockWriter.writeValueAsString(org.mockito.ArgumentMatchers.any()))
                 .thenThrow(fakeException);
 
         DefaultEntityRepository<TestEntity> brokenEntityRepo = new DefaultEntityRepository<>(
@@ -57,6 +57,8 @@ module org.pdfsam.service {
     opens org.pdfsam.service.premium to org.pdfsam.injector;
     opens org.pdfsam.service.news to org.pdfsam.injector;
     opens org.pdfsam.service.update to org.pdfsam.injector;
-    opens org.pdfsam.service.task to org.pdfsam.injector;
-    opens org.pdfsam.service.pdf to org.pdfsam.injector;
+    opens org.pdfsam.service.task to com.fasterxml.jackson.databind, org.pdfsam.injector;
+    opens org.pdfsam.service.pdf to com.fasterxml.jackson.databind, org.pdfsam.injector;
+
+    uses org.pdfsam.core.support.params.WorkspaceParametersFactory;
 }
\ No newline at end of file
@@ -25,7 +25,7 @@ import org.pdfsam.core.AppBrand;
 import org.pdfsam.core.BrandableProperty;
 import org.pdfsam.model.news.NewsData;
 import org.pdfsam.persistence.PersistenceException;
-import org.pdfsam.persistence.PreferencesRepository;
+import org.pdfsam.persistence.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,12 +48,12 @@ public class DefaultNewsService implements NewsService {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultNewsService.class);
     static final String LATEST_NEWS_ID = "latest.news.id";
     static final String LATEST_IMPORTANT_NEWS_ID = "latest.important.news.id";
-    private final PreferencesRepository repo;
+    private final Repository repo;
     private final AppBrand appBrand;
     private final ObjectMapper mapper;
 
     @Inject
-    DefaultNewsService(AppBrand appBrand, ObjectMapper mapper, @Named("newsRepository") PreferencesRepository repo) {
+    DefaultNewsService(AppBrand appBrand, ObjectMapper mapper, @Named("newsRepository") Repository repo) {
         requireNotNullArg(appBrand, "Application info cannot be null");
         this.appBrand = appBrand;
         this.mapper = mapper;
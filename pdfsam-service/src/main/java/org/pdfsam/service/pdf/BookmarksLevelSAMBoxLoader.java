@@ -20,19 +20,33 @@ package org.pdfsam.service.pdf;
 
 import org.pdfsam.model.pdf.PdfDocumentDescriptor;
 import org.pdfsam.model.tool.RequiredPdfData;
-import org.sejda.impl.sambox.component.OutlineUtils;
 import org.sejda.sambox.pdmodel.PDDocument;
 
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
 /**
- * Loader populating the descriptor with bookmarks related data.
+ * Loader populating the descriptor with bookmarks related data. The outline is not walked during load, levels are taken from the
+ * {@link BookmarksLevelsRegistry} if already known, otherwise they are computed, off the JavaFX Application Thread, the first time they are requested.
  *
  * @author Andrea Vacondio
  */
 public class BookmarksLevelSAMBoxLoader implements PdfLoader<PDDocument> {
 
+    private final BookmarksLevelsRegistry registry;
+
+    public BookmarksLevelSAMBoxLoader() {
+        this(new BookmarksLevelsRegistry());
+    }
+
+    public BookmarksLevelSAMBoxLoader(BookmarksLevelsRegistry registry) {
+        requireNotNullArg(registry, "Bookmarks levels registry cannot be null");
+        this.registry = registry;
+    }
+
     @Override
     public void accept(PDDocument document, PdfDocumentDescriptor descriptor) {
-        descriptor.setValidBookmarksLevels(OutlineUtils.getOutlineLevelsWithPageDestination(document));
+        registry.get(descriptor).ifPresentOrElse(descriptor::setValidBookmarksLevels,
+                () -> descriptor.setValidBookmarksLevelsSupplier(() -> registry.levelsFor(descriptor)));
     }
 
     @Override
@@ -0,0 +1,124 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.pdf;
+
+import org.pdfsam.model.pdf.PdfDocumentDescriptor;
+import org.sejda.commons.collection.LRUMap;
+import org.sejda.impl.sambox.component.OutlineUtils;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static java.util.Optional.ofNullable;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * Process wide registry of the valid bookmarks levels of the PDF documents. Levels are computed the first time they are requested for a file, and
+ * shared with every descriptor of the same file, as long as the file length and last modified time don't change.
+ * <p>
+ * When a {@link PdfMetadataCache} is given, levels are also looked up in and added to the cache, so that documents loaded in a previous session don't
+ * need their outline walked again.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public class BookmarksLevelsRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookmarksLevelsRegistry.class);
+
+    static final int DEFAULT_CAPACITY = 500;
+    private final Map<FileKey, SortedSet<Integer>> levels;
+    private final PdfMetadataCache cache;
+
+    public BookmarksLevelsRegistry() {
+        this(null);
+    }
+
+    /**
+     * @param cache
+     *         cache used to look up and store levels. Can be null.
+     */
+    public BookmarksLevelsRegistry(PdfMetadataCache cache) {
+        this(cache, DEFAULT_CAPACITY);
+    }
+
+    public BookmarksLevelsRegistry(PdfMetadataCache cache, int capacity) {
+        requireArg(capacity > 0, "Registry capacity must be a positive number");
+        this.cache = cache;
+        this.levels = Collections.synchronizedMap(new LRUMap<>(capacity));
+    }
+
+    /**
+     * @return the levels already known for the file of the given descriptor, without computing them
+     */
+    public Optional<SortedSet<Integer>> get(PdfDocumentDescriptor descriptor) {
+        var key = FileKey.of(descriptor.getFile());
+        var known = key.map(levels::get).or(() -> ofNullable(cache).flatMap(c -> c.get(descriptor))
+                .filter(CachedPdfMetadata::hasBookmarksLevels).map(CachedPdfMetadata::bookmarksLevels));
+        known.ifPresent(l -> key.ifPresent(k -> levels.put(k, l)));
+        return known;
+    }
+
+    /**
+     * @return the valid bookmarks levels for the file of the given descriptor, opening the file and walking its outline if they are not known yet. It
+     * performs I/O and it's not supposed to be called on the JavaFX Application Thread.
+     */
+    public SortedSet<Integer> levelsFor(PdfDocumentDescriptor descriptor) {
+        return get(descriptor).orElseGet(() -> {
+            LOG.trace("Computing bookmarks levels for {}", descriptor.getFileName());
+            try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(descriptor.getFile()),
+                    descriptor.getPassword())) {
+                var computed = Collections.unmodifiableSortedSet(
+                        new TreeSet<>(OutlineUtils.getOutlineLevelsWithPageDestination(document)));
+                FileKey.of(descriptor.getFile()).ifPresent(k -> levels.put(k, computed));
+                ofNullable(cache).ifPresent(c -> c.putBookmarksLevels(descriptor, computed));
+                return computed;
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Unable to compute the bookmarks levels for '{}'", descriptor.getFileName(), e);
+                return Collections.emptySortedSet();
+            }
+        });
+    }
+
+    public void clear() {
+        levels.clear();
+    }
+
+    private record FileKey(String path, long length, long lastModified) {
+
+        static Optional<FileKey> of(File file) {
+            try {
+                return Optional.of(new FileKey(file.getCanonicalPath(), file.length(), file.lastModified()));
+            } catch (IOException e) {
+                LOG.trace("Unable to resolve canonical path for {}", file, e);
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.pdf;
+
+import org.pdfsam.model.pdf.PdfDocumentDescriptor;
+import org.sejda.model.pdf.PdfVersion;
+
+import java.io.File;
+import java.util.Map;
+import java.util.SortedSet;
+
+import static java.util.Objects.nonNull;
+import static org.pdfsam.service.pdf.FxDescriptorUpdates.fxDescriptorUpdates;
+
+/**
+ * Metadata extracted from a PDF document, as stored in the {@link PdfMetadataCache}. Entries are bound to the length and last modified time of the file they
+ * were extracted from.
+ *
+ * @param path            the canonical path of the file
+ * @param length          the length of the file
+ * @param lastModified    the last modified time of the file
+ * @param pages           number of pages
+ * @param version         PDF version
+ * @param information     the information dictionary
+ * @param bookmarksLevels the valid bookmarks levels or null if they were not extracted
+ * @author Andrea Vacondio
+ */
+public record CachedPdfMetadata(String path, long length, long lastModified, int pages, PdfVersion version,
+                                Map<String, String> information, SortedSet<Integer> bookmarksLevels) {
+
+    /**
+     * @return true if this metadata was extracted from the given file in its current state
+     */
+    boolean isValidFor(File file) {
+        return file.length() == length && file.lastModified() == lastModified;
+    }
+
+    /**
+     * @return true if this metadata contains the bookmarks levels
+     */
+    boolean hasBookmarksLevels() {
+        return nonNull(bookmarksLevels);
+    }
+
+    /**
+     * Populates the given descriptor with this metadata, the number of pages is set on the JavaFX Application Thread
+     */
+    void applyTo(PdfDocumentDescriptor descriptor) {
+        fxDescriptorUpdates().pages(descriptor, pages);
+        descriptor.setVersion(version);
+        if (nonNull(information)) {
+            descriptor.setInformationDictionary(information);
+        }
+        if (hasBookmarksLevels()) {
+            descriptor.setValidBookmarksLevels(bookmarksLevels);
+        }
+    }
+}
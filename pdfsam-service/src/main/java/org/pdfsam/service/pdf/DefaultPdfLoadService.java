@@ -18,42 +18,76 @@
  */
 package org.pdfsam.service.pdf;
 
-import javafx.application.Platform;
 import org.pdfsam.model.pdf.PdfDescriptorLoadingStatus;
 import org.pdfsam.model.pdf.PdfDocumentDescriptor;
 import org.pdfsam.model.tool.RequiredPdfData;
-import org.sejda.io.BufferedSeekableSource;
-import org.sejda.io.FileChannelSeekableSource;
+import org.sejda.io.SeekableSources;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.encryption.InvalidPasswordException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.pdfsam.core.ConfigurableSystemProperty.PDFSAM_LOAD_CONCURRENCY;
 import static org.pdfsam.i18n.I18nContext.i18n;
+import static org.pdfsam.service.pdf.FxDescriptorUpdates.fxDescriptorUpdates;
 import static org.pdfsam.model.pdf.PdfDescriptorLoadingStatus.ENCRYPTED;
 import static org.pdfsam.model.pdf.PdfDescriptorLoadingStatus.LOADED;
 import static org.pdfsam.model.pdf.PdfDescriptorLoadingStatus.LOADED_WITH_USER_PWD_DECRYPTION;
 import static org.pdfsam.model.pdf.PdfDescriptorLoadingStatus.LOADING;
 import static org.pdfsam.model.pdf.PdfDescriptorLoadingStatus.WITH_ERRORS;
+import static org.sejda.commons.util.RequireUtils.requireArg;
 
 /**
+ * {@link PdfLoadService} parsing documents concurrently, with a limit on the number of documents open at the same time.
+ * <p>
+ * Documents waiting to be loaded are kept in a priority queue, they are loaded in the order they are requested unless they are
+ * {@link #prioritize(Collection) prioritized}, usually because the user is looking at them. When a descriptor is invalidated, it's removed from
+ * the pending documents and, if its loading is in progress, the loading thread is interrupted and its slot is
+ * immediately given to the next document. Reads of memory mapped files don't respond to interruption so the loading
+ * also checks for invalidation between its stages and stops before applying any result.
+ * </p>
+ * <p>
+ * Opening a document only reads its header, cross reference and trailer, every other object is read on demand by the
+ * loaders, so loading {@link RequiredPdfData#DEFAULT} only touches the Info dictionary and the page tree root. The whole
+ * file is scanned only when the cross reference is broken.
+ * </p>
+ * <p>
+ * Status and pages changes are applied on the JavaFX Application Thread in batches through {@link FxDescriptorUpdates}.
+ * </p>
+ * <p>
+ * Files are read through {@link SeekableSources}, the same way tasks read their inputs, so files above the configured
+ * threshold are memory mapped.
+ * </p>
+ *
  * @author Andrea Vacondio
  */
 public class DefaultPdfLoadService implements PdfLoadService {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultPdfLoadService.class);
     private final Map<RequiredPdfData, BiConsumer<PDDocument, PdfDocumentDescriptor>> consumers = new HashMap<>();
-
-    private static final BiConsumer<PDDocument, PdfDocumentDescriptor> STARTER = (r, descriptor) -> {
-        // NO OP
-    };
+    private final Semaphore openDocuments;
+    private final PdfMetadataCache cache;
+    private final PriorityQueue<PendingLoad> pending = new PriorityQueue<>();
+    private final Map<PdfDocumentDescriptor, InFlightLoad> loading = new IdentityHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong priorities = new AtomicLong();
 
     private static final BiConsumer<PDDocument, PdfDocumentDescriptor> FINISHER = (r, descriptor) -> {
         if (descriptor.hasPassword()) {
@@ -64,39 +98,220 @@ public class DefaultPdfLoadService implements PdfLoadService {
     };
 
     public DefaultPdfLoadService(List<PdfLoader<PDDocument>> loaders) {
+        this(loaders, null);
+    }
+
+    /**
+     * @param loaders
+     * @param cache
+     *         cache used to avoid parsing documents whose metadata is already known. Can be null.
+     */
+    public DefaultPdfLoadService(List<PdfLoader<PDDocument>> loaders, PdfMetadataCache cache) {
+        this(loaders, cache, Integer.getInteger(PDFSAM_LOAD_CONCURRENCY, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @param loaders
+     * @param cache
+     *         cache used to avoid parsing documents whose metadata is already known. Can be null.
+     * @param concurrency
+     *         maximum number of documents that can be opened and parsed at the same time
+     */
+    public DefaultPdfLoadService(List<PdfLoader<PDDocument>> loaders, PdfMetadataCache cache, int concurrency) {
+        requireArg(concurrency > 0, "Loading concurrency must be a positive number");
         loaders.forEach(l -> consumers.put(l.key(), l));
+        this.cache = cache;
+        this.openDocuments = new Semaphore(concurrency, true);
+        LOG.debug("PDF load concurrency set to {}", concurrency);
     }
 
     @Override
     public void load(Collection<? extends PdfDocumentDescriptor> toLoad, RequiredPdfData... requires) {
         LOG.debug(i18n().tr("Loading pdf documents"));
-        BiConsumer<PDDocument, PdfDocumentDescriptor> consumer = Arrays.stream(requires).map(consumers::get)
-                .reduce(STARTER, BiConsumer::andThen).andThen(FINISHER);
-
-        for (PdfDocumentDescriptor current : toLoad) {
-            if (current.hasReferences()) {
-                LOG.trace("Loading {}", current.getFileName());
-                fxMoveStatusTo(current, LOADING);
-                try (PDDocument document = PDFParser.parse(
-                        new BufferedSeekableSource(new FileChannelSeekableSource(current.getFile())),
-                        current.getPassword())) {
-                    consumer.accept(document, current);
-                } catch (InvalidPasswordException twpe) {
-                    fxMoveStatusTo(current, ENCRYPTED);
-                    LOG.warn("User password required for '{}'", current.getFileName(), twpe);
-                } catch (Exception e) {
-                    LOG.error("An error occurred loading the document '{}'", current.getFileName(), e);
-                    fxMoveStatusTo(current, WITH_ERRORS);
+        List<BiConsumer<PDDocument, PdfDocumentDescriptor>> stages = Arrays.stream(requires).map(consumers::get)
+                .toList();
+
+        var withBookmarks = Arrays.asList(requires).contains(RequiredPdfData.BOOMARKS);
+        synchronized (pending) {
+            toLoad.forEach(current -> {
+                Runnable cancellation = () -> cancel(current);
+                pending.add(
+                        new PendingLoad(current, stages, withBookmarks, 0, sequence.incrementAndGet(), cancellation));
+                current.addInvalidationListener(cancellation);
+            });
+        }
+        try (var executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pdf-loader-", 0).factory())) {
+            toLoad.forEach(current -> executor.execute(this::loadNext));
+        }
+        LOG.debug(i18n().tr("Documents loaded"));
+        LOG.trace("{} JavaFX runLater calls saved updating descriptors", fxDescriptorUpdates().savedRunLaterCalls());
+    }
+
+    @Override
+    public void prioritize(Collection<? extends PdfDocumentDescriptor> descriptors) {
+        var toPrioritize = Collections.newSetFromMap(new IdentityHashMap<PdfDocumentDescriptor, Boolean>());
+        toPrioritize.addAll(descriptors);
+        synchronized (pending) {
+            var priority = priorities.incrementAndGet();
+            var prioritized = new ArrayList<PendingLoad>();
+            pending.removeIf(p -> toPrioritize.contains(p.descriptor()) && prioritized.add(p));
+            prioritized.forEach(p -> pending.add(p.withPriority(priority)));
+            LOG.trace("Prioritized {} pending documents", prioritized.size());
+        }
+    }
+
+    /**
+     * Drops the given descriptor from the pending documents and, if its loading is already in progress, interrupts it
+     * and releases its permit
+     */
+    private void cancel(PdfDocumentDescriptor descriptor) {
+        var cancelled = new ArrayList<PendingLoad>();
+        synchronized (pending) {
+            pending.removeIf(p -> p.descriptor() == descriptor && cancelled.add(p));
+            ofNullable(loading.get(descriptor)).ifPresent(l -> {
+                l.thread().interrupt();
+                release(l.permit());
+            });
+        }
+        cancelled.forEach(p -> p.descriptor().removeInvalidationListener(p.cancellation()));
+        LOG.debug("Loading of {} cancelled", descriptor.getFileName());
+    }
+
+    /**
+     * Waits for a document to be closed and loads the pending document with the highest priority
+     */
+    private void loadNext() {
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+        }
+        try {
+            openDocuments.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while waiting to load a document");
+            return;
+        }
+        var permit = new AtomicBoolean(true);
+        try {
+            PendingLoad next;
+            synchronized (pending) {
+                next = pending.poll();
+                if (nonNull(next)) {
+                    loading.put(next.descriptor(), new InFlightLoad(Thread.currentThread(), permit));
                 }
-                LOG.info("{} loaded", current.getFileName());
-            } else {
-                LOG.trace("Skipping invalidated document {}", current.getFileName());
             }
+            if (nonNull(next)) {
+                try {
+                    load(next.descriptor(), next.stages(), next.withBookmarks());
+                } finally {
+                    synchronized (pending) {
+                        loading.remove(next.descriptor());
+                        // clears the interrupted status in case the loading has been cancelled
+                        Thread.interrupted();
+                    }
+                    next.descriptor().removeInvalidationListener(next.cancellation());
+                }
+            }
+        } finally {
+            release(permit);
         }
-        LOG.debug(i18n().tr("Documents loaded"));
+    }
+
+    /**
+     * Releases the permit unless it has been already released, either by the loading thread or by the cancellation
+     */
+    private void release(AtomicBoolean permit) {
+        if (permit.compareAndSet(true, false)) {
+            openDocuments.release();
+        }
+    }
+
+    private void load(PdfDocumentDescriptor current, List<BiConsumer<PDDocument, PdfDocumentDescriptor>> stages,
+            boolean withBookmarks) {
+        if (current.hasReferences()) {
+            LOG.trace("Loading {}", current.getFileName());
+            fxMoveStatusTo(current, LOADING);
+            var cached = ofNullable(cache).flatMap(c -> c.get(current))
+                    .filter(m -> !withBookmarks || m.hasBookmarksLevels());
+            if (cached.isPresent()) {
+                cached.get().applyTo(current);
+                FINISHER.accept(null, current);
+                LOG.info("{} loaded from cache", current.getFileName());
+                return;
+            }
+            try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(current.getFile()),
+                    current.getPassword())) {
+                for (var stage : stages) {
+                    if (isCancelled(current)) {
+                        return;
+                    }
+                    stage.accept(document, current);
+                }
+                if (isCancelled(current)) {
+                    return;
+                }
+                FINISHER.accept(document, current);
+                if (nonNull(cache)) {
+                    cache.put(current, document.getNumberOfPages(),
+                            withBookmarks && !current.hasPendingValidBookmarksLevels());
+                }
+            } catch (InvalidPasswordException twpe) {
+                fxMoveStatusTo(current, ENCRYPTED);
+                LOG.warn("User password required for '{}'", current.getFileName(), twpe);
+            } catch (Exception e) {
+                if (!current.hasReferences()) {
+                    LOG.debug("Loading of invalidated document '{}' interrupted", current.getFileName());
+                    return;
+                }
+                LOG.error("An error occurred loading the document '{}'", current.getFileName(), e);
+                fxMoveStatusTo(current, WITH_ERRORS);
+            }
+            LOG.info("{} loaded", current.getFileName());
+        } else {
+            LOG.trace("Skipping invalidated document {}", current.getFileName());
+        }
+    }
+
+    private static boolean isCancelled(PdfDocumentDescriptor descriptor) {
+        if (!descriptor.hasReferences()) {
+            LOG.debug("Loading of invalidated document '{}' cancelled", descriptor.getFileName());
+            return true;
+        }
+        return false;
     }
 
     private static void fxMoveStatusTo(PdfDocumentDescriptor descriptor, PdfDescriptorLoadingStatus status) {
-        Platform.runLater(() -> descriptor.moveStatusTo(status));
+        fxDescriptorUpdates().moveStatusTo(descriptor, status);
+    }
+
+    /**
+     * A document waiting to be loaded. Documents with higher priority are loaded first, documents with the same priority are loaded in the order they
+     * were requested.
+     */
+    private record PendingLoad(PdfDocumentDescriptor descriptor,
+                               List<BiConsumer<PDDocument, PdfDocumentDescriptor>> stages, boolean withBookmarks,
+                               long priority, long sequence, Runnable cancellation)
+            implements Comparable<PendingLoad> {
+
+        PendingLoad withPriority(long priority) {
+            return new PendingLoad(descriptor, stages, withBookmarks, priority, sequence, cancellation);
+        }
+
+        @Override
+        public int compareTo(PendingLoad other) {
+            var result = Long.compare(other.priority, priority);
+            if (result == 0) {
+                return Long.compare(sequence, other.sequence);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A document being loaded, with the thread loading it and whether it still holds its permit
+     */
+    private record InFlightLoad(Thread thread, AtomicBoolean permit) {
     }
 }
@@ -29,6 +29,8 @@ import org.sejda.sambox.pdmodel.PDDocumentInformation;
 import java.text.DateFormat;
 import java.util.Optional;
 
+import static org.pdfsam.service.pdf.FxDescriptorUpdates.fxDescriptorUpdates;
+
 /**
  * Consumer taking a {@link PDDocument} and populating an {@link PdfDocumentDescriptor} with data coming from the info dictionary of the {@link PDDocument}.
  *
@@ -40,7 +42,7 @@ public class DefaultSAMBoxLoader implements PdfLoader<PDDocument> {
 
     @Override
     public void accept(PDDocument document, PdfDocumentDescriptor descriptor) {
-        descriptor.pages(document.getNumberOfPages());
+        fxDescriptorUpdates().pages(descriptor, document.getNumberOfPages());
         descriptor.setVersion(getVersion(document.getVersion()));
         PDDocumentInformation info = document.getDocumentInformation();
         descriptor.putInformation(PdfMetadataFields.TITLE, info.getTitle());
@@ -0,0 +1,125 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.pdf;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import org.pdfsam.model.pdf.PdfDescriptorLoadingStatus;
+import org.pdfsam.model.pdf.PdfDocumentDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Dispatcher collecting changes to {@link PdfDocumentDescriptor}s, made by threads other than the JavaFX Application Thread, and applying them on
+ * the JavaFX Application Thread in batches, once per pulse. Changes are applied in the order they are submitted. Instead of a
+ * {@link Platform#runLater(Runnable)} for each change, a single one is issued to start an {@link AnimationTimer} that drains the pending changes
+ * every frame and stops when there is nothing left to apply.
+ *
+ * @author Andrea Vacondio
+ */
+public class FxDescriptorUpdates {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxDescriptorUpdates.class);
+    private static final FxDescriptorUpdates INSTANCE = new FxDescriptorUpdates(Platform::runLater);
+
+    private final Consumer<Runnable> fxExecutor;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder runLaterCalls = new LongAdder();
+    private AnimationTimer timer;
+
+    FxDescriptorUpdates(Consumer<Runnable> fxExecutor) {
+        this.fxExecutor = fxExecutor;
+    }
+
+    /**
+     * @return the process wide dispatcher
+     */
+    public static FxDescriptorUpdates fxDescriptorUpdates() {
+        return INSTANCE;
+    }
+
+    /**
+     * Moves the status of the given descriptor to the given destination on the JavaFX Application Thread
+     */
+    public void moveStatusTo(PdfDocumentDescriptor descriptor, PdfDescriptorLoadingStatus destination) {
+        submit(() -> descriptor.moveStatusTo(destination));
+    }
+
+    /**
+     * Sets the number of pages of the given descriptor on the JavaFX Application Thread
+     */
+    public void pages(PdfDocumentDescriptor descriptor, int pages) {
+        submit(() -> descriptor.pages(pages));
+    }
+
+    void submit(Runnable change) {
+        pending.add(change);
+        submitted.increment();
+        if (draining.compareAndSet(false, true)) {
+            runLaterCalls.increment();
+            fxExecutor.accept(this::start);
+        }
+    }
+
+    private void start() {
+        if (isNull(timer)) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    drain();
+                }
+            };
+        }
+        timer.start();
+    }
+
+    private void drain() {
+        Runnable change;
+        while ((change = pending.poll()) != null) {
+            try {
+                change.run();
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to apply descriptor change", e);
+            }
+        }
+        timer.stop();
+        draining.set(false);
+        // changes submitted after the queue was found empty but before draining was reset didn't schedule a new drain
+        if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+            timer.start();
+        }
+    }
+
+    /**
+     * @return the number of {@link Platform#runLater(Runnable)} calls saved by batching the changes
+     */
+    public long savedRunLaterCalls() {
+        return submitted.sum() - runLaterCalls.sum();
+    }
+}
@@ -22,26 +22,53 @@ import org.apache.commons.lang3.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 import static java.util.Objects.isNull;
+import static org.sejda.commons.util.RequireUtils.requireArg;
 
 /**
+ * Parser for text/csv files containing a list of PDF files, one per line, as first column. The file is streamed, the charset is detected
+ * looking for a BOM or probing the first bytes of the file and existence of the listed files is checked in parallel, a batch at a time. If
+ * the file turns out not to be encoded in the detected charset past the probed bytes, it's read again with the fallback charsets, resuming
+ * from the first line that couldn't be decoded.
+ *
  * @author Andrea Vacondio
  */
 class PdfListParser implements Function<Path, List<File>> {
     private static final Logger LOG = LoggerFactory.getLogger(PdfListParser.class);
 
+    static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int PROBE_SIZE = 64 * 1024;
+    private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+    private static final byte[] UTF16BE_BOM = { (byte) 0xFE, (byte) 0xFF };
+    private static final byte[] UTF16LE_BOM = { (byte) 0xFF, (byte) 0xFE };
+
     /**
      * Given a Path to text/csv file, it parses is returning a list of PDF files contained in the parsed file
      *
@@ -53,18 +80,163 @@ class PdfListParser implements Function<Path, List<File>> {
         if (isNull(listFile)) {
             return Collections.emptyList();
         }
-        List<Charset> charsets = List.of(StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, Charset.defaultCharset());
-        for (Charset charset : charsets) {
-            try (Stream<String> stream = Files.lines(listFile, charset)) {
-                return stream.map(PdfListParser::parseLine).filter(s -> s != null && Strings.CI.endsWith(s, "pdf"))
-                        .map(File::new).filter(f -> f.exists() && !f.isDirectory()).toList();
-            } catch (UncheckedIOException e) {
-                LOG.warn("Unable to read lines from " + listFile + " using charset " + charset, e);
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
+        var files = new ArrayList<File>();
+        parse(listFile, DEFAULT_BATCH_SIZE, files::addAll);
+        return Collections.unmodifiableList(files);
+    }
+
+    /**
+     * Streams the given text/csv file, notifying the consumer with batches of existing PDF files, in the order they are listed, as soon as they are
+     * parsed and checked.
+     *
+     * @param listFile
+     * @param batchSize max number of files in a batch
+     * @param onBatch   consumer of the non empty batches of files
+     */
+    public void parse(Path listFile, int batchSize, Consumer<List<File>> onBatch) {
+        requireArg(batchSize > 0, "Batch size must be a positive number");
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            byte[] probe;
+            try (var stream = Files.newInputStream(listFile)) {
+                probe = stream.readNBytes(PROBE_SIZE);
+            }
+            var bom = bomLength(probe);
+            var charsets = new LinkedHashSet<>(
+                    List.of(detectCharset(probe), StandardCharsets.ISO_8859_1, Charset.defaultCharset()));
+            var consumed = new AtomicInteger();
+            for (Charset charset : charsets) {
+                LOG.debug("Reading {} using charset {}", listFile, charset);
+                if (parse(listFile, charset, bom, consumed, batchSize, executor, onBatch)) {
+                    return;
+                }
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        throw new IllegalStateException("Unable to read lines from " + listFile);
+    }
+
+    /**
+     * Parses the file using the given charset, skipping the already consumed lines
+     *
+     * @return false if the file contains bytes that are not valid for the charset
+     */
+    private static boolean parse(Path listFile, Charset charset, int bom, AtomicInteger consumed, int batchSize,
+            ExecutorService executor, Consumer<List<File>> onBatch) throws IOException {
+        var candidates = new ArrayList<File>(batchSize);
+        try (var reader = reader(listFile, charset, bom)) {
+            int skip = consumed.get();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                consumed.incrementAndGet();
+                var path = parseLine(line);
+                if (path != null && Strings.CI.endsWith(path, "pdf")) {
+                    candidates.add(new File(path));
+                    if (candidates.size() == batchSize) {
+                        emit(candidates, executor, onBatch);
+                        candidates = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+        } catch (CharacterCodingException e) {
+            LOG.warn("Unable to read lines from {} using charset {} after line {}", listFile, charset, consumed.get());
+            emit(candidates, executor, onBatch);
+            return false;
+        }
+        emit(candidates, executor, onBatch);
+        return true;
+    }
+
+    private static void emit(List<File> candidates, ExecutorService executor, Consumer<List<File>> onBatch) {
+        var checks = candidates.stream().map(f -> executor.submit(() -> f.exists() && !f.isDirectory() ? f : null))
+                .toList();
+        var batch = checks.stream().map(PdfListParser::result).filter(Objects::nonNull).toList();
+        if (!batch.isEmpty()) {
+            onBatch.accept(batch);
+        }
+    }
+
+    private static File result(Future<File> check) {
+        try {
+            return check.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking files existence", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
         }
-        throw new RuntimeException("Unable to read lines from " + listFile);
+    }
+
+    private static BufferedReader reader(Path listFile, Charset charset, int bom) throws IOException {
+        var stream = Files.newInputStream(listFile);
+        try {
+            stream.skipNBytes(bom);
+            CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT);
+            return new BufferedReader(new InputStreamReader(stream, decoder));
+        } catch (IOException | RuntimeException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the charset of the list, based on its BOM, if any, or UTF-8 if the probed bytes are valid UTF-8, ISO-8859-1 otherwise
+     */
+    static Charset detectCharset(byte[] probe) {
+        if (startsWith(probe, UTF8_BOM)) {
+            return StandardCharsets.UTF_8;
+        }
+        if (startsWith(probe, UTF16BE_BOM)) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (startsWith(probe, UTF16LE_BOM)) {
+            return StandardCharsets.UTF_16LE;
+        }
+        try {
+            var buffer = ByteBuffer.wrap(probe, 0, utf8Boundary(probe));
+            StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT).decode(buffer);
+            return StandardCharsets.UTF_8;
+        } catch (CharacterCodingException e) {
+            return StandardCharsets.ISO_8859_1;
+        }
+    }
+
+    /**
+     * @return the length of the probe without a possibly truncated trailing UTF-8 sequence
+     */
+    private static int utf8Boundary(byte[] probe) {
+        int end = probe.length;
+        for (int i = end - 1; i >= Math.max(0, end - 4); i--) {
+            int b = probe[i] & 0xFF;
+            if (b < 0x80) {
+                return end;
+            }
+            if (b >= 0xC0) {
+                int expected = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : 2;
+                return (end - i) < expected ? i : end;
+            }
+        }
+        return end;
+    }
+
+    private static int bomLength(byte[] probe) {
+        if (startsWith(probe, UTF8_BOM)) {
+            return UTF8_BOM.length;
+        }
+        if (startsWith(probe, UTF16BE_BOM) || startsWith(probe, UTF16LE_BOM)) {
+            return 2;
+        }
+        return 0;
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        return bytes.length >= prefix.length && Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length);
     }
 
     private static String parseLine(String line) {
@@ -19,6 +19,7 @@
 package org.pdfsam.service.pdf;
 
 import jakarta.inject.Inject;
+import javafx.application.Platform;
 import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.injector.Auto;
 import org.pdfsam.model.lifecycle.ShutdownEvent;
@@ -26,6 +27,7 @@ import org.pdfsam.model.pdf.PdfDescriptorLoadingStatus;
 import org.pdfsam.model.pdf.PdfDocumentDescriptor;
 import org.pdfsam.model.pdf.PdfFilesListLoadRequest;
 import org.pdfsam.model.pdf.PdfLoadRequest;
+import org.pdfsam.model.pdf.PrioritizePdfLoadRequest;
 import org.pdfsam.model.tool.RequiredPdfData;
 import org.pdfsam.model.tool.Tool;
 import org.slf4j.Logger;
@@ -36,6 +38,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.nonNull;
 import static org.pdfsam.core.context.ApplicationContext.app;
@@ -53,7 +56,8 @@ public class PdfLoadController {
     private static final Logger LOG = LoggerFactory.getLogger(PdfLoadController.class);
 
     private final PdfLoadService loadService;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("pdf-load-request-", 0).factory());
     private final Map<String, RequiredPdfData[]> requiredLoadData = new HashMap<>();
 
     @Inject
@@ -80,7 +84,9 @@ public class PdfLoadController {
     }
 
     /**
-     * Request to load a text/csv file containing a list of PDF
+     * Request to load a text/csv file containing a list of PDF. The list is streamed and a {@link PdfLoadRequest} is sent, on the FX thread, for
+     * every batch of valid files, so documents are loaded while the list is still being read. Only the first batch requests the fallback
+     * destination.
      *
      * @param event
      */
@@ -90,14 +96,16 @@ public class PdfLoadController {
         if (nonNull(event.list)) {
             executor.execute(() -> {
                 try {
-                    var loadEvent = new PdfLoadRequest(event.toolBinding());
-                    new PdfListParser().apply(event.list).stream().map(PdfDocumentDescriptor::newDescriptorNoPassword)
-                            .forEach(loadEvent::add);
-                    if (loadEvent.getDocuments().isEmpty()) {
+                    var found = new AtomicInteger();
+                    new PdfListParser().parse(event.list, PdfListParser.DEFAULT_BATCH_SIZE, batch -> {
+                        var loadEvent = new PdfLoadRequest(event.toolBinding(), found.get() == 0);
+                        batch.stream().map(PdfDocumentDescriptor::newDescriptorNoPassword).forEach(loadEvent::add);
+                        found.addAndGet(batch.size());
+                        Platform.runLater(() -> eventStudio().broadcast(loadEvent, event.toolBinding()));
+                    });
+                    if (found.get() == 0) {
                         LOG.error(
                                 i18n().tr("Unable to find any valid PDF file in the list: {0}", event.list.toString()));
-                    } else {
-                        eventStudio().broadcast(loadEvent, event.toolBinding());
                     }
                 } catch (Exception e) {
                     LOG.error(i18n().tr("Unable to load PDF list file from {0}", event.list.toString()), e);
@@ -106,6 +114,17 @@ public class PdfLoadController {
         }
     }
 
+    /**
+     * Request to load some of the pending documents first
+     *
+     * @param event
+     */
+    @EventListener
+    public void request(PrioritizePdfLoadRequest event) {
+        LOG.trace("PDF load priority request received for {} documents", event.documents().size());
+        loadService.prioritize(event.documents());
+    }
+
     @EventListener
     public void onShutdown(ShutdownEvent event) {
         executor.shutdownNow();
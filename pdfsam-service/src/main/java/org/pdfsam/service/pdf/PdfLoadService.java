@@ -38,4 +38,14 @@ public interface PdfLoadService {
      *            what the service should load from the PDF
      */
     void load(Collection<? extends PdfDocumentDescriptor> toLoad, RequiredPdfData... datas);
+
+    /**
+     * Hints the service that the given documents should be loaded before the other pending ones. Documents that are not pending are ignored and
+     * documents prioritized by a later call take precedence.
+     *
+     * @param descriptors
+     */
+    default void prioritize(Collection<? extends PdfDocumentDescriptor> descriptors) {
+        // NO OP
+    }
 }
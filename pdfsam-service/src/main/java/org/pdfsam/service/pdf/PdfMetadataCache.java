@@ -0,0 +1,236 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.pdf;
+
+import org.pdfsam.eventstudio.annotation.EventListener;
+import org.pdfsam.model.lifecycle.ShutdownEvent;
+import org.pdfsam.model.pdf.PdfDocumentDescriptor;
+import org.pdfsam.persistence.EntityRepository;
+import org.pdfsam.persistence.PersistenceException;
+import org.sejda.commons.collection.LRUMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * A size capped, least recently used cache of the metadata extracted from PDF documents. Entries are keyed by the canonical path of the file and they are
+ * valid as long as the file length and last modified time don't change. The cache is restored from the given repository the first time it's
+ * used and, on shutdown, only the entries added or evicted since then are written to it.
+ * <p>
+ * Documents that require a password are never cached, so no password or data decrypted using a password is ever written to disk.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public class PdfMetadataCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PdfMetadataCache.class);
+
+    static final int DEFAULT_CAPACITY = 2000;
+    private final EntityRepository<CachedPdfMetadata> repo;
+    private final Map<String, CachedPdfMetadata> cache;
+    // repository keys and paths changed since the cache was restored, guarded by the cache lock
+    private final Set<String> persisted = new HashSet<>();
+    private final Set<String> changed = new HashSet<>();
+    private volatile boolean restored;
+
+    public PdfMetadataCache(EntityRepository<CachedPdfMetadata> repo) {
+        this(repo, DEFAULT_CAPACITY);
+    }
+
+    public PdfMetadataCache(EntityRepository<CachedPdfMetadata> repo, int capacity) {
+        requireArg(capacity > 0, "Cache capacity must be a positive number");
+        this.repo = repo;
+        this.cache = Collections.synchronizedMap(new LRUMap<>(capacity));
+        eventStudio().addAnnotatedListeners(this);
+    }
+
+    /**
+     * @return the cache, restoring it from the repository if this is the first time it's used
+     */
+    private Map<String, CachedPdfMetadata> cache() {
+        if (!restored) {
+            synchronized (cache) {
+                if (!restored) {
+                    restore();
+                    restored = true;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private void restore() {
+        try {
+            for (String key : repo.keys()) {
+                persisted.add(key);
+                repo.get(key).ifPresent(m -> cache.put(m.path(), m));
+            }
+            LOG.trace("Restored {} cached PDF metadata", cache.size());
+        } catch (PersistenceException e) {
+            LOG.warn("Unable to restore cached PDF metadata", e);
+        }
+    }
+
+    /**
+     * @return the cached metadata for the given descriptor, if present and still valid for its file
+     */
+    public Optional<CachedPdfMetadata> get(PdfDocumentDescriptor descriptor) {
+        if (descriptor.hasPassword()) {
+            return Optional.empty();
+        }
+        return get(descriptor.getFile());
+    }
+
+    /**
+     * @return the cached metadata for the given file, if present and still valid
+     */
+    public Optional<CachedPdfMetadata> get(File file) {
+        return canonicalPath(file).map(cache()::get).filter(m -> m.isValidFor(file));
+    }
+
+    /**
+     * Caches the metadata of the given loaded descriptor. Descriptors with a password are ignored.
+     *
+     * @param pages               the number of pages of the document. The descriptor pages are updated asynchronously so they might not be set yet
+     * @param withBookmarksLevels true if the bookmarks levels have been loaded for the descriptor and should be cached
+     */
+    public void put(PdfDocumentDescriptor descriptor, int pages, boolean withBookmarksLevels) {
+        if (!descriptor.hasPassword()) {
+            var file = descriptor.getFile();
+            canonicalPath(file).ifPresent(path -> {
+                var metadata = new CachedPdfMetadata(path, file.length(), file.lastModified(), pages,
+                        descriptor.getVersion(), new HashMap<>(descriptor.getInformationDictionary()),
+                        withBookmarksLevels ? new TreeSet<>(descriptor.getValidBookmarksLevels()) : null);
+                synchronized (cache) {
+                    cache().put(path, metadata);
+                    changed.add(path);
+                }
+            });
+        }
+    }
+
+    /**
+     * Adds the given bookmarks levels to the cached metadata of the given descriptor, if any and still valid. Descriptors with a password are ignored.
+     */
+    public void putBookmarksLevels(PdfDocumentDescriptor descriptor, SortedSet<Integer> bookmarksLevels) {
+        if (!descriptor.hasPassword()) {
+            var file = descriptor.getFile();
+            canonicalPath(file).ifPresent(path -> {
+                synchronized (cache) {
+                    var m = cache().get(path);
+                    if (nonNull(m) && m.isValidFor(file)) {
+                        cache.put(path, new CachedPdfMetadata(m.path(), m.length(), m.lastModified(), m.pages(),
+                                m.version(), m.information(), new TreeSet<>(bookmarksLevels)));
+                        changed.add(path);
+                    }
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            persisted.clear();
+            changed.clear();
+            restored = true;
+        }
+        try {
+            repo.clean();
+        } catch (PersistenceException e) {
+            LOG.error("Unable to clear cached PDF metadata", e);
+        }
+    }
+
+    @EventListener
+    public void onShutdown(ShutdownEvent event) {
+        if (!restored) {
+            LOG.trace("Cached PDF metadata never used, nothing to store");
+            return;
+        }
+        synchronized (cache) {
+            var current = new HashSet<String>();
+            cache.keySet().forEach(path -> current.add(keyFor(path)));
+            var evicted = persisted.stream().filter(k -> !current.contains(k)).toList();
+            if (changed.isEmpty() && evicted.isEmpty()) {
+                LOG.trace("Cached PDF metadata unchanged, nothing to store");
+                return;
+            }
+            LOG.trace("Storing {} cached PDF metadata and removing {}", changed.size(), evicted.size());
+            try {
+                evicted.forEach(repo::delete);
+                changed.stream().map(cache::get).filter(Objects::nonNull).forEach(m -> {
+                    try {
+                        repo.save(keyFor(m.path()), m);
+                    } catch (PersistenceException | IllegalArgumentException e) {
+                        LOG.warn("Unable to store cached PDF metadata for {}", m.path(), e);
+                    }
+                });
+                repo.flush();
+                persisted.clear();
+                persisted.addAll(current);
+                changed.clear();
+            } catch (PersistenceException e) {
+                LOG.error("Error storing cached PDF metadata", e);
+            }
+        }
+    }
+
+    private static Optional<String> canonicalPath(File file) {
+        try {
+            return ofNullable(file.getCanonicalPath());
+        } catch (IOException e) {
+            LOG.trace("Unable to resolve canonical path for {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return a fixed length key for the given path, suitable for backends limiting the key length
+     */
+    static String keyFor(String path) {
+        try {
+            return HexFormat.of()
+                    .formatHex(MessageDigest.getInstance("SHA-256").digest(path.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -26,85 +26,260 @@ import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.PdfRotator;
 import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.pdf.encryption.PdfAccessPermission;
 import org.sejda.model.task.BaseTask;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.sambox.input.IncrementablePDDocument;
+import org.sejda.sambox.output.WriteOption;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static java.util.Objects.nonNull;
+import static org.pdfsam.core.ConfigurableSystemProperty.PDFSAM_ROTATE_PARALLELISM;
 import static org.sejda.commons.util.IOUtils.closeQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
-import static org.sejda.model.util.IOUtils.createTemporaryBuffer;
 
 /**
- * Performs rotations on a bulk of inputs
+ * Performs rotations on a bulk of inputs. Inputs are independent and they are processed concurrently, up to a configurable
+ * parallelism, while progress notifications and output naming stay on the task thread and follow the inputs order. When
+ * requested, outputs are written as incremental updates of the original documents, so that the cost of a rotation
+ * doesn't depend on the size of the documents content.
  * 
  * @author Andrea Vacondio
  */
 public class BulkRotateTask extends BaseTask<BulkRotateParameters> {
 
     private static final Logger LOG = LoggerFactory.getLogger(BulkRotateTask.class);
+    private static final long TERMINATION_TIMEOUT_SECONDS = 10;
 
     private int totalSteps;
-    private PDDocumentHandler documentHandler = null;
     private MultipleOutputWriter outputWriter;
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
+    private PdfSourceOpener<IncrementablePDDocument> incrementalLoader;
+    private ExecutorService executor;
 
     @Override
     public void before(BulkRotateParameters parameters, TaskExecutionContext executionContext) throws TaskException {
         super.before(parameters, executionContext);
         totalSteps = parameters.getInputSet().size();
         documentLoader = new DefaultPdfSourceOpener();
+        incrementalLoader = new IncrementablePdfSourceOpener();
         outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
+        int parallelism = Math.max(1, Math.min(totalSteps,
+                Integer.getInteger(PDFSAM_ROTATE_PARALLELISM, Runtime.getRuntime().availableProcessors())));
+        executor = Executors.newFixedThreadPool(parallelism);
+        LOG.debug("Rotating {} inputs with a parallelism of {}", totalSteps, parallelism);
     }
 
     @Override
     public void execute(BulkRotateParameters parameters) throws TaskException {
-        int currentStep = 0;
-
+        CompletionService<RotatedInput> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<RotatedInput>, PdfRotationInput> submitted = new HashMap<>();
+        // buffers are created on the executor threads but they belong to the task executing on this one
+        Set<File> buffers = TemporaryBuffers.tracked();
+        int fileNumber = 0;
         for (PdfRotationInput input : parameters.getInputSet()) {
-            currentStep++;
-            LOG.debug("Opening {}", input.source);
-            try {
-                executionContext().notifiableTaskMetadata().setCurrentSource(input.source);
-                documentHandler = input.source.open(documentLoader);
-                documentHandler.getPermissions().ensurePermission(PdfAccessPermission.ASSEMBLE);
-                documentHandler.setCreatorOnPDDocument();
-
-                File tmpFile = createTemporaryBuffer(parameters.getOutput());
-                LOG.debug("Created output on temporary buffer {}", tmpFile);
+            int currentFileNumber = ++fileNumber;
+            submitted.put(completion.submit(() -> rotate(input, currentFileNumber, parameters, buffers)), input);
+        }
 
-                PdfRotator rotator = new PdfRotator(documentHandler.getUnderlyingPDDocument());
-                for (Integer page : input.getPages(documentHandler.getNumberOfPages())) {
-                    rotator.rotate(page, input.rotation);
+        List<RotatedInput> rotated = new ArrayList<>(totalSteps);
+        boolean collected = false;
+        try {
+            for (int currentStep = 1; currentStep <= totalSteps; currentStep++) {
+                Future<RotatedInput> done = take(completion);
+                try {
+                    rotated.add(done.get());
+                } catch (ExecutionException e) {
+                    executionContext().notifiableTaskMetadata().setCurrentSource(submitted.get(done).source);
+                    throw unwrap(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new TaskExecutionException("Interrupted while rotating the input documents", e);
                 }
-                documentHandler.setVersionOnPDDocument(parameters.getVersion());
-                documentHandler.setCompress(parameters.isCompress());
-                documentHandler.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
-
-                String outName = nameGenerator(parameters.getOutputPrefix())
-                        .generate(nameRequest().originalName(input.source.getName()).fileNumber(currentStep));
-                outputWriter.addOutput(file(tmpFile).name(outName));
-            } finally {
-                closeQuietly(documentHandler);
+                notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(currentStep)
+                        .outOf(totalSteps);
+            }
+            collected = true;
+        } finally {
+            if (!collected) {
+                discard(submitted.keySet(), buffers);
             }
-
-            notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(currentStep).outOf(totalSteps);
         }
         executionContext().notifiableTaskMetadata().clearCurrentSource();
 
+        rotated.sort(Comparator.comparingInt(RotatedInput::fileNumber));
+        rotated.forEach(r -> outputWriter.addOutput(file(r.tmpFile()).name(r.name())));
         parameters.getOutput().accept(outputWriter);
         LOG.debug("Input documents rotated and written to {}", parameters.getOutput());
     }
 
+    /**
+     * Stops the rotations still pending or running and, once the workers are done, deletes the buffers written by the
+     * ones that completed
+     */
+    private void discard(Collection<Future<RotatedInput>> futures, Set<File> buffers) {
+        futures.forEach(f -> f.cancel(true));
+        shutdown();
+        TemporaryBuffers.delete(buffers);
+    }
+
+    private void shutdown() {
+        executor.shutdownNow();
+        // the caller could have been interrupted, we still want to wait for the workers
+        boolean interrupted = Thread.interrupted();
+        try {
+            if (!executor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("Rotation workers did not terminate in {} seconds", TERMINATION_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Future<RotatedInput> take(CompletionService<RotatedInput> completion) throws TaskException {
+        try {
+            return completion.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskExecutionException("Interrupted while rotating the input documents", e);
+        }
+    }
+
+    private static TaskException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof TaskException taskException) {
+            return taskException;
+        }
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return new TaskExecutionException(e.getCause().getMessage(), e.getCause());
+    }
+
+    private RotatedInput rotate(PdfRotationInput input, int fileNumber, BulkRotateParameters parameters,
+            Set<File> buffers) throws TaskException {
+        File tmpFile = TemporaryBuffers.create(parameters.getOutput(), buffers);
+        LOG.debug("Created output on temporary buffer {}", tmpFile);
+        if (parameters.isIncremental()) {
+            rotateIncremental(input, tmpFile, parameters);
+        } else {
+            rotateAndRewrite(input, tmpFile, parameters);
+        }
+        String outName = nameGenerator(parameters.getOutputPrefix())
+                .generate(nameRequest().originalName(input.source.getName()).fileNumber(fileNumber));
+        return new RotatedInput(fileNumber, tmpFile, outName);
+    }
+
+    private void rotateAndRewrite(PdfRotationInput input, File tmpFile, BulkRotateParameters parameters)
+            throws TaskException {
+        LOG.debug("Opening {}", input.source);
+        PDDocumentHandler documentHandler = null;
+        try {
+            documentHandler = input.source.open(documentLoader);
+            documentHandler.getPermissions().ensurePermission(PdfAccessPermission.ASSEMBLE);
+            documentHandler.setCreatorOnPDDocument();
+
+            PdfRotator rotator = new PdfRotator(documentHandler.getUnderlyingPDDocument());
+            for (Integer page : input.getPages(documentHandler.getNumberOfPages())) {
+                rotator.rotate(page, input.rotation);
+            }
+            documentHandler.setVersionOnPDDocument(parameters.getVersion());
+            documentHandler.setCompress(parameters.isCompress());
+            documentHandler.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
+        } finally {
+            closeQuietly(documentHandler);
+        }
+    }
+
+    /**
+     * Appends to the original document bytes an update section containing only the rotated pages dictionaries, the
+     * content streams are never parsed nor rewritten. Encrypted documents are fully rewritten instead, the same way
+     * the non incremental rotation does, so that the output is not encrypted.
+     */
+    private void rotateIncremental(PdfRotationInput input, File tmpFile, BulkRotateParameters parameters)
+            throws TaskException {
+        LOG.debug("Opening {} for incremental update", input.source);
+        IncrementablePDDocument document = null;
+        try {
+            document = input.source.open(incrementalLoader);
+            PDDocumentHandler documentHandler = new PDDocumentHandler(document.incremented());
+            documentHandler.getPermissions().ensurePermission(PdfAccessPermission.ASSEMBLE);
+            if (nonNull(document.encryptionDictionary())) {
+                LOG.debug("{} is encrypted, falling back to a full rewrite", input.source);
+                documentHandler.setCreatorOnPDDocument();
+                rotatePages(input, documentHandler.getUnderlyingPDDocument(), page -> {
+                });
+                documentHandler.setVersionOnPDDocument(parameters.getVersion());
+                documentHandler.setCompress(parameters.isCompress());
+                documentHandler.savePDDocument(tmpFile, parameters.getOutput().getEncryptionAtRestPolicy());
+                return;
+            }
+            rotatePages(input, document.incremented(), document::modified);
+            if (nonNull(parameters.getVersion())) {
+                document.setVersion(parameters.getVersion().getVersionString());
+            }
+            WriteOption[] options = parameters.isCompress() ?
+                    new WriteOption[] { WriteOption.OBJECT_STREAMS } :
+                    new WriteOption[0];
+            try (OutputStream out = parameters.getOutput().getEncryptionAtRestPolicy()
+                    .encrypt(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                document.writeTo(out, options);
+            }
+        } catch (IOException e) {
+            throw new TaskIOException(String.format("Unable to write the incremental update of %s", input.source), e);
+        } finally {
+            closeQuietly(document);
+        }
+    }
+
+    private static void rotatePages(PdfRotationInput input, PDDocument document, Consumer<PDPage> onRotated) {
+        for (Integer page : input.getPages(document.getNumberOfPages())) {
+            PDPage current = document.getPage(page - 1);
+            PdfRotator.rotate(current, input.rotation);
+            onRotated.accept(current);
+        }
+    }
+
     @Override
     public void after() {
-        closeQuietly(documentHandler);
+        if (nonNull(executor)) {
+            shutdown();
+        }
+    }
+
+    private record RotatedInput(int fileNumber, File tmpFile, String name) {
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.exception.TaskWrongPasswordException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfSource;
+import org.sejda.model.input.PdfSourceOpener;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.input.PdfURLSource;
+import org.sejda.sambox.input.IncrementablePDDocument;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.encryption.InvalidPasswordException;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link PdfSource} as an {@link IncrementablePDDocument} that can be written as an incremental update of the
+ * original document.
+ *
+ * @author Andrea Vacondio
+ */
+class IncrementablePdfSourceOpener implements PdfSourceOpener<IncrementablePDDocument> {
+
+    @Override
+    public IncrementablePDDocument open(PdfURLSource source) throws TaskIOException {
+        return openGeneric(source);
+    }
+
+    @Override
+    public IncrementablePDDocument open(PdfFileSource source) throws TaskIOException {
+        return openGeneric(source);
+    }
+
+    @Override
+    public IncrementablePDDocument open(PdfStreamSource source) throws TaskIOException {
+        return openGeneric(source);
+    }
+
+    private IncrementablePDDocument openGeneric(PdfSource<?> source) throws TaskIOException {
+        try {
+            return PDFParser.parseToIncrement(source.getSeekableSource(), source.getPassword());
+        } catch (InvalidPasswordException e) {
+            throw new TaskWrongPasswordException(
+                    String.format("Unable to open '%s' due to a wrong password.", source.getName()), e);
+        } catch (IOException e) {
+            throw new TaskIOException(String.format("An error occurred opening the source: %s.", source), e);
+        }
+    }
+}
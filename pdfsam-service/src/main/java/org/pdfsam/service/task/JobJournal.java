@@ -0,0 +1,266 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.pdfsam.i18n.I18nContext.i18n;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Append only journal of the requested tasks, where an entry is written when a task is requested and one when it's done.
+ * Every entry is written on its own line and forced to the storage device, so the tasks requested and not done survive
+ * the application exiting or crashing and they can be resumed the next time the application starts. A task is
+ * recorded with the state of the tool that requested it, as it's saved in a workspace. The journal file is deleted
+ * when there are no unfinished tasks left.
+ *
+ * @author Andrea Vacondio
+ */
+public class JobJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(JobJournal.class);
+
+    private final Path file;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final Map<String, Job> unfinished = new LinkedHashMap<>();
+
+    /**
+     * @param file   the journal file, created when the first task is requested
+     * @param mapper mapper used to write and read the journal entries
+     */
+    public JobJournal(Path file, ObjectMapper mapper) {
+        requireNotNullArg(file, "Journal file cannot be null");
+        requireNotNullArg(mapper, "Object mapper cannot be null");
+        this.file = file;
+        this.writer = mapper.writerFor(Entry.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.reader = mapper.readerFor(Entry.class);
+        replay();
+    }
+
+    private JobJournal() {
+        this.file = null;
+        this.writer = null;
+        this.reader = null;
+    }
+
+    /**
+     * @return a journal that doesn't record anything
+     */
+    public static JobJournal disabled() {
+        return new JobJournal();
+    }
+
+    public boolean isEnabled() {
+        return nonNull(file);
+    }
+
+    /**
+     * @return the journal file or an empty {@link Optional} if the journal is disabled
+     */
+    public Optional<Path> file() {
+        return ofNullable(file);
+    }
+
+    /**
+     * Records a task requested by the given tool
+     *
+     * @param toolId the tool that requested the task
+     * @param data   the state of the tool
+     * @return the id of the recorded job or an empty {@link Optional} if the journal is disabled, there's no tool state
+     * to record or the journal couldn't be written
+     */
+    public synchronized Optional<String> submitted(String toolId, Map<String, String> data) {
+        if (!isEnabled() || data.isEmpty()) {
+            return Optional.empty();
+        }
+        var job = new Job(UUID.randomUUID().toString(), toolId, Collections.unmodifiableMap(new HashMap<>(data)),
+                Instant.now());
+        if (append(new Entry(job, null))) {
+            unfinished.put(job.id(), job);
+            return Optional.of(job.id());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Records the job with the given id is done and doesn't have to be resumed
+     */
+    public synchronized void done(String id) {
+        if (isEnabled() && nonNull(id) && nonNull(unfinished.remove(id))) {
+            if (unfinished.isEmpty()) {
+                delete();
+            } else {
+                append(new Entry(null, id));
+            }
+        }
+    }
+
+    /**
+     * @return the recorded jobs that are not done, in submission order
+     */
+    public synchronized List<Job> unfinished() {
+        return List.copyOf(unfinished.values());
+    }
+
+    /**
+     * Forgets all the unfinished jobs
+     */
+    public synchronized void clear() {
+        unfinished.clear();
+        if (isEnabled()) {
+            delete();
+        }
+    }
+
+    private void replay() {
+        if (Files.exists(file)) {
+            var entries = new AtomicInteger();
+            try (var lines = Files.lines(file, UTF_8)) {
+                lines.filter(StringUtils::isNotBlank).forEach(line -> {
+                    entries.incrementAndGet();
+                    replay(line);
+                });
+            } catch (IOException | UncheckedIOException e) {
+                LOG.warn(i18n().tr("Unable to read the jobs journal {0}", file.toString()), e);
+            }
+            LOG.debug("Found {} unfinished jobs in {} journal entries", unfinished.size(), entries.get());
+            if (unfinished.isEmpty()) {
+                delete();
+            } else if (entries.get() > unfinished.size()) {
+                compact();
+            }
+        }
+    }
+
+    private void replay(String line) {
+        try {
+            Entry entry = reader.readValue(line);
+            if (nonNull(entry.submitted())) {
+                unfinished.put(entry.submitted().id(), entry.submitted());
+            } else if (nonNull(entry.done())) {
+                unfinished.remove(entry.done());
+            }
+        } catch (JsonProcessingException e) {
+            // the application died while writing the entry
+            LOG.warn("Skipping unreadable jobs journal entry", e);
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the unfinished jobs, replacing the current journal atomically
+     */
+    private void compact() {
+        var compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (write(compacted, unfinished.values().stream().map(j -> new Entry(j, null)).toList(),
+                    TRUNCATE_EXISTING)) {
+                Files.move(compacted, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to compact the jobs journal", e);
+        }
+    }
+
+    private boolean append(Entry entry) {
+        return write(file, List.of(entry), APPEND);
+    }
+
+    private boolean write(Path destination, Collection<Entry> entries, OpenOption mode) {
+        try {
+            var parent = destination.toAbsolutePath().getParent();
+            if (nonNull(parent)) {
+                Files.createDirectories(parent);
+            }
+            var lines = new ArrayList<String>(entries.size());
+            for (var entry : entries) {
+                lines.add(writer.writeValueAsString(entry));
+            }
+            try (var channel = FileChannel.open(destination, CREATE, WRITE, mode)) {
+                var buffer = ByteBuffer.wrap((String.join("\n", lines) + "\n").getBytes(UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            return true;
+        } catch (IOException e) {
+            LOG.warn(i18n().tr("Unable to write the jobs journal {0}", destination.toString()), e);
+            return false;
+        }
+    }
+
+    private void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn(i18n().tr("Unable to delete the jobs journal {0}", file.toString()), e);
+        }
+    }
+
+    /**
+     * A task requested by a tool
+     *
+     * @param data the state of the tool when the task was requested
+     */
+    public record Job(String id, String toolId,
+                      @JsonInclude(content = JsonInclude.Include.ALWAYS) Map<String, String> data, Instant submitted) {
+    }
+
+    /**
+     * Entry of the journal, either a submitted job or the id of a job that is done
+     */
+    record Entry(Job submitted, String done) {
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.pdfsam.model.task.BulkRotateParameters;
+import org.sejda.model.input.FileSource;
+import org.sejda.model.input.ImageMergeInput;
+import org.sejda.model.input.MergeInput;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.input.TaskSource;
+import org.sejda.model.parameter.BaseMergeParameters;
+import org.sejda.model.parameter.base.AbstractParameters;
+import org.sejda.model.parameter.base.MultiplePdfSourceTaskParameters;
+import org.sejda.model.parameter.base.SinglePdfSourceTaskParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.pdfsam.i18n.I18nContext.i18n;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Manifest of the documents produced by the executed tasks, used to skip a task when it's executed again and nothing
+ * changed since its last execution. A task is identified by a fingerprint of the tool that requested it, the options of
+ * the tool, as they are saved in a workspace, and the path, size and last modified time of each input document. The
+ * documents produced by a task are recorded with their size and last modified time, if they are still there and
+ * untouched when a task with the same fingerprint is requested, the task doesn't need to be executed again.
+ *
+ * @author Andrea Vacondio
+ */
+public class OutputManifest {
+    private static final Logger LOG = LoggerFactory.getLogger(OutputManifest.class);
+    /**
+     * Maximum number of executions recorded, the least recently recorded ones are forgotten first
+     */
+    static final int MAX_ENTRIES = 500;
+
+    private final Path file;
+    private final ObjectWriter writer;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * @param file   the manifest file, created when the first execution is recorded
+     * @param mapper mapper used to write and read the manifest
+     */
+    public OutputManifest(Path file, ObjectMapper mapper) {
+        requireNotNullArg(file, "Manifest file cannot be null");
+        requireNotNullArg(mapper, "Object mapper cannot be null");
+        this.file = file;
+        this.writer = mapper.writerFor(new TypeReference<Map<String, Entry>>() {
+        }).without(SerializationFeature.INDENT_OUTPUT);
+        load(mapper.readerFor(new TypeReference<Map<String, Entry>>() {
+        }));
+    }
+
+    private OutputManifest() {
+        this.file = null;
+        this.writer = null;
+    }
+
+    /**
+     * @return a manifest that doesn't record anything, where tasks are never skipped
+     */
+    public static OutputManifest disabled() {
+        return new OutputManifest();
+    }
+
+    public boolean isEnabled() {
+        return nonNull(file);
+    }
+
+    /**
+     * @param toolId     the tool that requested the task
+     * @param parameters the parameters of the task
+     * @param data       the state of the tool
+     * @return the fingerprint of the task or an empty {@link Optional} if the manifest is disabled, there's no tool state
+     * or some of the input documents are not files
+     */
+    public Optional<String> fingerprint(String toolId, AbstractParameters parameters, Map<String, String> data) {
+        if (!isEnabled() || isNull(parameters) || isNull(data) || data.isEmpty()) {
+            return Optional.empty();
+        }
+        return inputs(parameters).map(inputs -> {
+            var digest = sha256();
+            update(digest, toolId);
+            new TreeMap<>(data).forEach((key, value) -> {
+                update(digest, key);
+                update(digest, value);
+            });
+            inputs.stream().map(File::getAbsoluteFile).map(Output::of).sorted(Comparator.comparing(Output::path))
+                    .forEach(input -> {
+                        update(digest, input.path());
+                        update(digest, Long.toString(input.size()));
+                        update(digest, Long.toString(input.modified()));
+                    });
+            return HexFormat.of().formatHex(digest.digest());
+        });
+    }
+
+    /**
+     * @return the documents produced by the last execution of the task with the given fingerprint, if they all still
+     * exist and are untouched, an empty list otherwise
+     */
+    public synchronized List<File> unchanged(String fingerprint) {
+        var entry = entries.get(fingerprint);
+        if (isEnabled() && nonNull(entry) && entry.outputs().stream().allMatch(Output::isUnchanged)) {
+            return entry.outputs().stream().map(o -> new File(o.path())).toList();
+        }
+        return List.of();
+    }
+
+    /**
+     * Records the documents produced by the execution of the task with the given fingerprint
+     */
+    public synchronized void record(String fingerprint, Collection<File> outputs) {
+        if (isEnabled() && nonNull(fingerprint) && !outputs.isEmpty()) {
+            entries.remove(fingerprint);
+            entries.put(fingerprint, new Entry(outputs.stream().map(Output::of).toList(), Instant.now()));
+            while (entries.size() > MAX_ENTRIES) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+            store();
+        }
+    }
+
+    /**
+     * Forgets all the recorded executions
+     */
+    public synchronized void clear() {
+        entries.clear();
+        if (isEnabled()) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warn(i18n().tr("Unable to delete the outputs manifest {0}", file.toString()), e);
+            }
+        }
+    }
+
+    private void load(ObjectReader reader) {
+        if (Files.exists(file)) {
+            try {
+                Map<String, Entry> recorded = reader.readValue(file.toFile());
+                recorded.entrySet().stream()
+                        .sorted(Map.Entry.comparingByValue(Comparator.comparing(Entry::recorded)))
+                        .forEach(e -> entries.put(e.getKey(), e.getValue()));
+                LOG.debug("Loaded {} entries from the outputs manifest", entries.size());
+            } catch (IOException e) {
+                LOG.warn(i18n().tr("Unable to read the outputs manifest {0}", file.toString()), e);
+            }
+        }
+    }
+
+    /**
+     * Writes the manifest to a temporary file that atomically replaces the current one
+     */
+    private void store() {
+        var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            var parent = file.toAbsolutePath().getParent();
+            if (nonNull(parent)) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(tmp, writer.writeValueAsString(entries), UTF_8);
+            Files.move(tmp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn(i18n().tr("Unable to write the outputs manifest {0}", file.toString()), e);
+        }
+    }
+
+    /**
+     * @return the input files of the task or an empty {@link Optional} if the parameters type is unknown or some of the
+     * inputs is not a file
+     */
+    static Optional<List<File>> inputs(AbstractParameters parameters) {
+        var sources = new ArrayList<TaskSource<?>>();
+        if (parameters instanceof MultiplePdfSourceTaskParameters multiple) {
+            sources.addAll(multiple.getSourceList());
+        } else if (parameters instanceof SinglePdfSourceTaskParameters single) {
+            sources.add(single.getSource());
+        } else if (parameters instanceof BaseMergeParameters<?> merge) {
+            for (MergeInput input : merge.getInputList()) {
+                if (input instanceof PdfMergeInput pdf) {
+                    sources.add(pdf.getSource());
+                } else if (input instanceof ImageMergeInput image) {
+                    sources.add(image.getSource());
+                } else {
+                    return Optional.empty();
+                }
+            }
+        } else if (parameters instanceof BulkRotateParameters rotate) {
+            rotate.getInputSet().forEach(input -> sources.add(input.source));
+        } else {
+            return Optional.empty();
+        }
+        var files = new ArrayList<File>(sources.size());
+        for (var source : sources) {
+            if (source instanceof PdfFileSource pdf) {
+                files.add(pdf.getSource());
+            } else if (source instanceof FileSource image) {
+                files.add(image.getSource());
+            } else {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(files);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(UTF_8));
+        // separator so that adjacent values can't be confused
+        digest.update((byte) 0);
+    }
+
+    /**
+     * A file with its size and last modified time
+     */
+    record Output(String path, long size, long modified) {
+
+        static Output of(File file) {
+            return new Output(file.getAbsolutePath(), file.length(), file.lastModified());
+        }
+
+        boolean isUnchanged() {
+            var file = new File(path);
+            return file.isFile() && file.length() == size && file.lastModified() == modified;
+        }
+    }
+
+    /**
+     * The documents produced by an execution
+     */
+    record Entry(List<Output> outputs, Instant recorded) {
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.task.NotifiableTaskMetadata;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * Limits the rate of the progress events of each task that are forwarded to the UI. The first event of a task and the
+ * ones reporting the work as done are always forwarded, intermediate events exceeding the rate are dropped and
+ * counted.
+ *
+ * @author Andrea Vacondio
+ */
+class ProgressThrottle {
+    private static final BigDecimal DONE = new BigDecimal(100);
+
+    private final long intervalNanos;
+    private final LongSupplier clock;
+    private final Map<UUID, Long> lastForwarded = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param eventsPerSecond
+     *         maximum number of progress events forwarded per second for each task
+     */
+    ProgressThrottle(int eventsPerSecond) {
+        this(eventsPerSecond, System::nanoTime);
+    }
+
+    ProgressThrottle(int eventsPerSecond, LongSupplier clock) {
+        requireArg(eventsPerSecond > 0, "Progress events rate must be a positive number");
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / eventsPerSecond;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if the event should be forwarded, false if it should be dropped
+     */
+    boolean accept(PercentageOfWorkDoneChangedEvent event) {
+        var taskId = ofNullable(event.getNotifiableTaskMetadata()).map(NotifiableTaskMetadata::getTaskIdentifier)
+                .orElse(null);
+        if (isNull(taskId)) {
+            return true;
+        }
+        var now = clock.getAsLong();
+        var last = lastForwarded.get(taskId);
+        if (isNull(last) || now - last >= intervalNanos || isDone(event)) {
+            lastForwarded.put(taskId, now);
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private static boolean isDone(PercentageOfWorkDoneChangedEvent event) {
+        return !event.isUndetermined() && event.getPercentage().compareTo(DONE) >= 0;
+    }
+
+    /**
+     * Releases the state kept for the given task
+     */
+    void ended(UUID taskId) {
+        if (nonNull(taskId)) {
+            lastForwarded.remove(taskId);
+        }
+    }
+
+    /**
+     * @return the number of progress events dropped so far
+     */
+    long dropped() {
+        return dropped.sum();
+    }
+}
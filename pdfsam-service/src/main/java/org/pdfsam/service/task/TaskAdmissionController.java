@@ -0,0 +1,210 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import org.pdfsam.model.task.BulkRotateParameters;
+import org.pdfsam.service.pdf.CachedPdfMetadata;
+import org.pdfsam.service.pdf.PdfMetadataCache;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.input.PdfSource;
+import org.sejda.model.parameter.BaseMergeParameters;
+import org.sejda.model.parameter.base.MultiplePdfSourceTaskParameters;
+import org.sejda.model.parameter.base.SinglePdfSourceTaskParameters;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static java.util.Optional.ofNullable;
+import static org.pdfsam.core.ConfigurableSystemProperty.PDFSAM_TASK_MEMORY_BUDGET;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * Admission control for task executions based on a memory budget. The footprint of a task is estimated from the size and
+ * the number of pages of its input documents and tasks are admitted, in the order they asked, as long as the sum of the
+ * footprints of the running tasks fits the budget. A task whose footprint alone exceeds the budget is admitted only when
+ * no other task is running.
+ *
+ * @author Andrea Vacondio
+ */
+public class TaskAdmissionController {
+    private static final Logger LOG = LoggerFactory.getLogger(TaskAdmissionController.class);
+
+    static final int DEFAULT_BUDGET_PERCENTAGE = 60;
+    /**
+     * rough estimate of the heap used by the objects of a parsed page
+     */
+    static final long PAGE_FOOTPRINT = 64 * 1024;
+    /**
+     * rough estimate of the heap used by a document for each byte of its file, when the number of pages is not known
+     */
+    static final int FILE_FOOTPRINT_FACTOR = 2;
+
+    private final PdfMetadataCache cache;
+    private final long budget;
+    private final Deque<Object> waiting = new ArrayDeque<>();
+    private final AtomicLong used = new AtomicLong();
+    private final ReadOnlyDoubleWrapper published = new ReadOnlyDoubleWrapper(0);
+    private final AtomicBoolean publishing = new AtomicBoolean();
+    private int running;
+
+    public TaskAdmissionController(PdfMetadataCache cache) {
+        this(cache, Runtime.getRuntime().maxMemory() / 100 * budgetPercentage());
+    }
+
+    /**
+     * @param cache
+     *         used to get the number of pages of the input documents. Can be null.
+     * @param budget
+     *         the memory budget in bytes
+     */
+    TaskAdmissionController(PdfMetadataCache cache, long budget) {
+        requireArg(budget > 0, "Memory budget must be a positive number");
+        this.cache = cache;
+        this.budget = budget;
+        LOG.debug("Tasks memory budget set to {} bytes", budget);
+    }
+
+    private static int budgetPercentage() {
+        int percentage = Integer.getInteger(PDFSAM_TASK_MEMORY_BUDGET, DEFAULT_BUDGET_PERCENTAGE);
+        requireArg(percentage > 0 && percentage <= 100, "Memory budget must be a percentage of the maximum heap");
+        return percentage;
+    }
+
+    /**
+     * @return the estimated heap footprint in bytes of the task with the given parameters
+     */
+    public long estimate(TaskParameters parameters) {
+        return sources(parameters).filter(s -> s.getSource() instanceof File).mapToLong(s -> {
+            var file = (File) s.getSource();
+            return ofNullable(cache).flatMap(c -> c.get(file)).map(CachedPdfMetadata::pages).filter(p -> p > 0)
+                    .map(p -> file.length() + p * PAGE_FOOTPRINT).orElseGet(() -> file.length() * FILE_FOOTPRINT_FACTOR);
+        }).sum();
+    }
+
+    private static Stream<? extends PdfSource<?>> sources(TaskParameters parameters) {
+        if (parameters instanceof BaseMergeParameters<?> merge) {
+            return merge.getPdfInputList().stream().map(PdfMergeInput::getSource);
+        }
+        if (parameters instanceof MultiplePdfSourceTaskParameters multiple) {
+            return multiple.getSourceList().stream();
+        }
+        if (parameters instanceof SinglePdfSourceTaskParameters single) {
+            return Stream.ofNullable(single.getSource());
+        }
+        if (parameters instanceof BulkRotateParameters rotate) {
+            return rotate.getInputSet().stream().map(i -> i.source);
+        }
+        return Stream.empty();
+    }
+
+    /**
+     * Blocks until a task with the given footprint can be admitted. Tasks are admitted in the order they called this method.
+     *
+     * @param footprint
+     *         the estimated footprint of the task
+     * @throws InterruptedException
+     *         if the thread is interrupted while waiting, in which case the task is not admitted
+     */
+    public void acquire(long footprint) throws InterruptedException {
+        admit(footprint);
+        publishUsage();
+    }
+
+    private synchronized void admit(long footprint) throws InterruptedException {
+        var ticket = new Object();
+        waiting.addLast(ticket);
+        try {
+            while (waiting.peekFirst() != ticket || (running > 0 && used.get() + footprint > budget)) {
+                LOG.trace("Task with an estimated footprint of {} bytes waiting for admission", footprint);
+                wait();
+            }
+        } finally {
+            waiting.remove(ticket);
+            notifyAll();
+        }
+        running++;
+        used.addAndGet(footprint);
+    }
+
+    /**
+     * Releases the footprint of a task that was admitted and is now done
+     */
+    public void release(long footprint) {
+        synchronized (this) {
+            running--;
+            used.addAndGet(-footprint);
+            notifyAll();
+        }
+        publishUsage();
+    }
+
+    /**
+     * Publishes the current usage to the JavaFX thread, coalescing the changes happening before the JavaFX thread picks it up. It's called
+     * outside the monitor and it's a no-op when the toolkit is not running, so admission never depends on it.
+     */
+    private void publishUsage() {
+        if (publishing.compareAndSet(false, true)) {
+            try {
+                Platform.runLater(() -> {
+                    publishing.set(false);
+                    published.set(usage());
+                });
+            } catch (IllegalStateException e) {
+                publishing.set(false);
+                LOG.trace("JavaFX toolkit not available, tasks memory budget usage not published");
+            }
+        }
+    }
+
+    /**
+     * @return the fraction of the memory budget used by the running tasks. It can be greater than 1 when a task whose
+     * footprint exceeds the budget is running. It can be called from any thread.
+     */
+    public double usage() {
+        return (double) used.get() / budget;
+    }
+
+    /**
+     * @return a read only property with the fraction of the memory budget used by the running tasks. Updated on the JavaFX thread.
+     */
+    public ReadOnlyDoubleProperty usageProperty() {
+        return published.getReadOnlyProperty();
+    }
+
+    public long budget() {
+        return budget;
+    }
+
+    /**
+     * @return true if some task is waiting to be admitted
+     */
+    public synchronized boolean hasQueuedTasks() {
+        return !waiting.isEmpty();
+    }
+}
@@ -20,10 +20,12 @@ package org.pdfsam.service.task;
 
 import jakarta.inject.Inject;
 import javafx.application.Platform;
-import org.apache.commons.lang3.StringUtils;
 import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.injector.Auto;
+import org.pdfsam.model.lifecycle.CleanupRequest;
 import org.pdfsam.model.lifecycle.ShutdownEvent;
+import org.pdfsam.model.tool.TaskCancellationRequest;
+import org.pdfsam.model.tool.TaskCancelledException;
 import org.pdfsam.model.tool.TaskExecutionRequest;
 import org.pdfsam.service.tool.UsageService;
 import org.sejda.core.notification.context.GlobalNotificationContext;
@@ -33,34 +35,106 @@ import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
 import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
 import org.sejda.model.notification.event.TaskExecutionFailedEvent;
 import org.sejda.model.notification.event.TaskExecutionStartedEvent;
+import org.sejda.model.parameter.base.AbstractParameters;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.pdfsam.core.ConfigurableSystemProperty.PDFSAM_PROGRESS_RATE;
+import static org.pdfsam.core.ConfigurableSystemProperty.PDFSAM_TASK_CONCURRENCY;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 import static org.pdfsam.i18n.I18nContext.i18n;
+import static org.sejda.commons.util.RequireUtils.requireArg;
 
 /**
- * Component listening for {@link TaskExecutionRequest} and triggering the actual execution
+ * Component listening for {@link TaskExecutionRequest} and triggering the actual execution. Tasks are executed concurrently,
+ * up to a configurable limit, each with its own identity, and the notification events of each task are routed to the tool
+ * that requested it. The tasks requested by a tool can be cancelled by that tool. Progress events are rate limited for each
+ * task so that a task notifying many small steps doesn't flood the UI thread. Requested tasks are recorded in the
+ * {@link JobJournal} until they are done, so they can be resumed if the application exits before. A requested task whose
+ * inputs and options didn't change since its last execution, and whose produced documents are still untouched, is skipped
+ * according to the {@link OutputManifest}.
  *
  * @author Andrea Vacondio
  */
 @Auto
 public class TaskExecutionController {
     private static final Logger LOG = LoggerFactory.getLogger(TaskExecutionController.class);
+    /**
+     * Default maximum number of progress events per second of each task that are broadcast to the UI
+     */
+    static final int DEFAULT_PROGRESS_RATE = 10;
 
     private final TaskExecutionService executionService;
     private final UsageService usageService;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
-    private String currentModule = StringUtils.EMPTY;
+    private final TaskAdmissionController admission;
+    private final ExecutorService executor;
+    private final ThreadLocal<Execution> executing = new ThreadLocal<>();
+    private final Map<UUID, String> tasks = new ConcurrentHashMap<>();
+    private final AtomicLong executionIds = new AtomicLong();
+    private final Map<Long, Execution> executions = new ConcurrentHashMap<>();
+    private final ProgressThrottle progress;
+    private final JobJournal journal;
+    private final OutputManifest manifest;
 
-    @Inject
+    /**
+     * Creates a controller without any memory budget, where tasks are only limited by the concurrency
+     */
     public TaskExecutionController(TaskExecutionService executionService, UsageService usageService) {
+        this(executionService, usageService, new TaskAdmissionController(null, Long.MAX_VALUE),
+                JobJournal.disabled(), OutputManifest.disabled());
+    }
+
+    @Inject
+    public TaskExecutionController(TaskExecutionService executionService, UsageService usageService,
+            TaskAdmissionController admission, JobJournal journal, OutputManifest manifest) {
+        this(executionService, usageService, admission, journal, manifest, Integer.getInteger(PDFSAM_TASK_CONCURRENCY,
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+    }
+
+    TaskExecutionController(TaskExecutionService executionService, UsageService usageService,
+            TaskAdmissionController admission, int concurrency) {
+        this(executionService, usageService, admission, JobJournal.disabled(), OutputManifest.disabled(),
+                concurrency);
+    }
+
+    /**
+     * @param admission
+     *         controls which of the requested tasks can be executed according to the memory budget
+     * @param journal
+     *         where requested tasks are recorded until they are done
+     * @param manifest
+     *         where the documents produced by the executed tasks are recorded
+     * @param concurrency
+     *         maximum number of tasks that can be executed at the same time
+     */
+    TaskExecutionController(TaskExecutionService executionService, UsageService usageService,
+            TaskAdmissionController admission, JobJournal journal, OutputManifest manifest, int concurrency) {
+        requireArg(concurrency > 0, "Tasks concurrency must be a positive number");
         this.executionService = executionService;
         this.usageService = usageService;
+        this.admission = admission;
+        this.journal = journal;
+        this.manifest = manifest;
+        this.executor = Executors.newFixedThreadPool(concurrency);
+        LOG.debug("Tasks concurrency set to {}", concurrency);
+        this.progress = new ProgressThrottle(Integer.getInteger(PDFSAM_PROGRESS_RATE, DEFAULT_PROGRESS_RATE));
         eventStudio().addAnnotatedListeners(this);
         GlobalNotificationContext.getContext()
                 .addListener(TaskExecutionFailedEvent.class, new TaskEventBroadcaster<>());
@@ -84,24 +158,274 @@ public class TaskExecutionController {
     public void request(TaskExecutionRequest event) {
         LOG.trace("Task execution request received");
         usageService.incrementUsageFor(event.toolId());
-        currentModule = event.toolId();
-        executor.execute(() -> executionService.execute(event.parameters()));
+        var execution = new Execution(executionIds.incrementAndGet(), event.toolId(),
+                journal.submitted(event.toolId(), event.data()).orElse(null));
+        executions.put(execution.id, execution);
+        executor.execute(() -> execute(execution, event.parameters(),
+                () -> runIncremental(execution, event.parameters(), event.data())));
         LOG.trace("Task execution submitted");
     }
 
+    /**
+     * Executes the given task once admitted, unless cancelled
+     *
+     * @param parameters
+     *         the parameters used to estimate the memory footprint of the task
+     */
+    private void execute(Execution execution, AbstractParameters parameters, Runnable task) {
+        var footprint = admission.estimate(parameters);
+        try {
+            if (!execution.admitting(Thread.currentThread())) {
+                cancelled(execution);
+                return;
+            }
+            admission.acquire(footprint);
+        } catch (InterruptedException e) {
+            LOG.debug("Interrupted while waiting for the task to be admitted");
+            if (execution.admitted()) {
+                Thread.currentThread().interrupt();
+                executions.remove(execution.id);
+            } else {
+                cancelled(execution);
+            }
+            return;
+        }
+        try {
+            if (!execution.admitted()) {
+                cancelled(execution);
+                return;
+            }
+            executing.set(execution);
+            TemporaryBuffers.track(execution.buffers);
+            task.run();
+        } finally {
+            executing.remove();
+            TemporaryBuffers.untrack();
+            admission.release(footprint);
+            executions.remove(execution.id);
+            // a task interrupted by the application exiting is resumed the next time
+            if (!executor.isShutdown()) {
+                journal.done(execution.jobId);
+            }
+            if (execution.aborted) {
+                TemporaryBuffers.delete(execution.buffers);
+            }
+        }
+    }
+
+    /**
+     * Executes the task unless the documents it produced the last time it was executed, with the same inputs and
+     * options, are still there and untouched. In that case the task completes right away and those documents are
+     * notified as skipped, as it happens for existing documents when the task is asked to skip them.
+     */
+    private void runIncremental(Execution execution, AbstractParameters parameters, Map<String, String> data) {
+        var fingerprint = manifest.fingerprint(execution.toolId, parameters, data);
+        if (fingerprint.isEmpty()) {
+            executionService.execute(parameters);
+            return;
+        }
+        var unchanged = manifest.unchanged(fingerprint.get());
+        if (!unchanged.isEmpty()) {
+            LOG.info(i18n().tr("Inputs and options did not change since the last execution, skipping the task"));
+            var metadata = new NotifiableTaskMetadata(new UnchangedTask());
+            unchanged.forEach(metadata::addSkippedOutput);
+            GlobalNotificationContext.getContext().notifyListeners(new TaskExecutionCompletedEvent(0, metadata));
+            return;
+        }
+        executionService.execute(parameters);
+        if (!execution.failed) {
+            manifest.record(fingerprint.get(), execution.produced);
+        }
+    }
+
+    /**
+     * Cancels the tasks requested by the given tool. A task that is waiting to be executed is discarded, a running task
+     * is aborted the next time it notifies its progress.
+     *
+     * @param toolId
+     * @return true if a task requested by the given tool was found
+     */
+    public boolean cancel(String toolId) {
+        var found = false;
+        for (var execution : executions.values()) {
+            if (execution.toolId.equals(toolId)) {
+                LOG.debug("Cancelling task {} requested by {}", execution.id, toolId);
+                execution.cancel();
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    @EventListener
+    public void onCancellationRequest(TaskCancellationRequest event) {
+        cancel(event.toolId());
+    }
+
+    private void cancelled(Execution execution) {
+        executions.remove(execution.id);
+        journal.done(execution.jobId);
+        LOG.info(i18n().tr("Task cancelled"));
+        failed(execution, new TaskCancelledException());
+    }
+
+    /**
+     * Notifies a failure that happened outside the task execution
+     */
+    private void failed(Execution execution, Exception cause) {
+        var event = new TaskExecutionFailedEvent(cause, NotifiableTaskMetadata.NULL);
+        Platform.runLater(() -> eventStudio().broadcast(event));
+        Platform.runLater(() -> eventStudio().broadcast(event, execution.toolId));
+    }
+
+    @EventListener
+    public void onCleanupRequest(CleanupRequest event) {
+        manifest.clear();
+    }
+
     @EventListener
     public void onShutdown(ShutdownEvent event) {
         executor.shutdownNow();
     }
 
+    /**
+     * @return the id of the tool that requested the task the event belongs to. Notifications are synchronous so the task
+     * identifier is bound to the tool when the first event is notified on the executing thread and unbound when the task
+     * completes or fails.
+     */
+    private String toolFor(AbstractNotificationEvent event) {
+        var executing = ofNullable(this.executing.get()).map(e -> e.toolId).orElse(null);
+        var taskId = taskIdOf(event);
+        if (isNull(taskId)) {
+            return executing;
+        }
+        if (event instanceof TaskExecutionCompletedEvent || event instanceof TaskExecutionFailedEvent) {
+            return ofNullable(tasks.remove(taskId)).orElse(executing);
+        }
+        if (nonNull(executing)) {
+            tasks.putIfAbsent(taskId, executing);
+        }
+        return tasks.get(taskId);
+    }
+
+    private static UUID taskIdOf(AbstractNotificationEvent event) {
+        return ofNullable(event.getNotifiableTaskMetadata()).map(NotifiableTaskMetadata::getTaskIdentifier)
+                .orElse(null);
+    }
+
+    /**
+     * Aborts the task running on the current thread, if its cancellation has been requested. This is called when the
+     * task notifies it started or its progress, so the task is interrupted between two steps and fails with a
+     * {@link TaskCancelledException}.
+     */
+    private void abortIfCancelled(AbstractNotificationEvent event) {
+        var execution = executing.get();
+        if (nonNull(execution) && execution.cancelled && (event instanceof TaskExecutionStartedEvent
+                || event instanceof PercentageOfWorkDoneChangedEvent)) {
+            execution.aborted = true;
+            throw new TaskCancelledException();
+        }
+    }
+
     class TaskEventBroadcaster<T extends AbstractNotificationEvent>
             implements org.sejda.model.notification.EventListener<T> {
 
         @Override
         public void onEvent(T event) {
-            Platform.runLater(() -> eventStudio().broadcast(event));
-            if (isNotBlank(currentModule)) {
-                Platform.runLater(() -> eventStudio().broadcast(event, currentModule));
+            abortIfCancelled(event);
+            var execution = executing.get();
+            if (nonNull(execution)) {
+                execution.notified(event);
+            }
+            if (event instanceof PercentageOfWorkDoneChangedEvent percentage && !progress.accept(percentage)) {
+                return;
+            }
+            var toolId = toolFor(event);
+            if (event instanceof TaskExecutionCompletedEvent || event instanceof TaskExecutionFailedEvent) {
+                progress.ended(taskIdOf(event));
+                LOG.trace("{} progress events dropped so far", progress.dropped());
+            }
+            Platform.runLater(() -> {
+                eventStudio().broadcast(event);
+                if (isNotBlank(toolId)) {
+                    eventStudio().broadcast(event, toolId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Task whose execution is skipped because its inputs and options didn't change since the last execution
+     */
+    private static class UnchangedTask implements Task<AbstractParameters> {
+
+        @Override
+        public void before(AbstractParameters parameters, TaskExecutionContext executionContext) {
+            // nothing
+        }
+
+        @Override
+        public void execute(AbstractParameters parameters) {
+            // nothing
+        }
+
+        @Override
+        public void after() {
+            // nothing
+        }
+    }
+
+    /**
+     * Execution of a requested task, from the request to its completion
+     */
+    private static class Execution {
+        private final long id;
+        private final String toolId;
+        private final String jobId;
+        private volatile boolean cancelled = false;
+        private volatile boolean aborted = false;
+        private final Set<File> buffers = ConcurrentHashMap.newKeySet();
+        private Thread waiting;
+        private volatile boolean failed = false;
+        private volatile List<File> produced = List.of();
+
+        Execution(long id, String toolId, String jobId) {
+            this.id = id;
+            this.toolId = toolId;
+            this.jobId = jobId;
+        }
+
+        /**
+         * @return false if the execution has been cancelled before waiting for admission
+         */
+        synchronized boolean admitting(Thread thread) {
+            this.waiting = thread;
+            return !cancelled;
+        }
+
+        /**
+         * @return true if the execution has been admitted and can start, false if it has been cancelled
+         */
+        synchronized boolean admitted() {
+            this.waiting = null;
+            // clears an interrupt that could have been sent while admission was granted
+            Thread.interrupted();
+            return !cancelled;
+        }
+
+        synchronized void cancel() {
+            this.cancelled = true;
+            if (nonNull(waiting)) {
+                waiting.interrupt();
+            }
+        }
+
+        void notified(AbstractNotificationEvent event) {
+            if (event instanceof TaskExecutionFailedEvent) {
+                failed = true;
+            }
+            if (event instanceof TaskExecutionCompletedEvent) {
+                produced = List.copyOf(event.getNotifiableTaskMetadata().taskOutput());
             }
         }
     }
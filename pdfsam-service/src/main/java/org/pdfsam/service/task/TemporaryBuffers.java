@@ -0,0 +1,141 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.output.TaskOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Optional.ofNullable;
+import static org.pdfsam.core.ConfigurableSystemProperty.TMP_BUFFER_DIRECTORY_PROP;
+import static org.sejda.model.util.IOUtils.TMP_BUFFER_PREFIX_PROPERTY_NAME;
+import static org.sejda.model.util.IOUtils.createTemporaryBuffer;
+
+/**
+ * Creates temporary buffers in the configured directory and keeps track of the buffers created by the task executing on
+ * the current thread, so that they can be deleted if the task doesn't complete. Buffers created by Sejda itself cannot be
+ * attributed to a task and are left to the deleteOnExit Sejda registers them with.
+ *
+ * @author Andrea Vacondio
+ */
+final class TemporaryBuffers {
+    private static final Logger LOG = LoggerFactory.getLogger(TemporaryBuffers.class);
+
+    private static final ThreadLocal<Set<File>> TRACKED = new ThreadLocal<>();
+
+    private TemporaryBuffers() {
+        // hide
+    }
+
+    /**
+     * Tracks in the given set the buffers created for the task executing on the current thread, until {@link #untrack()}
+     */
+    static void track(Set<File> buffers) {
+        TRACKED.set(buffers);
+    }
+
+    static void untrack() {
+        TRACKED.remove();
+    }
+
+    /**
+     * @return the set where the buffers of the task executing on the current thread are tracked. Tasks creating buffers
+     * from other threads should get it on the task thread and pass it to {@link #create(TaskOutput, Set)}. A new set, not
+     * tracked by anyone, if no task is executing on the current thread.
+     */
+    static Set<File> tracked() {
+        return ofNullable(TRACKED.get()).orElseGet(ConcurrentHashMap::newKeySet);
+    }
+
+    /**
+     * @return the directory configured for the temporary buffers, if it's an existing writable directory
+     */
+    static Optional<Path> directory() {
+        return ofNullable(System.getProperty(TMP_BUFFER_DIRECTORY_PROP)).filter(StringUtils::isNotBlank).map(Paths::get)
+                .filter(Files::isDirectory).filter(Files::isWritable);
+    }
+
+    /**
+     * @return a new temporary buffer for the task executing on the current thread
+     * @see #create(TaskOutput, Set)
+     */
+    static File create(TaskOutput output) throws TaskIOException {
+        return create(output, tracked());
+    }
+
+    /**
+     * @param buffers
+     *         where the created buffer is tracked
+     * @return a new temporary buffer in the configured directory or, if no directory is configured, next to the given
+     * output, so it can be moved to its destination with a rename
+     */
+    static File create(TaskOutput output, Set<File> buffers) throws TaskIOException {
+        var buffer = newBuffer(output);
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    private static File newBuffer(TaskOutput output) throws TaskIOException {
+        var directory = directory();
+        if (directory.isPresent()) {
+            try {
+                var buffer = Files.createTempFile(directory.get(), prefix(), ".tmp").toFile();
+                buffer.deleteOnExit();
+                return buffer;
+            } catch (IOException e) {
+                throw new TaskIOException("Unable to create temporary buffer in " + directory.get(), e);
+            }
+        }
+        return createTemporaryBuffer(output);
+    }
+
+    static String prefix() {
+        return System.getProperty(TMP_BUFFER_PREFIX_PROPERTY_NAME, "sejdaTmp");
+    }
+
+    /**
+     * Deletes the given buffers, the ones that have already been moved to their destination are not there anymore and
+     * are ignored
+     */
+    static void delete(Collection<File> buffers) {
+        buffers.stream().map(File::toPath).forEach(TemporaryBuffers::delete);
+    }
+
+    private static void delete(Path file) {
+        try {
+            if (Files.deleteIfExists(file)) {
+                LOG.debug("Deleted temporary buffer {}", file);
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to delete temporary buffer " + file, e);
+        }
+    }
+}
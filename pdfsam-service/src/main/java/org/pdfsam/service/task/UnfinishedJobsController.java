@@ -0,0 +1,110 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import jakarta.inject.Inject;
+import org.pdfsam.core.support.params.WorkspaceParametersFactory;
+import org.pdfsam.eventstudio.annotation.EventListener;
+import org.pdfsam.injector.Auto;
+import org.pdfsam.model.lifecycle.CleanupRequest;
+import org.pdfsam.model.lifecycle.StartupEvent;
+import org.pdfsam.model.tool.DiscardUnfinishedJobsRequest;
+import org.pdfsam.model.tool.ResumeUnfinishedJobsRequest;
+import org.pdfsam.model.tool.TaskExecutionRequest;
+import org.pdfsam.model.tool.UnfinishedJobsEvent;
+import org.pdfsam.model.ui.workspace.LoadWorkspaceResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toMap;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+import static org.pdfsam.i18n.I18nContext.i18n;
+
+/**
+ * Component dealing with the jobs that didn't complete the last time the application was running, as recorded in the
+ * {@link JobJournal}. On resume, the state of each tool is restored and, for those tools that can create their
+ * parameters without the UI, the task is requested again.
+ *
+ * @author Andrea Vacondio
+ */
+@Auto
+public class UnfinishedJobsController {
+    private static final Logger LOG = LoggerFactory.getLogger(UnfinishedJobsController.class);
+
+    private final JobJournal journal;
+    private final Map<String, WorkspaceParametersFactory> factories;
+
+    @Inject
+    public UnfinishedJobsController(JobJournal journal) {
+        this(journal, ServiceLoader.load(WorkspaceParametersFactory.class).stream().map(ServiceLoader.Provider::get)
+                .toList());
+    }
+
+    UnfinishedJobsController(JobJournal journal, Collection<WorkspaceParametersFactory> factories) {
+        this.journal = journal;
+        this.factories = factories.stream()
+                .collect(toMap(WorkspaceParametersFactory::toolId, Function.identity(), (a, b) -> a));
+        eventStudio().addAnnotatedListeners(this);
+    }
+
+    @EventListener
+    public void onStartup(StartupEvent event) {
+        var unfinished = journal.unfinished();
+        if (!unfinished.isEmpty()) {
+            LOG.info(i18n().tr("Found {0} tasks that did not complete", Integer.toString(unfinished.size())));
+            eventStudio().broadcast(new UnfinishedJobsEvent(unfinished.size()));
+        }
+    }
+
+    @EventListener
+    public void onResume(ResumeUnfinishedJobsRequest request) {
+        journal.file().ifPresent(file -> journal.unfinished().forEach(job -> {
+            journal.done(job.id());
+            var data = new HashMap<String, Map<String, String>>();
+            data.put(job.toolId(), new HashMap<>(job.data()));
+            eventStudio().broadcast(new LoadWorkspaceResponse(file.toFile(), data), job.toolId());
+            ofNullable(factories.get(job.toolId())).ifPresent(factory -> {
+                try {
+                    factory.create(job.data()).ifPresent(parameters -> eventStudio().broadcast(
+                            new TaskExecutionRequest(job.toolId(), parameters, job.data())));
+                } catch (IllegalArgumentException e) {
+                    LOG.warn(i18n().tr("Unable to resume the task of {0}", job.toolId()), e);
+                }
+            });
+        }));
+    }
+
+    @EventListener
+    public void onDiscard(DiscardUnfinishedJobsRequest request) {
+        LOG.debug("Discarding unfinished jobs");
+        journal.clear();
+    }
+
+    @EventListener
+    public void onCleanupRequest(CleanupRequest request) {
+        journal.clear();
+    }
+}
@@ -20,54 +20,172 @@ package org.pdfsam.service.tool;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import org.pdfsam.eventstudio.annotation.EventListener;
+import org.pdfsam.model.lifecycle.ShutdownEvent;
 import org.pdfsam.persistence.DefaultEntityRepository;
 import org.pdfsam.persistence.PersistenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toUnmodifiableMap;
+import static org.apache.commons.lang3.StringUtils.startsWith;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
 /**
+ * {@link UsageService} counting the usages of each tool in memory, where counts are incremented without locking and read
+ * without touching the persistence layer. Counts are loaded once and persisted periodically and when the application shuts down.
+ *
  * @author Andrea Vacondio
  */
 public class DefaultUsageService implements UsageService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultUsageService.class);
-    static final String TOOL_USAGE_KEY = "module.usage";
+    static final String TOOL_USAGE_PREFIX = "module.usage.";
     static final String TASKS_EXECUTED_KEY = "tasks.executed";
+    /**
+     * Default seconds between two writes of the counts
+     */
+    static final long DEFAULT_FLUSH_PERIOD = 60;
+
     private final DefaultEntityRepository<ToolUsage> repo;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
 
     @Inject
     DefaultUsageService(@Named("usageRepository") DefaultEntityRepository<ToolUsage> repo) {
+        this(repo, DEFAULT_FLUSH_PERIOD);
+    }
+
+    /**
+     * @param period seconds between two writes of the counts
+     */
+    DefaultUsageService(DefaultEntityRepository<ToolUsage> repo, long period) {
+        requireArg(period > 0, "Flush period must be a positive number");
         this.repo = repo;
+        load();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "usage-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushIfDirty, period, period, TimeUnit.SECONDS);
+        eventStudio().addAnnotatedListeners(this);
     }
 
-    @Override
-    public void incrementUsageFor(String moduleId) {
+    private void load() {
         try {
-            var usage = repo.get(TOOL_USAGE_KEY, new ToolUsage(moduleId)).inc();
-            repo.save(TOOL_USAGE_KEY, usage);
-            LOG.trace("Usage incremented for tool {}", moduleId);
+            total.add(repo.getLong(TASKS_EXECUTED_KEY, 0));
+            for (var key : repo.keys()) {
+                if (startsWith(key, TOOL_USAGE_PREFIX)) {
+                    repo.get(key).ifPresent(usage -> {
+                        var counter = counter(key.substring(TOOL_USAGE_PREFIX.length()));
+                        counter.count.add(usage.getTotalUsed());
+                        counter.lastSeen = usage.getLastSeen();
+                    });
+                }
+            }
         } catch (PersistenceException e) {
-            LOG.error("Unable to increment tools usage statistics", e);
-        } finally {
-            incrementTotalUsage();
+            LOG.error("Unable to load tools usage statistics", e);
         }
     }
 
+    @Override
+    public void incrementUsageFor(String moduleId) {
+        var counter = counter(moduleId);
+        counter.count.increment();
+        counter.lastSeen = System.currentTimeMillis();
+        total.increment();
+        dirty.set(true);
+        LOG.trace("Usage incremented for tool {}", moduleId);
+    }
+
+    private Counter counter(String toolId) {
+        return counters.computeIfAbsent(toolId, k -> new Counter());
+    }
+
+    @Override
+    public long getUsages(String toolId) {
+        return ofNullable(counters.get(toolId)).map(c -> c.count.sum()).orElse(0L);
+    }
+
+    @Override
+    public Map<String, Long> getUsages() {
+        return counters.entrySet().stream()
+                .collect(toUnmodifiableMap(Map.Entry::getKey, e -> e.getValue().count.sum()));
+    }
+
     @Override
     public void clear() {
         try {
+            counters.clear();
+            total.reset();
+            dirty.set(false);
             this.repo.clean();
         } catch (PersistenceException e) {
             LOG.error("Unable to clear latest news store", e);
         }
     }
 
+    @EventListener
+    public void onShutdown(ShutdownEvent event) {
+        LOG.trace("Flushing tools usage statistics");
+        flusher.shutdownNow();
+        flush();
+    }
+
+    /**
+     * Writes the usage statistics not yet persisted
+     */
+    void flush() {
+        try {
+            write();
+            this.repo.flush();
+        } catch (PersistenceException e) {
+            LOG.error("Unable to store tools usage statistics", e);
+        }
+    }
+
+    private void flushIfDirty() {
+        if (dirty.get()) {
+            flush();
+        }
+    }
+
+    private void write() {
+        if (dirty.getAndSet(false)) {
+            counters.forEach((toolId, counter) -> {
+                var usage = new ToolUsage(toolId);
+                usage.setTotalUsed(counter.count.sum());
+                usage.setLastSeen(counter.lastSeen);
+                repo.save(TOOL_USAGE_PREFIX + toolId, usage);
+            });
+            repo.saveLong(TASKS_EXECUTED_KEY, total.sum());
+            LOG.trace("Tools usage statistics written");
+        }
+    }
+
     @Override
     public long getTotalUsages() {
-        return repo.getLong(TASKS_EXECUTED_KEY, 0);
+        return total.sum();
     }
 
-    private void incrementTotalUsage() {
-        repo.saveLong(TASKS_EXECUTED_KEY, repo.getLong(TASKS_EXECUTED_KEY, 0) + 1);
+    /**
+     * Usages of a tool
+     */
+    private static class Counter {
+        private final LongAdder count = new LongAdder();
+        private volatile long lastSeen;
     }
 }
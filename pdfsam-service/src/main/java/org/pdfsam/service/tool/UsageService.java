@@ -18,6 +18,8 @@
  */
 package org.pdfsam.service.tool;
 
+import java.util.Map;
+
 /**
  * Service providing tools usage related functionalities
  *
@@ -32,6 +34,16 @@ public interface UsageService {
      */
     void incrementUsageFor(String moduleId);
 
+    /**
+     * @return number of times the given tool has been used
+     */
+    long getUsages(String toolId);
+
+    /**
+     * @return number of times each tool has been used, by tool id
+     */
+    Map<String, Long> getUsages();
+
     /**
      * Clear usage statistics
      */
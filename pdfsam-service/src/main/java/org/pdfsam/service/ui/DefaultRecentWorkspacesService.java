@@ -23,7 +23,7 @@ import jakarta.inject.Named;
 import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.model.lifecycle.ShutdownEvent;
 import org.pdfsam.persistence.PersistenceException;
-import org.pdfsam.persistence.PreferencesRepository;
+import org.pdfsam.persistence.Repository;
 import org.sejda.commons.collection.LRUMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,11 +50,11 @@ public class DefaultRecentWorkspacesService implements RecentWorkspacesService {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRecentWorkspacesService.class);
 
     static final int MAX_CAPACITY = 20;
-    private final PreferencesRepository repo;
+    private final Repository repo;
     private final Map<String, String> cache = new LRUMap<>(MAX_CAPACITY);
 
     @Inject
-    public DefaultRecentWorkspacesService(@Named("recentWorkspacesRepository") PreferencesRepository repo) {
+    public DefaultRecentWorkspacesService(@Named("recentWorkspacesRepository") Repository repo) {
         this.repo = repo;
         populateCache();
         eventStudio().addAnnotatedListeners(this);
@@ -102,6 +102,7 @@ public class DefaultRecentWorkspacesService implements RecentWorkspacesService {
         try {
             this.repo.clean();
             this.cache.forEach((k, v) -> this.repo.saveString(v, k));
+            this.repo.flush();
         } catch (PersistenceException e) {
             LOG.error("Error storing recently used workspace", e);
         }
@@ -46,6 +46,8 @@ public class DefaultStageService implements StageService {
     public void save(StageStatus status) {
         try {
             repo.save(STAGE_STATUS_KEY, status);
+            // the status is saved when the application is closing
+            repo.flush();
             LOG.trace("Stage status saved {}", status);
         } catch (PersistenceException e) {
             LOG.error("Unable to save Stage status", e);
@@ -19,9 +19,11 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -57,6 +59,16 @@ public class ZhenyuPart5Test {
             return totalUsages;
         }
 
+        @Override
+        public long getUsages(String toolId) {
+            return incrementedModules.stream().filter(toolId::equals).count();
+        }
+
+        @Override
+        public Map<String, Long> getUsages() {
+            return incrementedModules.stream().collect(Collectors.groupingBy(m -> m, Collectors.counting()));
+        }
+
         // Test helper
         public List<String> getIncrementedModules() {
             return incrementedModules;
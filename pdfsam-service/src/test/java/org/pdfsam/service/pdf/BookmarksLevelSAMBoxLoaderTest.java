@@ -21,16 +21,21 @@ package org.pdfsam.service.pdf;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.pdfsam.model.pdf.PdfDocumentDescriptor;
-import org.sejda.io.SeekableSources;
-import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * @author Andrea Vacondio
@@ -38,13 +43,28 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class BookmarksLevelSAMBoxLoaderTest {
 
     @Test
-    public void accept(@TempDir Path folder) throws IOException {
+    public void levelsAreComputedOnDemand(@TempDir Path folder)
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
         var path = Files.createTempFile(folder, null, ".pdf");
         Files.copy(getClass().getResourceAsStream("/test_outline.pdf"), path, StandardCopyOption.REPLACE_EXISTING);
         var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(path.toFile());
-        try (PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(path))) {
-            new BookmarksLevelSAMBoxLoader().accept(document, descriptor);
-            assertThat(descriptor.getValidBookmarksLevels()).containsExactly(1, 2, 3);
-        }
+        var document = mock(PDDocument.class);
+        new BookmarksLevelSAMBoxLoader().accept(document, descriptor);
+        verifyNoInteractions(document);
+        assertTrue(descriptor.hasPendingValidBookmarksLevels());
+        assertThat(descriptor.loadValidBookmarksLevels().get(2, TimeUnit.SECONDS)).containsExactly(1, 2, 3);
+        assertThat(descriptor.getValidBookmarksLevels()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void knownLevels(@TempDir Path folder) throws IOException {
+        var path = Files.createTempFile(folder, null, ".pdf");
+        Files.copy(getClass().getResourceAsStream("/test_outline.pdf"), path, StandardCopyOption.REPLACE_EXISTING);
+        var registry = new BookmarksLevelsRegistry();
+        registry.levelsFor(PdfDocumentDescriptor.newDescriptorNoPassword(path.toFile()));
+        var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(path.toFile());
+        new BookmarksLevelSAMBoxLoader(registry).accept(mock(PDDocument.class), descriptor);
+        assertFalse(descriptor.hasPendingValidBookmarksLevels());
+        assertThat(descriptor.getValidBookmarksLevels()).containsExactly(1, 2, 3);
     }
 }
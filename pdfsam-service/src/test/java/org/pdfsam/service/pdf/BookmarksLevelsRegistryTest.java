@@ -0,0 +1,127 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.pdf;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.pdfsam.model.pdf.PdfDocumentDescriptor;
+import org.pdfsam.persistence.EntityRepository;
+import org.pdfsam.test.ClearEventStudioExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrea Vacondio
+ */
+@ExtendWith(ClearEventStudioExtension.class)
+public class BookmarksLevelsRegistryTest {
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp(@TempDir Path folder) throws IOException {
+        file = folder.resolve("outline.pdf");
+        Files.copy(getClass().getResourceAsStream("/test_outline.pdf"), file);
+    }
+
+    @Test
+    public void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BookmarksLevelsRegistry(null, 0));
+    }
+
+    @Test
+    public void levelsAreShared() {
+        var victim = new BookmarksLevelsRegistry();
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isEmpty());
+        assertThat(victim.levelsFor(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile()))).containsExactly(1, 2,
+                3);
+        assertThat(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).orElseThrow()).containsExactly(
+                1, 2, 3);
+    }
+
+    @Test
+    public void knownLevelsAreNotComputed() {
+        var cache = emptyCache();
+        var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile());
+        descriptor.setValidBookmarksLevels(Set.of(5));
+        cache.put(descriptor, 2, true);
+        assertThat(new BookmarksLevelsRegistry(cache).levelsFor(
+                PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile()))).containsExactly(5);
+    }
+
+    @Test
+    public void computedLevelsAreCached() {
+        var cache = emptyCache();
+        var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile());
+        cache.put(descriptor, 2, false);
+        new BookmarksLevelsRegistry(cache).levelsFor(descriptor);
+        assertThat(cache.get(descriptor).orElseThrow().bookmarksLevels()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void unreadableFile() throws IOException {
+        Files.write(file, new byte[] { 1, 2, 3 });
+        var victim = new BookmarksLevelsRegistry();
+        assertTrue(victim.levelsFor(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isEmpty());
+    }
+
+    @Test
+    public void modifiedFile() throws IOException {
+        var victim = new BookmarksLevelsRegistry();
+        victim.levelsFor(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile()));
+        Files.write(file, new byte[] { 1, 2, 3 });
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isEmpty());
+    }
+
+    @Test
+    public void levelsFromCache() {
+        var cache = emptyCache();
+        var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile());
+        descriptor.setValidBookmarksLevels(Set.of(5));
+        cache.put(descriptor, 2, true);
+        assertThat(new BookmarksLevelsRegistry(cache).get(descriptor).orElseThrow()).containsExactly(5);
+        assertTrue(new BookmarksLevelsRegistry(cache).get(
+                PdfDocumentDescriptor.newDescriptorNoPassword(file.resolveSibling("other.pdf").toFile())).isEmpty());
+    }
+
+    @Test
+    public void clear() {
+        var victim = new BookmarksLevelsRegistry();
+        victim.levelsFor(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile()));
+        victim.clear();
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isEmpty());
+    }
+
+    private static PdfMetadataCache emptyCache() {
+        EntityRepository<CachedPdfMetadata> repo = mock(EntityRepository.class);
+        when(repo.keys()).thenReturn(new String[0]);
+        return new PdfMetadataCache(repo);
+    }
+}
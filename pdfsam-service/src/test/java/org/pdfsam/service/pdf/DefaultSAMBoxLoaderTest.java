@@ -20,7 +20,9 @@ package org.pdfsam.service.pdf;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.pdfsam.model.pdf.PdfDocumentDescriptor;
+import org.pdfsam.test.JavaFxThreadInitializeExtension;
 import org.sejda.model.pdf.PdfMetadataFields;
 import org.sejda.model.pdf.PdfVersion;
 import org.sejda.sambox.pdmodel.PDDocument;
@@ -29,7 +31,9 @@ import org.sejda.sambox.pdmodel.PDDocumentInformation;
 import java.io.File;
 import java.util.GregorianCalendar;
 
+import static java.time.Duration.ofSeconds;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -40,6 +44,7 @@ import static org.mockito.Mockito.when;
  * @author Andrea Vacondio
  *
  */
+@ExtendWith(JavaFxThreadInitializeExtension.class)
 public class DefaultSAMBoxLoaderTest {
     private PDDocument document;
     private PDDocumentInformation info;
@@ -61,7 +66,7 @@ public class DefaultSAMBoxLoaderTest {
     @Test
     public void accept() {
         new DefaultSAMBoxLoader().accept(document, descriptor);
-        assertEquals(2, descriptor.pages().getValue().intValue());
+        await().atMost(ofSeconds(2)).until(() -> descriptor.pages().getValue() == 2);
         assertEquals(PdfVersion.VERSION_1_4, descriptor.getVersion());
         assertEquals("Chuck Norris", descriptor.getInformation(PdfMetadataFields.AUTHOR));
         assertEquals("Roundhause", descriptor.getInformation(PdfMetadataFields.SUBJECT));
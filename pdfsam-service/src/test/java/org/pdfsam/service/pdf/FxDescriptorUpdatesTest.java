@@ -0,0 +1,86 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.pdf;
+
+import javafx.application.Platform;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.pdfsam.model.pdf.PdfDescriptorLoadingStatus;
+import org.pdfsam.model.pdf.PdfDocumentDescriptor;
+import org.pdfsam.test.JavaFxThreadInitializeExtension;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Duration.ofSeconds;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Andrea Vacondio
+ */
+@ExtendWith(JavaFxThreadInitializeExtension.class)
+public class FxDescriptorUpdatesTest {
+
+    @Test
+    public void changesAreBatched() {
+        var runLater = new AtomicInteger();
+        var victim = new FxDescriptorUpdates(r -> {
+            runLater.incrementAndGet();
+            Platform.runLater(r);
+        });
+        var descriptors = new ArrayList<PdfDocumentDescriptor>();
+        var offFxThread = new AtomicBoolean();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 500; i++) {
+                var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(mock(File.class));
+                descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+                descriptor.pages().addListener(o -> offFxThread.compareAndSet(false, !Platform.isFxApplicationThread()));
+                descriptors.add(descriptor);
+                executor.execute(() -> {
+                    victim.moveStatusTo(descriptor, PdfDescriptorLoadingStatus.LOADING);
+                    victim.pages(descriptor, 3);
+                    victim.moveStatusTo(descriptor, PdfDescriptorLoadingStatus.LOADED);
+                });
+            }
+        }
+        await().atMost(ofSeconds(2)).until(() -> descriptors.stream()
+                .allMatch(d -> d.loadingStatus().getValue() == PdfDescriptorLoadingStatus.LOADED));
+        descriptors.forEach(d -> assertEquals(3, d.pages().getValue()));
+        assertFalse(offFxThread.get());
+        assertTrue(runLater.get() < 1500);
+        assertEquals(1500 - runLater.get(), victim.savedRunLaterCalls());
+    }
+
+    @Test
+    public void restartsAfterDrain() {
+        var victim = new FxDescriptorUpdates(Platform::runLater);
+        var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(mock(File.class));
+        victim.pages(descriptor, 2);
+        await().atMost(ofSeconds(2)).until(() -> descriptor.pages().getValue() == 2);
+        victim.pages(descriptor, 5);
+        await().atMost(ofSeconds(2)).until(() -> descriptor.pages().getValue() == 5);
+    }
+}
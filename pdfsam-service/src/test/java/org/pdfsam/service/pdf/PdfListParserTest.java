@@ -27,10 +27,12 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -75,6 +77,21 @@ public class PdfListParserTest {
         assertThat(parsed).containsExactly(file1, file2);
     }
 
+    @Test
+    public void charsetChangesAfterTheProbedBytes(@TempDir Path folder) throws IOException {
+        var file1 = Files.createTempFile(folder, null, "è.pdf").toFile();
+        var file2 = Files.createTempFile(folder, null, "à.pdf").toFile();
+        var list = folder.resolve("list.csv");
+        try (var out = Files.newOutputStream(list)) {
+            out.write((file1.getAbsolutePath() + "\n").getBytes(StandardCharsets.UTF_8));
+            out.write("I don't exist.pdf\n".repeat(5000).getBytes(StandardCharsets.UTF_8));
+            out.write((file2.getAbsolutePath() + ",\n").getBytes(StandardCharsets.ISO_8859_1));
+        }
+        var batches = new ArrayList<List<File>>();
+        new PdfListParser().parse(list, 1, batches::add);
+        assertThat(batches.stream().flatMap(List::stream)).containsExactly(file1, file2);
+    }
+
     @Test
     public void applyPathsWithQuotes(@TempDir Path folder) throws IOException {
         var file1 = Files.createTempFile(folder, null, "Hello World.pdf").toFile();
@@ -182,4 +199,60 @@ public class PdfListParserTest {
         List<File> parsed = new PdfListParser().apply(list);
         assertEquals(0, parsed.size());
     }
+    @Test
+    public void batches(@TempDir Path folder) throws IOException {
+        var files = new ArrayList<File>();
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            var file = Files.createTempFile(folder, null, ".pdf").toFile();
+            files.add(file);
+            lines.add(file.getAbsolutePath());
+            lines.add("I don't exist " + i + ".pdf");
+        }
+        var list = folder.resolve("list.csv");
+        Files.write(list, lines);
+        var batches = new ArrayList<List<File>>();
+        new PdfListParser().parse(list, 3, batches::add);
+        assertThat(batches.stream().flatMap(List::stream)).containsExactlyElementsOf(files);
+        assertThat(batches).allMatch(b -> !b.isEmpty() && b.size() <= 3);
+    }
+
+    @Test
+    public void invalidBatchSize(@TempDir Path folder) {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PdfListParser().parse(folder.resolve("list.csv"), 0, b -> {
+                }));
+    }
+
+    @Test
+    public void withBOM(@TempDir Path folder) throws IOException {
+        var file1 = Files.createTempFile(folder, null, ".pdf").toFile();
+        var list = folder.resolve("list.csv");
+        var content = (file1.getAbsolutePath() + ",something").getBytes(StandardCharsets.UTF_8);
+        var withBom = new byte[content.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(content, 0, withBom, 3, content.length);
+        Files.write(list, withBom);
+        assertThat(new PdfListParser().apply(list)).containsExactly(file1);
+    }
+
+    @Test
+    public void withUTF16BOM(@TempDir Path folder) throws IOException {
+        var file1 = Files.createTempFile(folder, null, ".pdf").toFile();
+        var list = folder.resolve("list.csv");
+        Files.writeString(list, file1.getAbsolutePath(), StandardCharsets.UTF_16);
+        assertThat(new PdfListParser().apply(list)).containsExactly(file1);
+    }
+
+    @Test
+    public void detectCharset() {
+        assertEquals(StandardCharsets.UTF_8, PdfListParser.detectCharset("chuck.pdf".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(StandardCharsets.UTF_8, PdfListParser.detectCharset("è.pdf".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(StandardCharsets.ISO_8859_1,
+                PdfListParser.detectCharset("è.pdf".getBytes(StandardCharsets.ISO_8859_1)));
+        var truncated = Arrays.copyOf("aè".getBytes(StandardCharsets.UTF_8), 2);
+        assertEquals(StandardCharsets.UTF_8, PdfListParser.detectCharset(truncated));
+    }
 }
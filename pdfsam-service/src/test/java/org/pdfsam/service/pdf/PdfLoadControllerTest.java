@@ -28,10 +28,13 @@ import org.pdfsam.model.pdf.PdfDescriptorLoadingStatus;
 import org.pdfsam.model.pdf.PdfDocumentDescriptor;
 import org.pdfsam.model.pdf.PdfFilesListLoadRequest;
 import org.pdfsam.model.pdf.PdfLoadRequest;
+import org.pdfsam.model.pdf.PrioritizePdfLoadRequest;
 import org.pdfsam.model.tool.RequiredPdfData;
 import org.pdfsam.model.tool.Tool;
+import org.pdfsam.test.AdditionalDefaultPriorityTestTool;
 import org.pdfsam.test.ClearEventStudioExtension;
 import org.pdfsam.test.DefaultPriorityTestTool;
+import org.pdfsam.test.JavaFxThreadInitializeExtension;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -39,12 +42,16 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
@@ -53,7 +60,7 @@ import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 /**
  * @author Andrea Vacondio
  */
-@ExtendWith(ClearEventStudioExtension.class)
+@ExtendWith({ ClearEventStudioExtension.class, JavaFxThreadInitializeExtension.class })
 public class PdfLoadControllerTest {
 
     private PdfLoadService loadService;
@@ -62,7 +69,9 @@ public class PdfLoadControllerTest {
     @BeforeEach
     public void setUp() {
         loadService = mock(PdfLoadService.class);
-        victim = new PdfLoadController(Arrays.asList(new Tool[] { new DefaultPriorityTestTool() }), loadService);
+        victim = new PdfLoadController(
+                Arrays.asList(new Tool[] { new DefaultPriorityTestTool(), new AdditionalDefaultPriorityTestTool() }),
+                loadService);
     }
 
     @Test
@@ -78,6 +87,30 @@ public class PdfLoadControllerTest {
         verify(loadService, timeout(1000).times(1)).load(anyCollection(), eq(RequiredPdfData.DEFAULT));
     }
 
+    @Test
+    public void requestsDoNotBlockEachOther() {
+        var latch = new CountDownLatch(1);
+        doAnswer(i -> {
+            latch.await();
+            return null;
+        }).when(loadService).load(anyCollection(), eq(RequiredPdfData.DEFAULT));
+        PdfLoadRequest first = new PdfLoadRequest(DefaultPriorityTestTool.ID);
+        first.add(mock(PdfDocumentDescriptor.class));
+        PdfLoadRequest second = new PdfLoadRequest(AdditionalDefaultPriorityTestTool.ID);
+        second.add(mock(PdfDocumentDescriptor.class));
+        victim.request(first);
+        victim.request(second);
+        verify(loadService, timeout(1000).times(2)).load(anyCollection(), eq(RequiredPdfData.DEFAULT));
+        latch.countDown();
+    }
+
+    @Test
+    public void prioritize() {
+        var descriptor = mock(PdfDocumentDescriptor.class);
+        victim.request(new PrioritizePdfLoadRequest(List.of(descriptor)));
+        verify(loadService).prioritize(List.of(descriptor));
+    }
+
     @Test
     public void emptyList(@TempDir Path folder) throws IOException {
         var list = folder.resolve("list.csv");
@@ -105,5 +138,25 @@ public class PdfLoadControllerTest {
         ArgumentCaptor<PdfLoadRequest> captor = ArgumentCaptor.forClass(PdfLoadRequest.class);
         verify(listener, timeout(2000).times(1)).onEvent(captor.capture());
         assertEquals(1, captor.getValue().getDocuments().size());
+        assertTrue(captor.getValue().fallbackDestination());
+    }
+
+    @Test
+    public void batchedList(@TempDir Path folder) throws IOException {
+        var list = folder.resolve("list.csv");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i <= PdfListParser.DEFAULT_BATCH_SIZE; i++) {
+            lines.add(Files.createTempFile(folder, null, "apdf.pdf").toString());
+        }
+        Files.write(list, lines);
+        Listener<PdfLoadRequest> listener = mock(Listener.class);
+        eventStudio().add(PdfLoadRequest.class, listener, DefaultPriorityTestTool.ID);
+        victim.request(new PdfFilesListLoadRequest(DefaultPriorityTestTool.ID, list));
+        ArgumentCaptor<PdfLoadRequest> captor = ArgumentCaptor.forClass(PdfLoadRequest.class);
+        verify(listener, timeout(5000).times(2)).onEvent(captor.capture());
+        assertEquals(PdfListParser.DEFAULT_BATCH_SIZE, captor.getAllValues().get(0).getDocuments().size());
+        assertTrue(captor.getAllValues().get(0).fallbackDestination());
+        assertEquals(1, captor.getAllValues().get(1).getDocuments().size());
+        assertFalse(captor.getAllValues().get(1).fallbackDestination());
     }
 }
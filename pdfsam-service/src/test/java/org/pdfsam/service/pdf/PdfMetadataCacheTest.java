@@ -0,0 +1,232 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.pdf;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.pdfsam.model.lifecycle.ShutdownEvent;
+import org.pdfsam.model.pdf.PdfDocumentDescriptor;
+import org.pdfsam.persistence.DefaultEntityRepository;
+import org.pdfsam.persistence.EntityRepository;
+import org.pdfsam.test.ClearEventStudioExtension;
+import org.pdfsam.test.JavaFxThreadInitializeExtension;
+import org.sejda.model.pdf.PdfMetadataFields;
+import org.sejda.model.pdf.PdfVersion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.time.Duration.ofSeconds;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+
+/**
+ * @author Andrea Vacondio
+ */
+@ExtendWith({ ClearEventStudioExtension.class, JavaFxThreadInitializeExtension.class })
+public class PdfMetadataCacheTest {
+
+    private DefaultEntityRepository<CachedPdfMetadata> repo;
+    private PdfMetadataCache victim;
+    private Path file;
+
+    @BeforeEach
+    public void setUp(@TempDir Path folder) throws IOException {
+        var mapper = JsonMapper.builder().enable(DeserializationFeature.FAIL_ON_NUMBERS_FOR_ENUMS)
+                .disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .visibility(PropertyAccessor.FIELD, Visibility.ANY).serializationInclusion(Include.NON_EMPTY).build();
+        repo = new DefaultEntityRepository<>("/test/org/pdfsam/pdf/metadata", mapper, CachedPdfMetadata.class);
+        victim = new PdfMetadataCache(repo);
+        file = folder.resolve("PDFsamTest.pdf");
+        Files.copy(getClass().getResourceAsStream("/test_pdfsam.pdf"), file);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repo.clean();
+    }
+
+    private PdfDocumentDescriptor loaded(String password) {
+        var descriptor = PdfDocumentDescriptor.newDescriptor(file.toFile(), password);
+        descriptor.pages(2);
+        descriptor.setVersion(PdfVersion.VERSION_1_5);
+        descriptor.putInformation(PdfMetadataFields.AUTHOR, "Me");
+        descriptor.setValidBookmarksLevels(Set.of(1, 2));
+        return descriptor;
+    }
+
+    @Test
+    public void putAndGet() {
+        victim.put(loaded(null), 2, true);
+        var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile());
+        var cached = victim.get(descriptor);
+        assertTrue(cached.isPresent());
+        assertTrue(cached.get().hasBookmarksLevels());
+        cached.get().applyTo(descriptor);
+        await().atMost(ofSeconds(2)).until(() -> descriptor.pages().getValue() == 2);
+        assertEquals(PdfVersion.VERSION_1_5, descriptor.getVersion());
+        assertEquals("Me", descriptor.getInformation(PdfMetadataFields.AUTHOR));
+        assertEquals(Set.of(1, 2), descriptor.getValidBookmarksLevels());
+    }
+
+    @Test
+    public void withoutBookmarks() {
+        victim.put(loaded(null), 2, false);
+        var cached = victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile()));
+        assertTrue(cached.isPresent());
+        assertFalse(cached.get().hasBookmarksLevels());
+    }
+
+    @Test
+    public void passwordsAreNotCached() {
+        victim.put(loaded("secret"), 2, true);
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isEmpty());
+        victim.put(loaded(null), 2, true);
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptor(file.toFile(), "secret")).isEmpty());
+    }
+
+    @Test
+    public void modifiedFile() throws IOException {
+        victim.put(loaded(null), 2, true);
+        Files.write(file, new byte[] { 1, 2, 3 });
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isEmpty());
+    }
+
+    @Test
+    public void capacity() {
+        var victim = new PdfMetadataCache(repo, 1);
+        victim.put(loaded(null), 2, true);
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isPresent());
+        var other = PdfDocumentDescriptor.newDescriptorNoPassword(file.getParent().resolve("other.pdf").toFile());
+        victim.put(other, 0, false);
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isEmpty());
+    }
+
+    @Test
+    public void restoredAfterShutdown() {
+        victim.put(loaded(null), 2, true);
+        eventStudio().broadcast(new ShutdownEvent());
+        var restored = new PdfMetadataCache(repo);
+        var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile());
+        var cached = restored.get(descriptor);
+        assertTrue(cached.isPresent());
+        cached.get().applyTo(descriptor);
+        await().atMost(ofSeconds(2)).until(() -> descriptor.pages().getValue() == 2);
+        assertEquals("Me", descriptor.getInformation(PdfMetadataFields.AUTHOR));
+        assertEquals(Set.of(1, 2), descriptor.getValidBookmarksLevels());
+    }
+
+    @Test
+    public void clear() {
+        victim.put(loaded(null), 2, true);
+        victim.clear();
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isEmpty());
+    }
+
+    @Test
+    public void restoredLazily() {
+        EntityRepository<CachedPdfMetadata> repo = mock(EntityRepository.class);
+        when(repo.keys()).thenReturn(new String[0]);
+        var victim = new PdfMetadataCache(repo);
+        verify(repo, never()).keys();
+        victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile()));
+        verify(repo).keys();
+    }
+
+    @Test
+    public void unusedIsNotStored() {
+        EntityRepository<CachedPdfMetadata> repo = mock(EntityRepository.class);
+        new PdfMetadataCache(repo);
+        eventStudio().broadcast(new ShutdownEvent());
+        verify(repo, never()).keys();
+        verify(repo, never()).clean();
+        verify(repo, never()).flush();
+    }
+
+    @Test
+    public void unchangedIsNotStored() throws IOException {
+        EntityRepository<CachedPdfMetadata> repo = restoring(file);
+        var victim = new PdfMetadataCache(repo);
+        assertTrue(victim.get(PdfDocumentDescriptor.newDescriptorNoPassword(file.toFile())).isPresent());
+        eventStudio().broadcast(new ShutdownEvent());
+        verify(repo, never()).clean();
+        verify(repo, never()).save(anyString(), any());
+        verify(repo, never()).delete(anyString());
+        verify(repo, never()).flush();
+    }
+
+    @Test
+    public void onlyChangesAreStored() throws IOException {
+        var other = Files.copy(file, file.getParent().resolve("other.pdf"));
+        EntityRepository<CachedPdfMetadata> repo = restoring(file);
+        var victim = new PdfMetadataCache(repo);
+        victim.put(PdfDocumentDescriptor.newDescriptorNoPassword(other.toFile()), 2, false);
+        eventStudio().broadcast(new ShutdownEvent());
+        verify(repo, never()).clean();
+        verify(repo).save(eq(PdfMetadataCache.keyFor(other.toFile().getCanonicalPath())), any());
+        verify(repo, never()).save(eq(PdfMetadataCache.keyFor(file.toFile().getCanonicalPath())), any());
+        verify(repo, never()).delete(anyString());
+        verify(repo).flush();
+    }
+
+    @Test
+    public void evictedAreRemoved() throws IOException {
+        var other = Files.copy(file, file.getParent().resolve("other.pdf"));
+        EntityRepository<CachedPdfMetadata> repo = restoring(file);
+        var victim = new PdfMetadataCache(repo, 1);
+        victim.put(PdfDocumentDescriptor.newDescriptorNoPassword(other.toFile()), 2, false);
+        eventStudio().broadcast(new ShutdownEvent());
+        verify(repo).delete(PdfMetadataCache.keyFor(file.toFile().getCanonicalPath()));
+        verify(repo).save(eq(PdfMetadataCache.keyFor(other.toFile().getCanonicalPath())), any());
+    }
+
+    private static EntityRepository<CachedPdfMetadata> restoring(Path file) throws IOException {
+        var path = file.toFile().getCanonicalPath();
+        var key = PdfMetadataCache.keyFor(path);
+        EntityRepository<CachedPdfMetadata> repo = mock(EntityRepository.class);
+        when(repo.keys()).thenReturn(new String[] { key });
+        when(repo.get(key)).thenReturn(Optional.of(
+                new CachedPdfMetadata(path, Files.size(file), file.toFile().lastModified(), 2, PdfVersion.VERSION_1_5,
+                        Map.of(), null)));
+        return repo;
+    }
+}
@@ -24,20 +24,34 @@ import org.junit.jupiter.api.io.TempDir;
 import org.pdfsam.model.pdf.PdfDescriptorLoadingStatus;
 import org.pdfsam.model.pdf.PdfDocumentDescriptor;
 import org.pdfsam.model.tool.RequiredPdfData;
+import org.pdfsam.persistence.EntityRepository;
 import org.pdfsam.test.ClearEventStudioExtension;
 import org.pdfsam.test.JavaFxThreadInitializeExtension;
+import org.sejda.io.SeekableSources;
 import org.sejda.model.pdf.PdfMetadataFields;
+import org.sejda.sambox.pdmodel.PDDocument;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.time.Duration.ofSeconds;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Andrea Vacondio
@@ -66,6 +80,235 @@ public class SAMBoxPdfLoadServiceTest {
         assertEquals("test", item.getInformation(PdfMetadataFields.KEYWORDS));
     }
 
+    @Test
+    public void loadMany(@TempDir Path folder) throws IOException {
+        var victim = new DefaultPdfLoadService(List.of(new DefaultSAMBoxLoader()), null, 2);
+        var toLoad = new ArrayList<PdfDocumentDescriptor>();
+        for (int i = 0; i < 10; i++) {
+            var testFile = folder.resolve("PDFsamTest" + i + ".pdf");
+            Files.copy(getClass().getResourceAsStream("/test_pdfsam.pdf"), testFile);
+            var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile.toFile());
+            descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+            toLoad.add(descriptor);
+        }
+        victim.load(toLoad, RequiredPdfData.DEFAULT);
+        await().atMost(ofSeconds(2)).until(() -> toLoad.stream()
+                .allMatch(d -> PdfDescriptorLoadingStatus.LOADED == d.loadingStatus().getValue()));
+        toLoad.forEach(d -> assertEquals(2, d.pages().getValue().intValue()));
+    }
+
+    @Test
+    public void prioritize(@TempDir Path folder) throws Exception {
+        var loader = new BlockingLoader();
+        var victim = new DefaultPdfLoadService(List.of(loader), null, 1);
+        var toLoad = descriptors(folder, 5);
+        var loading = Thread.ofVirtual().start(() -> victim.load(toLoad, RequiredPdfData.DEFAULT));
+        assertTrue(loader.firstLoading.await(2, TimeUnit.SECONDS));
+        victim.prioritize(List.of(toLoad.get(4), toLoad.get(3)));
+        loader.proceed.countDown();
+        loading.join(2000);
+        assertEquals(List.of(toLoad.get(0), toLoad.get(3), toLoad.get(4), toLoad.get(1), toLoad.get(2)),
+                loader.loaded);
+    }
+
+    @Test
+    public void cancelQueued(@TempDir Path folder) throws Exception {
+        var loader = new BlockingLoader();
+        var victim = new DefaultPdfLoadService(List.of(loader), null, 1);
+        var toLoad = descriptors(folder, 5);
+        var loading = Thread.ofVirtual().start(() -> victim.load(toLoad, RequiredPdfData.DEFAULT));
+        assertTrue(loader.firstLoading.await(2, TimeUnit.SECONDS));
+        toLoad.subList(2, 5).forEach(PdfDocumentDescriptor::releaseAll);
+        loader.proceed.countDown();
+        loading.join(2000);
+        assertFalse(loading.isAlive());
+        assertEquals(List.of(toLoad.get(0), toLoad.get(1)), loader.loaded);
+    }
+
+    @Test
+    public void cancelInFlight(@TempDir Path folder) throws Exception {
+        var loader = new BlockingLoader();
+        var victim = new DefaultPdfLoadService(List.of(loader), null, 1);
+        var toLoad = descriptors(folder, 5);
+        var loading = Thread.ofVirtual().start(() -> victim.load(toLoad, RequiredPdfData.DEFAULT));
+        assertTrue(loader.firstLoading.await(2, TimeUnit.SECONDS));
+        // queued ones first, so the loading thread doesn't pick a new one when interrupted
+        toLoad.reversed().forEach(PdfDocumentDescriptor::releaseAll);
+        loading.join(2000);
+        assertFalse(loading.isAlive());
+        assertEquals(List.of(toLoad.get(0)), loader.loaded);
+        assertTrue(loader.interrupted.get());
+    }
+
+    @Test
+    public void cancelInFlightMemoryMapped(@TempDir Path folder) throws Exception {
+        System.setProperty(SeekableSources.MAPPED_SIZE_THRESHOLD_PROPERTY, "0");
+        try {
+            var loader = new UninterruptibleLoader();
+            var bookmarksLoaded = Collections.synchronizedList(new ArrayList<PdfDocumentDescriptor>());
+            var bookmarks = new PdfLoader<PDDocument>() {
+                @Override
+                public void accept(PDDocument document, PdfDocumentDescriptor descriptor) {
+                    bookmarksLoaded.add(descriptor);
+                }
+
+                @Override
+                public RequiredPdfData key() {
+                    return RequiredPdfData.BOOMARKS;
+                }
+            };
+            var victim = new DefaultPdfLoadService(List.of(loader, bookmarks), null, 1);
+            var toLoad = descriptors(folder, 2);
+            var loading = Thread.ofVirtual()
+                    .start(() -> victim.load(toLoad, RequiredPdfData.DEFAULT, RequiredPdfData.BOOMARKS));
+            assertTrue(loader.firstLoading.await(2, TimeUnit.SECONDS));
+            toLoad.get(0).releaseAll();
+            // the permit is released while the cancelled document is still being read
+            await().atMost(ofSeconds(2)).until(() -> bookmarksLoaded.contains(toLoad.get(1)));
+            loader.proceed.countDown();
+            loading.join(2000);
+            assertFalse(loading.isAlive());
+            assertEquals(List.of(toLoad.get(1)), bookmarksLoaded);
+            await().atMost(ofSeconds(2))
+                    .until(() -> PdfDescriptorLoadingStatus.LOADED == toLoad.get(1).loadingStatus().getValue());
+            assertEquals(PdfDescriptorLoadingStatus.LOADING, toLoad.get(0).loadingStatus().getValue());
+        } finally {
+            System.clearProperty(SeekableSources.MAPPED_SIZE_THRESHOLD_PROPERTY);
+        }
+    }
+
+    private List<PdfDocumentDescriptor> descriptors(Path folder, int count) throws IOException {
+        var descriptors = new ArrayList<PdfDocumentDescriptor>();
+        for (int i = 0; i < count; i++) {
+            var testFile = folder.resolve("PDFsamTest" + i + ".pdf");
+            Files.copy(getClass().getResourceAsStream("/test_pdfsam.pdf"), testFile);
+            var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile.toFile());
+            descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+            descriptors.add(descriptor);
+        }
+        return descriptors;
+    }
+
+    /**
+     * Loader recording the loaded descriptors and blocking until told to proceed
+     */
+    private static class BlockingLoader implements PdfLoader<PDDocument> {
+        private final CountDownLatch firstLoading = new CountDownLatch(1);
+        private final CountDownLatch proceed = new CountDownLatch(1);
+        private final List<PdfDocumentDescriptor> loaded = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicBoolean interrupted = new AtomicBoolean();
+
+        @Override
+        public void accept(PDDocument document, PdfDocumentDescriptor descriptor) {
+            loaded.add(descriptor);
+            firstLoading.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public RequiredPdfData key() {
+            return RequiredPdfData.DEFAULT;
+        }
+    }
+
+    /**
+     * Loader ignoring interruptions on the first document, the way reads of a memory mapped file do
+     */
+    private static class UninterruptibleLoader implements PdfLoader<PDDocument> {
+        private final CountDownLatch firstLoading = new CountDownLatch(1);
+        private final CountDownLatch proceed = new CountDownLatch(1);
+
+        @Override
+        public void accept(PDDocument document, PdfDocumentDescriptor descriptor) {
+            if (firstLoading.getCount() > 0) {
+                firstLoading.countDown();
+                while (proceed.getCount() > 0) {
+                    try {
+                        proceed.await();
+                    } catch (InterruptedException e) {
+                        // ignored
+                    }
+                }
+            }
+        }
+
+        @Override
+        public RequiredPdfData key() {
+            return RequiredPdfData.DEFAULT;
+        }
+    }
+
+    @Test
+    public void loadFromCache(@TempDir Path folder) throws IOException {
+        EntityRepository<CachedPdfMetadata> repo = mock(EntityRepository.class);
+        when(repo.keys()).thenReturn(new String[0]);
+        var cache = new PdfMetadataCache(repo);
+        var victim = new DefaultPdfLoadService(List.of(new DefaultSAMBoxLoader()), cache, 1);
+        var testFile = folder.resolve("PDFsamTest.pdf");
+        Files.copy(getClass().getResourceAsStream("/test_pdfsam.pdf"), testFile);
+        var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile.toFile());
+        descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        victim.load(List.of(descriptor), RequiredPdfData.DEFAULT);
+        await().atMost(ofSeconds(2))
+                .until(() -> PdfDescriptorLoadingStatus.LOADED == descriptor.loadingStatus().getValue());
+
+        // same length and last modified but not a PDF anymore, it can only be loaded from the cache
+        var lastModified = Files.getLastModifiedTime(testFile);
+        Files.write(testFile, new byte[(int) Files.size(testFile)]);
+        Files.setLastModifiedTime(testFile, lastModified);
+        var cached = PdfDocumentDescriptor.newDescriptorNoPassword(testFile.toFile());
+        cached.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        victim.load(List.of(cached), RequiredPdfData.DEFAULT);
+        await().atMost(ofSeconds(2))
+                .until(() -> PdfDescriptorLoadingStatus.LOADED == cached.loadingStatus().getValue());
+        assertEquals(2, cached.pages().getValue().intValue());
+        assertEquals("Me", cached.getInformation(PdfMetadataFields.AUTHOR));
+    }
+
+    @Test
+    public void brokenXref(@TempDir Path folder) throws IOException {
+        var testFile = folder.resolve("PDFsamTest.pdf");
+        Files.copy(getClass().getResourceAsStream("/test_pdfsam.pdf"), testFile);
+        var content = Files.readString(testFile, StandardCharsets.ISO_8859_1);
+        Files.writeString(testFile, content.replace("startxref\n9636", "startxref\n1000"),
+                StandardCharsets.ISO_8859_1);
+        var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile.toFile());
+        descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+        victim.load(List.of(descriptor), RequiredPdfData.DEFAULT);
+        await().atMost(ofSeconds(2))
+                .until(() -> PdfDescriptorLoadingStatus.LOADED == descriptor.loadingStatus().getValue());
+        assertEquals(2, descriptor.pages().getValue().intValue());
+        assertEquals("Me", descriptor.getInformation(PdfMetadataFields.AUTHOR));
+    }
+
+    @Test
+    public void invalidConcurrency() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DefaultPdfLoadService(List.of(new DefaultSAMBoxLoader()), null, 0));
+    }
+
+    @Test
+    public void loadMemoryMapped(@TempDir Path folder) throws IOException {
+        System.setProperty(SeekableSources.MAPPED_SIZE_THRESHOLD_PROPERTY, "0");
+        try {
+            var testFile = folder.resolve("PDFsamTest.pdf");
+            Files.copy(getClass().getResourceAsStream("/test_pdfsam.pdf"), testFile);
+            var descriptor = PdfDocumentDescriptor.newDescriptorNoPassword(testFile.toFile());
+            descriptor.moveStatusTo(PdfDescriptorLoadingStatus.REQUESTED);
+            victim.load(List.of(descriptor), RequiredPdfData.DEFAULT);
+            await().atMost(ofSeconds(2))
+                    .until(() -> PdfDescriptorLoadingStatus.LOADED == descriptor.loadingStatus().getValue());
+            assertEquals(2, descriptor.pages().getValue().intValue());
+        } finally {
+            System.clearProperty(SeekableSources.MAPPED_SIZE_THRESHOLD_PROPERTY);
+        }
+    }
+
     @Test
     public void invalidPdf(@TempDir Path folder) throws IOException {
         var testFile = folder.resolve("PDFsamTest.pdf");
@@ -29,8 +29,15 @@ import org.sejda.model.task.Task;
 import org.sejda.tests.tasks.BaseTaskTest;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.sejda.tests.TestUtils.encryptedInput;
 import static org.sejda.tests.TestUtils.mediumInput;
 import static org.sejda.tests.TestUtils.shortInput;
 import static org.sejda.tests.TestUtils.stronglyEncryptedInput;
@@ -133,4 +140,86 @@ public class BulkRotateTaskTest extends BaseTaskTest<BulkRotateParameters> {
             assertEquals(90, d.getPage(3).getRotation());
         });
     }
+
+    @Test
+    public void testExecuteIncremental() throws IOException {
+        setUpDefaultParameters();
+        parameters.setIncremental(true);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertPages(4)
+                .forEachPdfOutput(d -> d.getPages().forEach(p -> assertEquals(180, p.getRotation())));
+        byte[] original = getClass().getClassLoader().getResourceAsStream("pdf/short-test-file.pdf").readAllBytes();
+        testContext.forEachRawOutput(p -> {
+            try {
+                byte[] output = Files.readAllBytes(p);
+                assertTrue(output.length > original.length);
+                assertArrayEquals(original, Arrays.copyOf(output, original.length));
+            } catch (IOException e) {
+                fail(e);
+            }
+        });
+    }
+
+    @Test
+    public void testRotateSpecificPagesIncremental() throws IOException {
+        setUpRotateSpecificPages();
+        parameters.setIncremental(true);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertPages(4).forEachPdfOutput(d -> {
+            assertEquals(0, d.getPage(0).getRotation());
+            assertEquals(90, d.getPage(2).getRotation());
+        });
+    }
+
+    @Test
+    public void testExecuteEncryptedIncremental() throws IOException {
+        setUpParametersEncrypted();
+        parameters.setIncremental(true);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertPages(4)
+                .forEachPdfOutput(d -> d.getPages().forEach(p -> assertEquals(180, p.getRotation())));
+    }
+
+    @Test
+    public void testManyInputsAreNumberedInInputSetOrder() throws IOException {
+        parameters = new BulkRotateParameters();
+        parameters.setOutputPrefix("[FILENUMBER]_[BASENAME]");
+        for (int i = 0; i < 4; i++) {
+            parameters.addInput(new PdfRotationInput(mediumInput(), Rotation.DEGREES_90));
+            parameters.addInput(new PdfRotationInput(shortInput(), Rotation.DEGREES_180));
+        }
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        var expected = new ArrayList<String>();
+        for (var input : parameters.getInputSet()) {
+            expected.add((expected.size() + 1) + "_" + input.source.getName());
+        }
+        testContext.assertOutputSize(8).assertOutputContainsFilenames(expected.toArray(String[]::new));
+    }
+
+    @Test
+    public void testFailingInputIsReported() throws IOException {
+        parameters = new BulkRotateParameters();
+        parameters.addInput(new PdfRotationInput(shortInput(), Rotation.DEGREES_180));
+        var encrypted = encryptedInput();
+        encrypted.setPassword("wrong");
+        parameters.addInput(new PdfRotationInput(encrypted, Rotation.DEGREES_180));
+        parameters.addInput(new PdfRotationInput(mediumInput(), Rotation.DEGREES_180));
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskFailed().assertFailedSource("encrypted-test-file.pdf");
+        try (var files = Files.list(parameters.getOutput().getDestination().toPath())) {
+            assertTrue(files.noneMatch(f -> f.getFileName().toString().startsWith("." + TemporaryBuffers.prefix())),
+                    "Temporary buffers left behind");
+        }
+    }
 }
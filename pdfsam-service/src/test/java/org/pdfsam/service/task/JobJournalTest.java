@@ -0,0 +1,123 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class JobJournalTest {
+
+    @TempDir
+    private Path folder;
+    private Path file;
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    public void setUp() {
+        file = folder.resolve("config").resolve("jobs.journal");
+        mapper = JsonMapper.builder().addModule(new JavaTimeModule()).enable(SerializationFeature.INDENT_OUTPUT)
+                .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                .serializationInclusion(JsonInclude.Include.NON_EMPTY).build();
+    }
+
+    @Test
+    public void disabled() {
+        var victim = JobJournal.disabled();
+        assertFalse(victim.isEnabled());
+        assertTrue(victim.file().isEmpty());
+        assertTrue(victim.submitted("tool", Map.of("key", "value")).isEmpty());
+        assertTrue(victim.unfinished().isEmpty());
+    }
+
+    @Test
+    public void emptyDataIsNotRecorded() {
+        var victim = new JobJournal(file, mapper);
+        assertTrue(victim.submitted("tool", Map.of()).isEmpty());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void unfinishedSurviveRestart() throws IOException {
+        var victim = new JobJournal(file, mapper);
+        var first = victim.submitted("merge", Map.of("key", "value", "empty", "")).orElseThrow();
+        var second = victim.submitted("split", Map.of("key", "value")).orElseThrow();
+        var third = victim.submitted("rotate", Map.of("key", "value")).orElseThrow();
+        victim.done(second);
+        assertEquals(4, Files.readAllLines(file).size());
+
+        var restarted = new JobJournal(file, mapper);
+        var unfinished = restarted.unfinished();
+        assertEquals(2, unfinished.size());
+        assertEquals(first, unfinished.get(0).id());
+        assertEquals("merge", unfinished.get(0).toolId());
+        assertEquals(Map.of("key", "value", "empty", ""), unfinished.get(0).data());
+        assertEquals(third, unfinished.get(1).id());
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    public void truncatedEntryIsSkipped() throws IOException {
+        var victim = new JobJournal(file, mapper);
+        victim.submitted("merge", Map.of("key", "value"));
+        Files.writeString(file, "{\"submitted\":{\"id\":\"12", StandardOpenOption.APPEND);
+        assertEquals(1, new JobJournal(file, mapper).unfinished().size());
+    }
+
+    @Test
+    public void deletedWhenAllDone() {
+        var victim = new JobJournal(file, mapper);
+        var first = victim.submitted("merge", Map.of("key", "value")).orElseThrow();
+        var second = victim.submitted("merge", Map.of("key", "value")).orElseThrow();
+        victim.done(first);
+        assertTrue(Files.exists(file));
+        victim.done(second);
+        assertFalse(Files.exists(file));
+        assertTrue(victim.unfinished().isEmpty());
+    }
+
+    @Test
+    public void clear() {
+        var victim = new JobJournal(file, mapper);
+        victim.submitted("merge", Map.of("key", "value"));
+        victim.clear();
+        assertFalse(Files.exists(file));
+        assertTrue(victim.unfinished().isEmpty());
+    }
+}
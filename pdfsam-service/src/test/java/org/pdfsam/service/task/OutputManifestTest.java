@@ -0,0 +1,146 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pdfsam.model.task.BulkRotateParameters;
+import org.pdfsam.model.task.PdfRotationInput;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.parameter.SplitBySizeParameters;
+import org.sejda.model.rotation.Rotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class OutputManifestTest {
+
+    @TempDir
+    private Path folder;
+    private Path file;
+    private Path input;
+    private Path output;
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = folder.resolve("config").resolve("outputs.manifest");
+        input = Files.writeString(folder.resolve("input.pdf"), "input");
+        output = Files.writeString(folder.resolve("output.pdf"), "output");
+        mapper = JsonMapper.builder().addModule(new JavaTimeModule()).enable(SerializationFeature.INDENT_OUTPUT)
+                .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                .serializationInclusion(JsonInclude.Include.NON_EMPTY).build();
+    }
+
+    @Test
+    public void disabled() {
+        var victim = OutputManifest.disabled();
+        assertFalse(victim.isEnabled());
+        assertTrue(victim.fingerprint("tool", split(), Map.of("key", "value")).isEmpty());
+        victim.record("fingerprint", List.of(output.toFile()));
+        assertTrue(victim.unchanged("fingerprint").isEmpty());
+    }
+
+    @Test
+    public void noFingerprint() {
+        var victim = new OutputManifest(file, mapper);
+        assertTrue(victim.fingerprint("tool", split(), Map.of()).isEmpty());
+        var parameters = new SplitBySizeParameters(1000);
+        parameters.addSource(PdfStreamSource.newInstanceNoPassword(new ByteArrayInputStream(new byte[0]), "a.pdf"));
+        assertTrue(victim.fingerprint("tool", parameters, Map.of("key", "value")).isEmpty());
+    }
+
+    @Test
+    public void fingerprint() throws IOException {
+        var victim = new OutputManifest(file, mapper);
+        var fingerprint = victim.fingerprint("tool", split(), Map.of("key", "value")).orElseThrow();
+        assertEquals(fingerprint, victim.fingerprint("tool", split(), Map.of("key", "value")).orElseThrow());
+        assertNotEquals(fingerprint, victim.fingerprint("another", split(), Map.of("key", "value")).orElseThrow());
+        assertNotEquals(fingerprint, victim.fingerprint("tool", split(), Map.of("key", "other")).orElseThrow());
+        Files.setLastModifiedTime(input, FileTime.fromMillis(Files.getLastModifiedTime(input).toMillis() - 10000));
+        assertNotEquals(fingerprint, victim.fingerprint("tool", split(), Map.of("key", "value")).orElseThrow());
+    }
+
+    @Test
+    public void rotateInputs() {
+        var parameters = new BulkRotateParameters();
+        parameters.addInput(new PdfRotationInput(PdfFileSource.newInstanceNoPassword(input.toFile()),
+                Rotation.DEGREES_90));
+        assertEquals(List.of(input.toFile()), OutputManifest.inputs(parameters).orElseThrow());
+    }
+
+    @Test
+    public void unchangedSurviveRestart() {
+        var victim = new OutputManifest(file, mapper);
+        assertTrue(victim.unchanged("fingerprint").isEmpty());
+        victim.record("fingerprint", List.of(output.toFile()));
+        assertTrue(Files.exists(file));
+        assertEquals(List.of(output.toFile().getAbsoluteFile()), victim.unchanged("fingerprint"));
+        assertEquals(List.of(output.toFile().getAbsoluteFile()),
+                new OutputManifest(file, mapper).unchanged("fingerprint"));
+    }
+
+    @Test
+    public void touchedOutput() throws IOException {
+        var victim = new OutputManifest(file, mapper);
+        victim.record("fingerprint", List.of(output.toFile()));
+        Files.writeString(output, "changed");
+        assertTrue(victim.unchanged("fingerprint").isEmpty());
+        victim.record("fingerprint", List.of(output.toFile()));
+        Files.delete(output);
+        assertTrue(victim.unchanged("fingerprint").isEmpty());
+    }
+
+    @Test
+    public void clear() {
+        var victim = new OutputManifest(file, mapper);
+        victim.record("fingerprint", List.of(output.toFile()));
+        victim.clear();
+        assertFalse(Files.exists(file));
+        assertTrue(victim.unchanged("fingerprint").isEmpty());
+    }
+
+    private SplitBySizeParameters split() {
+        var parameters = new SplitBySizeParameters(1000);
+        parameters.addSource(PdfFileSource.newInstanceNoPassword(input.toFile()));
+        return parameters;
+    }
+}
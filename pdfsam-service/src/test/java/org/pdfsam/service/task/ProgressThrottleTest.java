@@ -0,0 +1,102 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.Task;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class ProgressThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private ProgressThrottle victim;
+    private NotifiableTaskMetadata metadata;
+
+    @BeforeEach
+    public void setUp() {
+        victim = new ProgressThrottle(10, clock::get);
+        metadata = new NotifiableTaskMetadata(mock(Task.class));
+    }
+
+    @Test
+    public void invalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new ProgressThrottle(0));
+    }
+
+    @Test
+    public void firstIsForwarded() {
+        assertTrue(victim.accept(progress(1, metadata)));
+    }
+
+    @Test
+    public void intermediateAreDropped() {
+        assertTrue(victim.accept(progress(1, metadata)));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        assertFalse(victim.accept(progress(2, metadata)));
+        assertFalse(victim.accept(progress(3, metadata)));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(victim.accept(progress(4, metadata)));
+        assertEquals(2, victim.dropped());
+    }
+
+    @Test
+    public void doneIsAlwaysForwarded() {
+        assertTrue(victim.accept(progress(99, metadata)));
+        assertTrue(victim.accept(progress(100, metadata)));
+    }
+
+    @Test
+    public void tasksAreThrottledIndependently() {
+        assertTrue(victim.accept(progress(1, metadata)));
+        assertTrue(victim.accept(progress(1, new NotifiableTaskMetadata(mock(Task.class)))));
+        assertEquals(0, victim.dropped());
+    }
+
+    @Test
+    public void ended() {
+        assertTrue(victim.accept(progress(1, metadata)));
+        victim.ended(metadata.getTaskIdentifier());
+        assertTrue(victim.accept(progress(2, metadata)));
+    }
+
+    @Test
+    public void noTaskIdentifier() {
+        assertTrue(victim.accept(progress(1, null)));
+        assertTrue(victim.accept(progress(2, null)));
+    }
+
+    private static PercentageOfWorkDoneChangedEvent progress(int percentage, NotifiableTaskMetadata metadata) {
+        return new PercentageOfWorkDoneChangedEvent(new BigDecimal(percentage), metadata);
+    }
+}
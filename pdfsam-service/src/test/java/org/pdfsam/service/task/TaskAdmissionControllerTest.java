@@ -0,0 +1,174 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.pdfsam.service.pdf.CachedPdfMetadata;
+import org.pdfsam.service.pdf.PdfMetadataCache;
+import org.pdfsam.test.JavaFxThreadInitializeExtension;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.parameter.MergeParameters;
+import org.sejda.model.parameter.SplitBySizeParameters;
+import org.sejda.model.parameter.base.AbstractParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.Duration.ofSeconds;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.pdfsam.service.task.TaskAdmissionController.FILE_FOOTPRINT_FACTOR;
+import static org.pdfsam.service.task.TaskAdmissionController.PAGE_FOOTPRINT;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class TaskAdmissionControllerTest {
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    public void invalidBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskAdmissionController(null, 0));
+    }
+
+    @Test
+    public void estimateFromFileSize() throws IOException {
+        var file = Files.write(folder.resolve("test.pdf"), new byte[1000]).toFile();
+        var params = new SplitBySizeParameters(10);
+        params.addSource(PdfFileSource.newInstanceNoPassword(file));
+        assertEquals(1000 * FILE_FOOTPRINT_FACTOR, new TaskAdmissionController(null, 10).estimate(params));
+    }
+
+    @Test
+    public void estimateFromPages() throws IOException {
+        var file = Files.write(folder.resolve("test.pdf"), new byte[1000]).toFile();
+        var cache = mock(PdfMetadataCache.class);
+        when(cache.get(any(File.class))).thenReturn(
+                Optional.of(new CachedPdfMetadata(file.getPath(), 1000, 1, 3, null, Map.of(), null)));
+        var params = new MergeParameters();
+        params.addInput(new PdfMergeInput(PdfFileSource.newInstanceNoPassword(file)));
+        params.addInput(new PdfMergeInput(PdfFileSource.newInstanceNoPassword(file)));
+        assertEquals(2 * (1000 + 3 * PAGE_FOOTPRINT), new TaskAdmissionController(cache, 10).estimate(params));
+    }
+
+    @Test
+    public void unknownParameters() {
+        assertEquals(0, new TaskAdmissionController(null, 10).estimate(mock(AbstractParameters.class)));
+    }
+
+    @Test
+    public void waitsForBudget() throws InterruptedException {
+        var victim = new TaskAdmissionController(null, 100);
+        victim.acquire(60);
+        var admitted = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> {
+            try {
+                victim.acquire(60);
+                admitted.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        assertFalse(admitted.await(200, TimeUnit.MILLISECONDS));
+        victim.release(60);
+        assertTrue(admitted.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void exceedingBudgetRunsAlone() throws InterruptedException {
+        var victim = new TaskAdmissionController(null, 100);
+        victim.acquire(500);
+        assertEquals(5, victim.usage(), 0.0001);
+        var admitted = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> {
+            try {
+                victim.acquire(1);
+                admitted.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        assertFalse(admitted.await(200, TimeUnit.MILLISECONDS));
+        victim.release(500);
+        assertTrue(admitted.await(2, TimeUnit.SECONDS));
+        assertEquals(0.01, victim.usage(), 0.0001);
+    }
+
+    @Test
+    public void admittedInOrder() throws InterruptedException {
+        var victim = new TaskAdmissionController(null, 100);
+        victim.acquire(60);
+        var big = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> {
+            try {
+                victim.acquire(80);
+                big.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        await().atMost(ofSeconds(2)).pollDelay(ofSeconds(0)).until(() -> victim.hasQueuedTasks());
+        var small = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> {
+            try {
+                victim.acquire(10);
+                small.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        // the small task fits the budget but it asked after the big one
+        assertFalse(small.await(200, TimeUnit.MILLISECONDS));
+        victim.release(60);
+        assertTrue(big.await(2, TimeUnit.SECONDS));
+        assertTrue(small.await(2, TimeUnit.SECONDS));
+    }
+
+    @Nested
+    @ExtendWith(JavaFxThreadInitializeExtension.class)
+    class UsageProperty {
+
+        @Test
+        public void usageIsPublished() throws InterruptedException {
+            var victim = new TaskAdmissionController(null, 100);
+            victim.acquire(50);
+            await().atMost(ofSeconds(2)).until(() -> victim.usageProperty().get() == 0.5);
+            victim.release(50);
+            await().atMost(ofSeconds(2)).until(() -> victim.usageProperty().get() == 0);
+        }
+    }
+}
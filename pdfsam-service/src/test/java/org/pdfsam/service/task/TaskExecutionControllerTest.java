@@ -18,24 +18,66 @@
  */
 package org.pdfsam.service.task;
 
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.pdfsam.eventstudio.Listener;
+import org.junit.jupiter.api.io.TempDir;
+import org.pdfsam.model.tool.TaskCancellationRequest;
+import org.pdfsam.model.tool.TaskCancelledException;
 import org.pdfsam.model.tool.TaskExecutionRequest;
 import org.pdfsam.service.task.TaskExecutionController.TaskEventBroadcaster;
 import org.pdfsam.service.tool.UsageService;
 import org.pdfsam.test.ClearEventStudioExtension;
 import org.pdfsam.test.JavaFxThreadInitializeExtension;
 import org.sejda.core.notification.context.GlobalNotificationContext;
+import org.sejda.core.service.DefaultTaskExecutionService;
 import org.sejda.core.service.TaskExecutionService;
+import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
+import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
+import org.sejda.model.notification.event.TaskExecutionFailedEvent;
 import org.sejda.model.notification.event.TaskExecutionStartedEvent;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.parameter.MergeParameters;
 import org.sejda.model.parameter.base.AbstractParameters;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.sejda.model.task.Task;
 
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
 /**
@@ -47,12 +89,14 @@ public class TaskExecutionControllerTest {
 
     private TaskExecutionService executionService;
     private UsageService usageService;
+    private TaskAdmissionController admission;
     private TaskExecutionController victim;
 
     @BeforeEach
     public void setUp() {
         executionService = mock(TaskExecutionService.class);
         usageService = mock(UsageService.class);
+        admission = new TaskAdmissionController(null, Long.MAX_VALUE);
         victim = new TaskExecutionController(executionService, usageService);
     }
 
@@ -74,16 +118,248 @@ public class TaskExecutionControllerTest {
     public void onEventTaskEventBroadcaster() {
         var toolId = "tool";
         AbstractParameters params = mock(AbstractParameters.class);
-        victim.request(new TaskExecutionRequest(toolId, params));
         TaskEventBroadcaster<TaskExecutionStartedEvent> broadcaster = victim.new TaskEventBroadcaster<>();
         TaskExecutionStartedEvent event = new TaskExecutionStartedEvent(null);
+        doAnswer(i -> {
+            broadcaster.onEvent(event);
+            return null;
+        }).when(executionService).execute(params);
         Listener<TaskExecutionStartedEvent> listener = mock(Listener.class);
         eventStudio().add(TaskExecutionStartedEvent.class, listener);
         Listener<TaskExecutionStartedEvent> listenerTool = mock(Listener.class);
         eventStudio().add(TaskExecutionStartedEvent.class, listenerTool, toolId);
-        broadcaster.onEvent(event);
+        victim.request(new TaskExecutionRequest(toolId, params));
         verify(listener, timeout(1000).times(1)).onEvent(event);
         verify(listenerTool, timeout(1000).times(1)).onEvent(event);
     }
 
+    @Test
+    public void journaledUntilDone(@TempDir Path folder) throws InterruptedException {
+        var journal = new JobJournal(folder.resolve("jobs.journal"),
+                JsonMapper.builder().addModule(new JavaTimeModule()).build());
+        victim = new TaskExecutionController(executionService, usageService, admission, journal,
+                OutputManifest.disabled(), 1);
+        AbstractParameters params = mock(AbstractParameters.class);
+        var running = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(i -> {
+            running.countDown();
+            release.await();
+            return null;
+        }).when(executionService).execute(params);
+        victim.request(new TaskExecutionRequest("tool", params, Map.of("key", "value")));
+        assertTrue(running.await(1, TimeUnit.SECONDS));
+        assertEquals(1, journal.unfinished().size());
+        assertEquals("tool", journal.unfinished().getFirst().toolId());
+        release.countDown();
+        await().atMost(Duration.ofSeconds(1)).until(() -> journal.unfinished().isEmpty());
+        assertFalse(Files.exists(folder.resolve("jobs.journal")));
+    }
+
+    @Test
+    public void unchangedIsSkipped(@TempDir Path folder) throws IOException {
+        var manifest = new OutputManifest(folder.resolve("outputs.manifest"),
+                JsonMapper.builder().addModule(new JavaTimeModule()).build());
+        victim = new TaskExecutionController(new DefaultTaskExecutionService(), usageService, admission,
+                JobJournal.disabled(), manifest, 1);
+        var input = folder.resolve("input.pdf");
+        Files.copy(getClass().getResourceAsStream("/test_pdfsam.pdf"), input);
+        var merged = folder.resolve("merged.pdf");
+        var merge = new MergeParameters();
+        merge.addInput(new PdfMergeInput(PdfFileSource.newInstanceNoPassword(input.toFile())));
+        merge.setOutput(new FileTaskOutput(merged.toFile()));
+        merge.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        Listener<TaskExecutionCompletedEvent> completed = mock(Listener.class);
+        eventStudio().add(TaskExecutionCompletedEvent.class, completed, "tool");
+        var data = Map.of("input.0", input.toString());
+
+        victim.request(new TaskExecutionRequest("tool", merge, data));
+        verify(completed, timeout(5000)).onEvent(argThat(e -> e.getNotifiableTaskMetadata().taskOutput().size() == 1));
+        var modified = Files.getLastModifiedTime(merged);
+
+        victim.request(new TaskExecutionRequest("tool", merge, data));
+        verify(completed, timeout(5000)).onEvent(argThat(e -> e.getNotifiableTaskMetadata().taskOutput().isEmpty()
+                && e.getNotifiableTaskMetadata().skippedOutput().equals(List.of(merged.toFile().getAbsoluteFile()))));
+        assertEquals(modified, Files.getLastModifiedTime(merged));
+
+        Files.setLastModifiedTime(input, FileTime.fromMillis(Files.getLastModifiedTime(input).toMillis() - 10000));
+        victim.request(new TaskExecutionRequest("tool", merge, data));
+        verify(completed, timeout(5000).times(2)).onEvent(
+                argThat(e -> e.getNotifiableTaskMetadata().taskOutput().size() == 1));
+    }
+
+    @Test
+    public void concurrentTasksRoutedByTaskId() throws InterruptedException {
+        victim = new TaskExecutionController(executionService, usageService, admission, 2);
+        AbstractParameters mergeParams = mock(AbstractParameters.class);
+        AbstractParameters rotateParams = mock(AbstractParameters.class);
+        var mergeMetadata = new NotifiableTaskMetadata(mock(Task.class));
+        var rotateMetadata = new NotifiableTaskMetadata(mock(Task.class));
+        var mergeStarted = new TaskExecutionStartedEvent(mergeMetadata);
+        var release = new CountDownLatch(1);
+        doAnswer(i -> {
+            GlobalNotificationContext.getContext().notifyListeners(mergeStarted);
+            release.await();
+            GlobalNotificationContext.getContext().notifyListeners(new TaskExecutionCompletedEvent(1, mergeMetadata));
+            return null;
+        }).when(executionService).execute(mergeParams);
+        var rotateStarted = new TaskExecutionStartedEvent(rotateMetadata);
+        var rotateCompleted = new TaskExecutionCompletedEvent(1, rotateMetadata);
+        doAnswer(i -> {
+            GlobalNotificationContext.getContext().notifyListeners(rotateStarted);
+            GlobalNotificationContext.getContext().notifyListeners(rotateCompleted);
+            return null;
+        }).when(executionService).execute(rotateParams);
+        Listener<TaskExecutionStartedEvent> mergeListener = mock(Listener.class);
+        eventStudio().add(TaskExecutionStartedEvent.class, mergeListener, "merge");
+        Listener<TaskExecutionCompletedEvent> rotateListener = mock(Listener.class);
+        eventStudio().add(TaskExecutionCompletedEvent.class, rotateListener, "rotate");
+        Listener<PercentageOfWorkDoneChangedEvent> mergeProgress = mock(Listener.class);
+        eventStudio().add(PercentageOfWorkDoneChangedEvent.class, mergeProgress, "merge");
+
+        victim.request(new TaskExecutionRequest("merge", mergeParams));
+        verify(mergeListener, timeout(1000).times(1)).onEvent(mergeStarted);
+        victim.request(new TaskExecutionRequest("rotate", rotateParams));
+        // the rotate completes while the merge is still running
+        verify(rotateListener, timeout(1000).times(1)).onEvent(rotateCompleted);
+        // notified from a thread that is not executing any task, routed by task identifier
+        var progress = new PercentageOfWorkDoneChangedEvent(BigDecimal.TEN, mergeMetadata);
+        GlobalNotificationContext.getContext().notifyListeners(progress);
+        verify(mergeProgress, timeout(1000).times(1)).onEvent(progress);
+        release.countDown();
+    }
+
+    @Test
+    public void cancelQueued() throws InterruptedException {
+        victim = new TaskExecutionController(executionService, usageService, admission, 1);
+        AbstractParameters runningParams = mock(AbstractParameters.class);
+        AbstractParameters queuedParams = mock(AbstractParameters.class);
+        var running = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(i -> {
+            running.countDown();
+            release.await();
+            return null;
+        }).when(executionService).execute(runningParams);
+        Listener<TaskExecutionFailedEvent> listener = mock(Listener.class);
+        eventStudio().add(TaskExecutionFailedEvent.class, listener, "queued");
+        victim.request(new TaskExecutionRequest("running", runningParams));
+        running.await();
+        victim.request(new TaskExecutionRequest("queued", queuedParams));
+        assertTrue(victim.cancel("queued"));
+        release.countDown();
+        verify(listener, timeout(1000).times(1)).onEvent(
+                argThat(e -> e.getFailingCause() instanceof TaskCancelledException));
+        verify(executionService, after(200).never()).execute(queuedParams);
+    }
+
+    @Test
+    public void cancelAllTasksOfTheTool() throws InterruptedException {
+        victim = new TaskExecutionController(executionService, usageService, admission, 1);
+        AbstractParameters runningParams = mock(AbstractParameters.class);
+        AbstractParameters firstParams = mock(AbstractParameters.class);
+        AbstractParameters secondParams = mock(AbstractParameters.class);
+        var running = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(i -> {
+            running.countDown();
+            release.await();
+            return null;
+        }).when(executionService).execute(runningParams);
+        Listener<TaskExecutionFailedEvent> listener = mock(Listener.class);
+        eventStudio().add(TaskExecutionFailedEvent.class, listener, "queued");
+        victim.request(new TaskExecutionRequest("running", runningParams));
+        running.await();
+        victim.request(new TaskExecutionRequest("queued", firstParams));
+        victim.request(new TaskExecutionRequest("queued", secondParams));
+        assertTrue(victim.cancel("queued"));
+        release.countDown();
+        verify(listener, timeout(1000).times(2)).onEvent(
+                argThat(e -> e.getFailingCause() instanceof TaskCancelledException));
+        verify(executionService, after(200).never()).execute(firstParams);
+        verify(executionService, never()).execute(secondParams);
+    }
+
+    @Test
+    public void cancelWaitingForAdmission() throws InterruptedException {
+        admission = new TaskAdmissionController(null, 10);
+        victim = new TaskExecutionController(executionService, usageService, admission, 2);
+        // a running task exceeding the budget
+        admission.acquire(11);
+        AbstractParameters params = mock(AbstractParameters.class);
+        Listener<TaskExecutionFailedEvent> listener = mock(Listener.class);
+        eventStudio().add(TaskExecutionFailedEvent.class, listener, "tool");
+        victim.request(new TaskExecutionRequest("tool", params));
+        victim.onCancellationRequest(new TaskCancellationRequest("tool"));
+        verify(listener, timeout(1000).times(1)).onEvent(
+                argThat(e -> e.getFailingCause() instanceof TaskCancelledException));
+        verify(executionService, never()).execute(params);
+    }
+
+    @Test
+    public void cancelRunning(@TempDir Path folder) throws IOException, InterruptedException {
+        var started = new CountDownLatch(1);
+        var cancelled = new CountDownLatch(1);
+        AbstractParameters params = mock(AbstractParameters.class);
+        when(params.getOutput()).thenReturn(new FileTaskOutput(folder.resolve("out.pdf").toFile()));
+        var metadata = new NotifiableTaskMetadata(mock(Task.class));
+        var other = Files.createFile(folder.resolve(".sejdaTmp123.tmp"));
+        var buffer = new AtomicReference<File>();
+        doAnswer(i -> {
+            GlobalNotificationContext.getContext().notifyListeners(new TaskExecutionStartedEvent(metadata));
+            buffer.set(TemporaryBuffers.create(params.getOutput()));
+            started.countDown();
+            cancelled.await();
+            try {
+                GlobalNotificationContext.getContext()
+                        .notifyListeners(new PercentageOfWorkDoneChangedEvent(BigDecimal.TEN, metadata));
+            } catch (TaskCancelledException e) {
+                GlobalNotificationContext.getContext().notifyListeners(new TaskExecutionFailedEvent(e, metadata));
+                return null;
+            }
+            GlobalNotificationContext.getContext().notifyListeners(new TaskExecutionCompletedEvent(1, metadata));
+            return null;
+        }).when(executionService).execute(params);
+        Listener<TaskExecutionFailedEvent> failed = mock(Listener.class);
+        eventStudio().add(TaskExecutionFailedEvent.class, failed, "tool");
+        Listener<PercentageOfWorkDoneChangedEvent> progress = mock(Listener.class);
+        eventStudio().add(PercentageOfWorkDoneChangedEvent.class, progress, "tool");
+        assertFalse(victim.cancel("tool"));
+        victim.request(new TaskExecutionRequest("tool", params));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertTrue(victim.cancel("tool"));
+        cancelled.countDown();
+        verify(failed, timeout(1000).times(1)).onEvent(
+                argThat(e -> e.getFailingCause() instanceof TaskCancelledException));
+        verify(progress, never()).onEvent(any());
+        await().atMost(Duration.ofSeconds(2)).until(() -> !buffer.get().exists());
+        assertTrue(Files.exists(other));
+    }
+
+    @Test
+    public void progressIsThrottled() {
+        AbstractParameters params = mock(AbstractParameters.class);
+        var metadata = new NotifiableTaskMetadata(mock(Task.class));
+        var done = new PercentageOfWorkDoneChangedEvent(new BigDecimal(100), metadata);
+        doAnswer(i -> {
+            for (int j = 0; j < 100; j++) {
+                GlobalNotificationContext.getContext()
+                        .notifyListeners(new PercentageOfWorkDoneChangedEvent(new BigDecimal(j), metadata));
+            }
+            GlobalNotificationContext.getContext().notifyListeners(done);
+            return null;
+        }).when(executionService).execute(params);
+        Listener<PercentageOfWorkDoneChangedEvent> progress = mock(Listener.class);
+        eventStudio().add(PercentageOfWorkDoneChangedEvent.class, progress, "tool");
+        victim.request(new TaskExecutionRequest("tool", params));
+        verify(progress, timeout(1000)).onEvent(done);
+        verify(progress, atMost(50)).onEvent(any());
+    }
+
+    @Test
+    public void invalidConcurrency() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TaskExecutionController(executionService, usageService, admission, 0));
+    }
+
 }
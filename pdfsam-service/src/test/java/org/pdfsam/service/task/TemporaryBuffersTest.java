@@ -0,0 +1,104 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.output.DirectoryTaskOutput;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.pdfsam.core.ConfigurableSystemProperty.TMP_BUFFER_DIRECTORY_PROP;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class TemporaryBuffersTest {
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(TMP_BUFFER_DIRECTORY_PROP);
+        TemporaryBuffers.untrack();
+    }
+
+    @Test
+    public void noDirectory() {
+        assertTrue(TemporaryBuffers.directory().isEmpty());
+    }
+
+    @Test
+    public void missingDirectory(@TempDir Path folder) {
+        System.setProperty(TMP_BUFFER_DIRECTORY_PROP, folder.resolve("missing").toString());
+        assertTrue(TemporaryBuffers.directory().isEmpty());
+    }
+
+    @Test
+    public void createInConfiguredDirectory(@TempDir Path folder, @TempDir Path output) throws TaskIOException {
+        System.setProperty(TMP_BUFFER_DIRECTORY_PROP, folder.toString());
+        var buffer = TemporaryBuffers.create(new DirectoryTaskOutput(output.toFile()));
+        assertEquals(folder, buffer.toPath().getParent());
+        assertTrue(buffer.getName().startsWith(TemporaryBuffers.prefix()));
+    }
+
+    @Test
+    public void createNextToOutput(@TempDir Path output) throws TaskIOException {
+        var buffer = TemporaryBuffers.create(new DirectoryTaskOutput(output.toFile()));
+        assertEquals(output, buffer.toPath().getParent());
+    }
+
+    @Test
+    public void createdAreTracked(@TempDir Path output) throws TaskIOException {
+        Set<File> buffers = new HashSet<>();
+        TemporaryBuffers.track(buffers);
+        assertSame(buffers, TemporaryBuffers.tracked());
+        var buffer = TemporaryBuffers.create(new DirectoryTaskOutput(output.toFile()));
+        assertEquals(Set.of(buffer), buffers);
+    }
+
+    @Test
+    public void notTracked(@TempDir Path output) throws TaskIOException {
+        var buffer = TemporaryBuffers.create(new DirectoryTaskOutput(output.toFile()));
+        assertTrue(Files.exists(buffer.toPath()));
+        assertTrue(TemporaryBuffers.tracked().isEmpty());
+    }
+
+    @Test
+    public void deleteOnlyTracked(@TempDir Path folder, @TempDir Path output) throws TaskIOException, IOException {
+        System.setProperty(TMP_BUFFER_DIRECTORY_PROP, folder.toString());
+        Set<File> buffers = new HashSet<>();
+        var buffer = TemporaryBuffers.create(new DirectoryTaskOutput(output.toFile()), buffers);
+        var moved = TemporaryBuffers.create(new DirectoryTaskOutput(output.toFile()), buffers);
+        Files.delete(moved.toPath());
+        var other = TemporaryBuffers.create(new DirectoryTaskOutput(output.toFile()), new HashSet<>());
+        TemporaryBuffers.delete(buffers);
+        assertFalse(Files.exists(buffer.toPath()));
+        assertTrue(Files.exists(other.toPath()));
+    }
+}
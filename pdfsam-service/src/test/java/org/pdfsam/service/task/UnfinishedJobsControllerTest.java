@@ -0,0 +1,136 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.service.task;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.pdfsam.core.support.params.WorkspaceParametersFactory;
+import org.pdfsam.eventstudio.Listener;
+import org.pdfsam.model.lifecycle.CleanupRequest;
+import org.pdfsam.model.lifecycle.StartupEvent;
+import org.pdfsam.model.tool.DiscardUnfinishedJobsRequest;
+import org.pdfsam.model.tool.ResumeUnfinishedJobsRequest;
+import org.pdfsam.model.tool.TaskExecutionRequest;
+import org.pdfsam.model.tool.UnfinishedJobsEvent;
+import org.pdfsam.model.ui.workspace.LoadWorkspaceResponse;
+import org.pdfsam.test.ClearEventStudioExtension;
+import org.sejda.model.parameter.base.AbstractParameters;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class UnfinishedJobsControllerTest {
+
+    @RegisterExtension
+    static ClearEventStudioExtension staticExtension = new ClearEventStudioExtension("merge", "split");
+
+    private JobJournal journal;
+    private WorkspaceParametersFactory factory;
+    private UnfinishedJobsController victim;
+
+    @BeforeEach
+    public void setUp(@TempDir Path folder) {
+        journal = new JobJournal(folder.resolve("jobs.journal"),
+                JsonMapper.builder().addModule(new JavaTimeModule()).build());
+        factory = mock(WorkspaceParametersFactory.class);
+        when(factory.toolId()).thenReturn("merge");
+        victim = new UnfinishedJobsController(journal, List.of(factory));
+    }
+
+    @Test
+    public void startupWithUnfinished() {
+        journal.submitted("merge", Map.of("key", "value"));
+        journal.submitted("split", Map.of("key", "value"));
+        Listener<UnfinishedJobsEvent> listener = mock(Listener.class);
+        eventStudio().add(UnfinishedJobsEvent.class, listener);
+        victim.onStartup(new StartupEvent());
+        verify(listener).onEvent(new UnfinishedJobsEvent(2));
+    }
+
+    @Test
+    public void startupWithoutUnfinished() {
+        Listener<UnfinishedJobsEvent> listener = mock(Listener.class);
+        eventStudio().add(UnfinishedJobsEvent.class, listener);
+        victim.onStartup(new StartupEvent());
+        verify(listener, never()).onEvent(any());
+    }
+
+    @Test
+    public void resume() {
+        var params = mock(AbstractParameters.class);
+        doReturn(Optional.of(params)).when(factory).create(Map.of("key", "value"));
+        journal.submitted("merge", Map.of("key", "value"));
+        journal.submitted("split", Map.of("key", "split"));
+        Listener<TaskExecutionRequest> requests = mock(Listener.class);
+        eventStudio().add(TaskExecutionRequest.class, requests);
+        Listener<LoadWorkspaceResponse> merge = mock(Listener.class);
+        eventStudio().add(LoadWorkspaceResponse.class, merge, "merge");
+        Listener<LoadWorkspaceResponse> split = mock(Listener.class);
+        eventStudio().add(LoadWorkspaceResponse.class, split, "split");
+        victim.onResume(new ResumeUnfinishedJobsRequest());
+        verify(merge).onEvent(argThat(r -> "value".equals(r.getData("merge").get("key"))));
+        verify(split).onEvent(argThat(r -> "split".equals(r.getData("split").get("key"))));
+        verify(requests).onEvent(argThat(r -> r.parameters() == params && "merge".equals(r.toolId())));
+        assertTrue(journal.unfinished().isEmpty());
+    }
+
+    @Test
+    public void resumeInvalid() {
+        when(factory.create(any())).thenThrow(IllegalArgumentException.class);
+        journal.submitted("merge", Map.of("key", "value"));
+        Listener<TaskExecutionRequest> requests = mock(Listener.class);
+        eventStudio().add(TaskExecutionRequest.class, requests);
+        victim.onResume(new ResumeUnfinishedJobsRequest());
+        verify(requests, never()).onEvent(any());
+        assertTrue(journal.unfinished().isEmpty());
+    }
+
+    @Test
+    public void discard() {
+        journal.submitted("merge", Map.of("key", "value"));
+        victim.onDiscard(new DiscardUnfinishedJobsRequest());
+        assertTrue(journal.unfinished().isEmpty());
+    }
+
+    @Test
+    public void cleanup() {
+        journal.submitted("merge", Map.of("key", "value"));
+        victim.onCleanupRequest(new CleanupRequest());
+        assertTrue(journal.unfinished().isEmpty());
+    }
+}
@@ -29,16 +29,29 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.pdfsam.model.lifecycle.ShutdownEvent;
 import org.pdfsam.persistence.DefaultEntityRepository;
+import org.pdfsam.test.ClearEventStudioExtension;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 
 /**
  * @author Andrea Vacondio
  */
+@ExtendWith(ClearEventStudioExtension.class)
 public class DefaultUsageServiceTest {
 
     private DefaultUsageService victim;
+    private DefaultEntityRepository<ToolUsage> repo;
 
     @BeforeEach
     public void setUp() {
@@ -48,8 +61,8 @@ public class DefaultUsageServiceTest {
                 .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
                 .serializationInclusion(JsonInclude.Include.NON_EMPTY)
                 .build();
-        this.victim = new DefaultUsageService(
-                new DefaultEntityRepository<>("/test/org/pdfsam/moduleusage", mapper, ToolUsage.class));
+        this.repo = new DefaultEntityRepository<>("/test/org/pdfsam/moduleusage", mapper, ToolUsage.class);
+        this.victim = new DefaultUsageService(repo);
     }
 
     @AfterEach
@@ -68,6 +81,57 @@ public class DefaultUsageServiceTest {
         assertEquals(3, victim.getTotalUsages());
     }
 
+    @Test
+    public void usagesPerTool() {
+        victim.incrementUsageFor("moduleId");
+        victim.incrementUsageFor("another");
+        victim.incrementUsageFor("moduleId");
+        assertEquals(2, victim.getUsages("moduleId"));
+        assertEquals(1, victim.getUsages("another"));
+        assertEquals(0, victim.getUsages("missing"));
+        assertEquals(Map.of("moduleId", 2L, "another", 1L), victim.getUsages());
+    }
+
+    @Test
+    public void flushedUsagesAreLoaded() {
+        victim.incrementUsageFor("moduleId");
+        victim.incrementUsageFor("another");
+        victim.incrementUsageFor("moduleId");
+        victim.flush();
+        var reloaded = new DefaultUsageService(repo);
+        assertEquals(3, reloaded.getTotalUsages());
+        assertEquals(2, reloaded.getUsages("moduleId"));
+        assertEquals(1, reloaded.getUsages("another"));
+    }
+
+    @Test
+    public void flushedOnShutdown() {
+        victim.incrementUsageFor("moduleId");
+        eventStudio().broadcast(new ShutdownEvent());
+        var reloaded = new DefaultUsageService(repo);
+        assertEquals(1, reloaded.getTotalUsages());
+        assertEquals(1, reloaded.getUsages("moduleId"));
+    }
+
+    @Test
+    public void concurrentIncrements() throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> victim.incrementUsageFor("moduleId"));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1000, victim.getTotalUsages());
+        assertEquals(1000, victim.getUsages("moduleId"));
+    }
+
+    @Test
+    public void usagesArePersistedPeriodically() {
+        victim = new DefaultUsageService(repo, 1);
+        victim.incrementUsageFor("moduleId");
+        await().atMost(Duration.ofSeconds(5)).until(() -> repo.getLong(DefaultUsageService.TASKS_EXECUTED_KEY, 0) == 1);
+    }
+
     @Test
     public void testClear() {
         victim.incrementUsageFor("moduleId");
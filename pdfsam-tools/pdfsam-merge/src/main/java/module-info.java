@@ -1,5 +1,7 @@
+import org.pdfsam.core.support.params.WorkspaceParametersFactory;
 import org.pdfsam.model.tool.Tool;
 import org.pdfsam.tools.merge.MergeTool;
+import org.pdfsam.tools.merge.MergeWorkspaceParametersFactory;
 
 /*
  * This file is part of the PDF Split And Merge source code
@@ -36,4 +38,5 @@ module org.pdfsam.tools.merge {
     requires org.kordamp.ikonli.unicons;
 
     provides Tool with MergeTool;
+    provides WorkspaceParametersFactory with MergeWorkspaceParametersFactory;
 }
\ No newline at end of file
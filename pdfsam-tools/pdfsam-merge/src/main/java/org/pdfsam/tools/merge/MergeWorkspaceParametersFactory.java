@@ -0,0 +1,76 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.tools.merge;
+
+import org.pdfsam.core.support.params.WorkspaceData;
+import org.pdfsam.core.support.params.WorkspaceParametersFactory;
+import org.sejda.conversion.exception.ConversionException;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.outline.OutlinePolicy;
+import org.sejda.model.parameter.MergeParameters;
+import org.sejda.model.pdf.form.AcroFormPolicy;
+import org.sejda.model.scale.PageNormalizationPolicy;
+import org.sejda.model.toc.ToCPolicy;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.pdfsam.tools.merge.MergeTool.TOOL_ID;
+
+/**
+ * {@link WorkspaceParametersFactory} creating {@link MergeParameters} from the data saved by the {@link MergeToolPanel}
+ *
+ * @author Andrea Vacondio
+ */
+public class MergeWorkspaceParametersFactory implements WorkspaceParametersFactory {
+
+    @Override
+    public String toolId() {
+        return TOOL_ID;
+    }
+
+    @Override
+    public Optional<MergeParameters> create(Map<String, String> data) {
+        var workspace = new WorkspaceData(data);
+        var builder = new MergeParametersBuilder();
+        try {
+            for (var input : workspace.multipleInputs()) {
+                if (!input.excluded()) {
+                    builder.addInput(new PdfMergeInput(input.source(), input.pageRanges()));
+                }
+            }
+        } catch (ConversionException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        if (!builder.hasInput()) {
+            return Optional.empty();
+        }
+        workspace.get("outline").map(OutlinePolicy::valueOf).ifPresent(builder::outlinePolicy);
+        workspace.get("acroForms").map(AcroFormPolicy::valueOf).ifPresent(builder::acroFormsPolicy);
+        workspace.get("toc").map(ToCPolicy::valueOf).ifPresent(builder::tocPolicy);
+        workspace.get("pageNormalization").map(PageNormalizationPolicy::valueOf)
+                .or(() -> Optional.of(PageNormalizationPolicy.SAME_WIDTH_ORIENTATION_BASED)
+                        .filter(p -> workspace.getBoolean("normalize"))).ifPresent(builder::pageNormalizationPolicy);
+        builder.blankPageIfOdd(workspace.getBoolean("blankIfOdd"));
+        builder.footer(workspace.getBoolean("footer"));
+        builder.output(workspace.fileOutput(""));
+        workspace.applyDestination(builder);
+        return Optional.of(builder.build());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.tools.merge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.outline.OutlinePolicy;
+import org.sejda.model.output.ExistingOutputPolicy;
+import org.sejda.model.scale.PageNormalizationPolicy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class MergeWorkspaceParametersFactoryTest {
+
+    private final MergeWorkspaceParametersFactory victim = new MergeWorkspaceParametersFactory();
+
+    @Test
+    public void toolId() {
+        assertEquals(MergeTool.TOOL_ID, victim.toolId());
+    }
+
+    @Test
+    public void noInput() {
+        assertTrue(victim.create(Map.of("input.size", "0", "browsableField", "out.pdf")).isEmpty());
+    }
+
+    @Test
+    public void create(@TempDir Path folder) throws IOException {
+        var data = new HashMap<String, String>();
+        data.put("input.size", "2");
+        data.put("input.0", Files.createTempFile(folder, null, ".pdf").toString());
+        data.put("input.range.0", "2-4");
+        data.put("input.1", Files.createTempFile(folder, null, ".pdf").toString());
+        data.put("input.range.1", "0");
+        data.put("outline", "ONE_ENTRY_EACH_DOC");
+        data.put("normalize", "true");
+        data.put("blankIfOdd", "true");
+        data.put("overwrite", "true");
+        data.put("browsableField", folder.resolve("out.pdf").toString());
+        var params = victim.create(data).orElseThrow();
+        assertEquals(1, params.getInputList().size());
+        assertEquals(1, ((PdfMergeInput) params.getInputList().get(0)).getPageSelection().size());
+        assertEquals(OutlinePolicy.ONE_ENTRY_EACH_DOC, params.getOutlinePolicy());
+        assertEquals(PageNormalizationPolicy.SAME_WIDTH_ORIENTATION_BASED, params.getPageNormalizationPolicy());
+        assertTrue(params.isBlankPageIfOdd());
+        assertEquals(ExistingOutputPolicy.OVERWRITE, params.getExistingOutputPolicy());
+        assertEquals(folder.resolve("out.pdf").toFile(), params.getOutput().getDestination());
+    }
+
+    @Test
+    public void invalidRange(@TempDir Path folder) throws IOException {
+        var data = Map.of("input.size", "1", "input.0", Files.createTempFile(folder, null, ".pdf").toString(),
+                "input.range.0", "Chuck", "browsableField", folder.resolve("out.pdf").toString());
+        assertThrows(IllegalArgumentException.class, () -> victim.create(data));
+    }
+}
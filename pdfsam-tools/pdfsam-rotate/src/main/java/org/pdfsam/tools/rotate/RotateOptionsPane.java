@@ -18,6 +18,7 @@
  */
 package org.pdfsam.tools.rotate;
 
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
@@ -35,6 +36,7 @@ import java.util.function.Consumer;
 
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.pdfsam.i18n.I18nContext.i18n;
+import static org.pdfsam.ui.components.support.Views.helpIcon;
 
 /**
  * Panel for the Rotate options
@@ -47,6 +49,7 @@ class RotateOptionsPane extends HBox
 
     private final ComboBox<ComboItem<PredefinedSetOfPages>> rotationType = new ComboBox<>();
     private final ComboBox<ComboItem<Rotation>> rotation = new ComboBox<>();
+    private final CheckBox incremental = new CheckBox(i18n().tr("Only append the changes"));
 
     RotateOptionsPane() {
         super(Style.DEFAULT_SPACING);
@@ -60,22 +63,30 @@ class RotateOptionsPane extends HBox
         this.rotation.getItems().add(new ComboItem<>(Rotation.DEGREES_270, i18n().tr("90 degrees counterclockwise")));
         this.rotation.setId("rotation");
 
+        this.incremental.setGraphic(helpIcon(i18n().tr(
+                "Keep the original file content and append the rotated pages to it, much faster for large files")));
+        this.incremental.getStyleClass().addAll(Style.WITH_HELP.css());
+        this.incremental.setId("incremental");
+
         getStyleClass().addAll(Style.HCONTAINER.css());
         getStyleClass().addAll(Style.CONTAINER.css());
         resetView();
-        getChildren().addAll(new Label(i18n().tr("Rotate ")), this.rotationType, this.rotation);
+        getChildren().addAll(new Label(i18n().tr("Rotate ")), this.rotationType, this.rotation,
+                this.incremental);
     }
 
     @Override
     public void resetView() {
         this.rotationType.getSelectionModel().selectFirst();
         this.rotation.getSelectionModel().selectFirst();
+        this.incremental.setSelected(false);
     }
 
     @Override
     public void apply(RotateParametersBuilder builder, Consumer<String> onError) {
         builder.rotation(rotation.getSelectionModel().getSelectedItem().key());
         builder.rotationType(rotationType.getSelectionModel().getSelectedItem().key());
+        builder.incremental(incremental.isSelected());
     }
 
     @Override
@@ -84,6 +95,7 @@ class RotateOptionsPane extends HBox
                 .map(i -> i.key().toString()).orElse(EMPTY));
         data.put("rotationType", Optional.ofNullable(rotationType.getSelectionModel().getSelectedItem())
                 .map(i -> i.key().toString()).orElse(EMPTY));
+        data.put("incremental", Boolean.toString(incremental.isSelected()));
     }
 
     @Override
@@ -94,5 +106,6 @@ class RotateOptionsPane extends HBox
         Optional.ofNullable(data.get("rotationType")).map(PredefinedSetOfPages::valueOf)
                 .flatMap(key -> this.rotationType.getItems().stream().filter(i -> i.key().equals(key)).findFirst())
                 .ifPresent(this.rotationType.getSelectionModel()::select);
+        incremental.setSelected(Boolean.parseBoolean(data.get("incremental")));
     }
 }
@@ -47,6 +47,7 @@ class RotateParametersBuilder extends AbstractPdfOutputParametersBuilder<BulkRot
     private final Set<PdfRotationInput> inputs = new NullSafeSet<>();
     private Rotation rotation;
     private PredefinedSetOfPages predefinedRotationType;
+    private boolean incremental;
 
     void addInput(PdfSource<?> source, Set<PageRange> pageSelection) {
         if (isNull(pageSelection) || pageSelection.isEmpty()) {
@@ -87,6 +88,10 @@ class RotateParametersBuilder extends AbstractPdfOutputParametersBuilder<BulkRot
 
     }
 
+    public void incremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     @Override
     public BulkRotateParameters build() {
         BulkRotateParameters params = new BulkRotateParameters();
@@ -95,6 +100,7 @@ class RotateParametersBuilder extends AbstractPdfOutputParametersBuilder<BulkRot
         params.setVersion(getVersion());
         params.setOutput(getOutput());
         params.setOutputPrefix(getPrefix());
+        params.setIncremental(incremental);
         inputs.forEach(params::addInput);
         return params;
     }
@@ -30,7 +30,7 @@ import org.pdfsam.model.tool.ToolCategory;
 import org.pdfsam.model.tool.ToolDescriptor;
 import org.pdfsam.model.tool.ToolInputOutputType;
 import org.pdfsam.model.tool.ToolPriority;
-import org.pdfsam.persistence.PreferencesRepository;
+import org.pdfsam.persistence.Repositories;
 import org.pdfsam.ui.components.io.BrowsableOutputDirectoryField;
 import org.pdfsam.ui.components.io.PdfDestinationPane;
 import org.pdfsam.ui.components.prefix.PrefixPane;
@@ -108,7 +108,7 @@ public class RotateTool implements Tool {
         @Provides
         @Named(TOOL_ID + "prefix")
         public PrefixPane prefixPane() {
-            return new PrefixPane(TOOL_ID, new PreferencesRepository("/org/pdfsam/user/conf/" + TOOL_ID));
+            return new PrefixPane(TOOL_ID, Repositories.repository("/org/pdfsam/user/conf/" + TOOL_ID));
         }
     }
 
@@ -19,6 +19,7 @@
 package org.pdfsam.tools.rotate;
 
 import javafx.scene.Scene;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.stage.Stage;
 import org.junit.jupiter.api.Test;
@@ -37,6 +38,7 @@ import java.util.Map;
 import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -69,6 +71,7 @@ public class RotateOptionsPaneTest   {
         victim.apply(builder, onError);
         verify(builder).rotation(eq(Rotation.DEGREES_90));
         verify(builder).rotationType(eq(PredefinedSetOfPages.ALL_PAGES));
+        verify(builder).incremental(false);
         verify(onError, never()).accept(anyString());
     }
 
@@ -78,6 +81,7 @@ public class RotateOptionsPaneTest   {
         victim.saveStateTo(data);
         assertEquals(Rotation.DEGREES_90.toString(), data.get("rotation"));
         assertEquals(PredefinedSetOfPages.ALL_PAGES.toString(), data.get("rotationType"));
+        assertEquals(Boolean.FALSE.toString(), data.get("incremental"));
     }
 
     @Test
@@ -87,9 +91,11 @@ public class RotateOptionsPaneTest   {
         Map<String, String> data = new HashMap<>();
         data.put("rotation", Rotation.DEGREES_270.toString());
         data.put("rotationType", PredefinedSetOfPages.EVEN_PAGES.toString());
+        data.put("incremental", Boolean.TRUE.toString());
         WaitForAsyncUtils.waitForAsyncFx(2000, () -> victim.restoreStateFrom(data));
         assertEquals(Rotation.DEGREES_270, rotation.getSelectionModel().getSelectedItem().key());
         assertEquals(PredefinedSetOfPages.EVEN_PAGES, rotationType.getSelectionModel().getSelectedItem().key());
+        assertTrue(robot.lookup("#incremental").queryAs(CheckBox.class).isSelected());
     }
 
     @Test
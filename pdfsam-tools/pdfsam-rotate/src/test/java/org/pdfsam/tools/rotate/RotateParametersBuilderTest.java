@@ -38,6 +38,7 @@ import java.util.Collections;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -77,6 +78,15 @@ public class RotateParametersBuilderTest {
         assertEquals(output, params.getOutput());
         assertEquals(3, input.getPages(5).size());
         assertEquals("prefix", params.getOutputPrefix());
+        assertFalse(params.isIncremental());
+    }
+
+    @Test
+    public void buildIncremental(@TempDir Path folder) throws IOException {
+        victim.output(mock(FileOrDirectoryTaskOutput.class));
+        victim.addInput(PdfFileSource.newInstanceNoPassword(Files.createTempFile(folder, null, ".pdf").toFile()), null);
+        victim.incremental(true);
+        assertTrue(victim.build().isIncremental());
     }
 
     @Test
@@ -18,6 +18,7 @@
  */
 package org.pdfsam.tools.splitbybookmarks;
 
+import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.scene.control.ComboBox;
 import org.pdfsam.core.support.params.TaskParametersBuildStep;
@@ -31,11 +32,14 @@ import org.pdfsam.ui.components.support.Style;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.pdfsam.i18n.I18nContext.i18n;
 
 /**
@@ -47,12 +51,17 @@ import static org.pdfsam.i18n.I18nContext.i18n;
 class BookmarksLevelComboBox extends ComboBox<String>
         implements TaskParametersBuildStep<SplitByOutlineLevelParametersBuilder>, RestorableView, ResettableView {
     private final FXValidationSupport<String> validationSupport = new FXValidationSupport<>();
+    private Supplier<CompletableFuture<SortedSet<Integer>>> pendingLevels;
 
     BookmarksLevelComboBox() {
         validationSupport.setValidator(Validators.alwaysFalse());
         setEditable(true);
         getSelectionModel().selectFirst();
-        valueProperty().addListener((o, oldVal, newVal) -> validate());
+        valueProperty().addListener((o, oldVal, newVal) -> {
+            requestPendingLevels();
+            validate();
+        });
+        addEventHandler(ComboBox.ON_SHOWING, e -> requestPendingLevels());
         validationSupport.validationStateProperty().addListener(o -> {
             if (validationSupport.validationStateProperty().get() == ValidationState.INVALID) {
                 getEditor().getStyleClass().addAll(Style.INVALID.css());
@@ -64,6 +73,7 @@ class BookmarksLevelComboBox extends ComboBox<String>
     }
 
     public void setValidBookmarkLevels(SortedSet<Integer> levels) {
+        pendingLevels = null;
         getItems().clear();
         if (nonNull(levels)) {
             validationSupport.setValidator(Validators.containedInteger(levels));
@@ -73,6 +83,31 @@ class BookmarksLevelComboBox extends ComboBox<String>
         }
     }
 
+    /**
+     * Sets a supplier of the valid levels that is invoked the first time levels are actually needed, when the popup is shown or there's a value. Levels
+     * are computed asynchronously and, until they are known, any positive integer is considered valid.
+     */
+    public void setValidBookmarkLevels(Supplier<CompletableFuture<SortedSet<Integer>>> levels) {
+        getItems().clear();
+        pendingLevels = levels;
+        validationSupport.setValidator(Validators.positiveInteger());
+        if (isNotBlank(getValue())) {
+            requestPendingLevels();
+        }
+    }
+
+    private void requestPendingLevels() {
+        var levels = pendingLevels;
+        if (nonNull(levels)) {
+            levels.get().thenAccept(resolved -> Platform.runLater(() -> {
+                if (pendingLevels == levels) {
+                    setValidBookmarkLevels(resolved);
+                    validate();
+                }
+            }));
+        }
+    }
+
     public final ValidationState getValidationState() {
         return validationSupport.validationStateProperty().get();
     }
@@ -90,6 +125,7 @@ class BookmarksLevelComboBox extends ComboBox<String>
 
     @Override
     public void resetView() {
+        pendingLevels = null;
         getItems().clear();
         getEditor().clear();
     }
@@ -97,7 +133,10 @@ class BookmarksLevelComboBox extends ComboBox<String>
     @Override
     public void apply(SplitByOutlineLevelParametersBuilder builder, Consumer<String> onError) {
         this.validate();
-        if (validationSupport.validationStateProperty().get() == ValidationState.VALID) {
+        if (nonNull(pendingLevels)) {
+            requestPendingLevels();
+            onError.accept(i18n().tr("Bookmarks levels are still being read, please try again"));
+        } else if (validationSupport.validationStateProperty().get() == ValidationState.VALID) {
             builder.level(Integer.parseInt(getValue()));
         } else {
             onError.accept(i18n().tr("Invalid bookmarks level"));
@@ -33,7 +33,9 @@ import org.pdfsam.ui.components.support.Style;
 import java.util.Map;
 import java.util.Optional;
 import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.defaultString;
@@ -87,6 +89,10 @@ class SplitOptionsPane extends GridPane
         levelCombo.setValidBookmarkLevels(levels);
     }
 
+    void setValidBookmarkLevels(Supplier<CompletableFuture<SortedSet<Integer>>> levels) {
+        levelCombo.setValidBookmarkLevels(levels);
+    }
+
     private HBox createLine(Node... items) {
         HBox item = new HBox(items);
         item.getStyleClass().addAll(Style.VITEM.css());
@@ -41,6 +41,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,6 +92,42 @@ public class BookmarksLevelComboBoxTest {
         assertEquals(ValidationState.VALID, victim.getValidationState());
     }
 
+    @Test
+    public void lazyLevelsOnShowing() {
+        var calls = new AtomicInteger();
+        victim.setValidBookmarkLevels(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(validLevels);
+        });
+        assertEquals(0, calls.get());
+        assertTrue(victim.getItems().isEmpty());
+        robot.clickOn(victim).push(KeyCode.ALT, KeyCode.DOWN);
+        WaitForAsyncUtils.waitForFxEvents();
+        assertEquals(validLevels.size(), victim.getItems().size());
+        robot.clickOn("3");
+        assertEquals(ValidationState.VALID, victim.getValidationState());
+    }
+
+    @Test
+    public void lazyLevelsValidateTheValue() {
+        var levels = new CompletableFuture<SortedSet<Integer>>();
+        victim.setValidBookmarkLevels(() -> levels);
+        robot.clickOn(victim).write("40").push(KeyCode.ENTER);
+        assertEquals(ValidationState.VALID, victim.getValidationState());
+        levels.complete(validLevels);
+        WaitForAsyncUtils.waitForFxEvents();
+        assertEquals(ValidationState.INVALID, victim.getValidationState());
+    }
+
+    @Test
+    public void applyWhileLevelsArePending() {
+        victim.setValidBookmarkLevels(CompletableFuture::new);
+        robot.clickOn(victim).write("3").push(KeyCode.ENTER);
+        victim.apply(builder, onError);
+        verify(onError).accept(anyString());
+        verify(builder, never()).level(anyInt());
+    }
+
     @Test
     public void invalidIntegerValue() {
         victim.setValidBookmarkLevels(validLevels);
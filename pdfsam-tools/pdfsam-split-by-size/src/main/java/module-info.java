@@ -1,5 +1,7 @@
+import org.pdfsam.core.support.params.WorkspaceParametersFactory;
 import org.pdfsam.model.tool.Tool;
 import org.pdfsam.tools.splitbysize.SplitBySizeTool;
+import org.pdfsam.tools.splitbysize.SplitBySizeWorkspaceParametersFactory;
 
 /*
  * This file is part of the PDF Split And Merge source code
@@ -33,4 +35,5 @@ import org.pdfsam.tools.splitbysize.SplitBySizeTool;
     requires org.kordamp.ikonli.unicons;
 
     provides Tool with SplitBySizeTool;
+    provides WorkspaceParametersFactory with SplitBySizeWorkspaceParametersFactory;
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.tools.splitbysize;
+
+import org.pdfsam.core.support.params.WorkspaceData;
+import org.pdfsam.core.support.params.WorkspaceParametersFactory;
+import org.pdfsam.core.support.validation.Validators;
+import org.sejda.model.parameter.SplitBySizeParameters;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.pdfsam.i18n.I18nContext.i18n;
+import static org.pdfsam.tools.splitbysize.SplitBySizeTool.TOOL_ID;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * {@link WorkspaceParametersFactory} creating {@link SplitBySizeParameters} from the data saved by the
+ * {@link SplitBySizeToolPanel}
+ *
+ * @author Andrea Vacondio
+ */
+public class SplitBySizeWorkspaceParametersFactory implements WorkspaceParametersFactory {
+
+    @Override
+    public String toolId() {
+        return TOOL_ID;
+    }
+
+    @Override
+    public Optional<SplitBySizeParameters> create(Map<String, String> data) {
+        var workspace = new WorkspaceData(data);
+        return workspace.singleInput().map(source -> {
+            var builder = new SplitBySizeParametersBuilder();
+            builder.source(source);
+            var size = workspace.get("size").filter(Validators.positiveInteger()::isValid).map(Integer::parseInt)
+                    .orElse(0);
+            requireArg(size > 0, i18n().tr("Invalid split size"));
+            var unit = Arrays.stream(SizeUnit.values()).filter(u -> workspace.getBoolean(u.toString())).findFirst()
+                    .orElse(SizeUnit.MEGABYTE);
+            builder.size(unit.toBytes(size));
+            workspace.applyDirectoryOutput(TOOL_ID + "field", builder);
+            workspace.applyDestination(builder);
+            return builder.build();
+        });
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.tools.splitbysize;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sejda.model.output.FileOrDirectoryTaskOutput;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class SplitBySizeWorkspaceParametersFactoryTest {
+
+    private static final String FIELD = SplitBySizeTool.TOOL_ID + "fieldbrowsableField";
+    private final SplitBySizeWorkspaceParametersFactory victim = new SplitBySizeWorkspaceParametersFactory();
+
+    @Test
+    public void noInput() {
+        assertTrue(victim.create(Map.of("size", "10")).isEmpty());
+    }
+
+    @Test
+    public void create(@TempDir Path folder) throws IOException {
+        var input = Files.createTempFile(folder, null, ".pdf");
+        var params = victim.create(
+                Map.of("input", input.toString(), "size", "10", "KILOBYTE", "true", FIELD,
+                        folder.toString(), "prefix", "chuck_")).orElseThrow();
+        assertEquals(10 * 1024, params.getSizeToSplitAt());
+        assertEquals(input.toFile(), params.getSourceList().get(0).getSource());
+        assertEquals(folder.toFile(), ((FileOrDirectoryTaskOutput) params.getOutput()).getDestination());
+        assertEquals("chuck_", params.getOutputPrefix());
+    }
+
+    @Test
+    public void megabytesByDefault(@TempDir Path folder) throws IOException {
+        var params = victim.create(Map.of("input", Files.createTempFile(folder, null, ".pdf").toString(), "size", "2",
+                FIELD, folder.toString())).orElseThrow();
+        assertEquals(2 * 1024 * 1024, params.getSizeToSplitAt());
+    }
+
+    @Test
+    public void invalidSize(@TempDir Path folder) throws IOException {
+        var data = Map.of("input", Files.createTempFile(folder, null, ".pdf").toString(), "size", "Chuck",
+                FIELD, folder.toString());
+        assertThrows(IllegalArgumentException.class, () -> victim.create(data));
+    }
+}
@@ -29,7 +29,7 @@ import org.pdfsam.model.tool.TaskExecutionRequest;
 import org.pdfsam.model.tool.ToolBound;
 import org.pdfsam.model.ui.ResettableView;
 import org.pdfsam.model.ui.workspace.RestorableView;
-import org.pdfsam.persistence.PreferencesRepository;
+import org.pdfsam.persistence.Repository;
 import org.pdfsam.ui.components.support.Style;
 import org.sejda.model.prefix.Prefix;
 
@@ -55,9 +55,9 @@ public class PrefixPane extends GridPane
 
     private final PrefixField field;
     private final String toolBinding;
-    private final PreferencesRepository repository;
+    private final Repository repository;
 
-    public PrefixPane(String toolBinding, PreferencesRepository repository) {
+    public PrefixPane(String toolBinding, Repository repository) {
         this.toolBinding = defaultString(toolBinding);
         this.repository = repository;
         this.field = new PrefixField();
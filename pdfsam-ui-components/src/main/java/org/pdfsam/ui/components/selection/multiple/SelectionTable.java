@@ -19,6 +19,7 @@
 package org.pdfsam.ui.components.selection.multiple;
 
 import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
@@ -39,6 +40,7 @@ import javafx.scene.control.SelectionMode;
 import javafx.scene.control.SeparatorMenuItem;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.DataFormat;
@@ -62,6 +64,7 @@ import org.pdfsam.model.io.NativeOpenFileRequest;
 import org.pdfsam.model.pdf.PdfDescriptorLoadingStatus;
 import org.pdfsam.model.pdf.PdfDocumentDescriptor;
 import org.pdfsam.model.pdf.PdfLoadRequest;
+import org.pdfsam.model.pdf.PrioritizePdfLoadRequest;
 import org.pdfsam.model.tool.ClearToolRequest;
 import org.pdfsam.model.tool.ToolBound;
 import org.pdfsam.model.ui.ShowPdfDescriptorRequest;
@@ -83,6 +86,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -128,6 +132,7 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
 
     private final Timeline scrollTimeline = new Timeline();
     private double scrollDirection = 0;
+    private final PauseTransition prioritizeLoading = new PauseTransition(Duration.millis(150));
 
     public SelectionTable(String toolBinding, boolean canDuplicateItems, boolean canMove,
             TableColumnProvider<?>... columns) {
@@ -139,7 +144,9 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
         setColumnResizePolicy(CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
         getStyleClass().add("selection-table");
         initDragAndDrop(canMove);
+        initLoadingPriority();
         getSelectionModel().getSelectedIndices().addListener((Change<? extends Integer> c) -> {
+            prioritizeLoading.playFromStart();
 
             ObservableList<? extends Integer> selected = c.getList();
             if (selected.isEmpty()) {
@@ -168,6 +175,41 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
         eventStudio().add(SelectionChangedEvent.class, e -> selectionChangedConsumer.accept(e), toolBinding);
     }
 
+    private void initLoadingPriority() {
+        prioritizeLoading.setOnFinished(e -> prioritizeLoading());
+        getFocusModel().focusedIndexProperty().addListener(o -> prioritizeLoading.playFromStart());
+        skinProperty().addListener(o -> virtualFlow().ifPresent(
+                flow -> flow.positionProperty().addListener(p -> prioritizeLoading.playFromStart())));
+    }
+
+    /**
+     * Asks for the documents the user is looking at (focused, selected or visible rows) to be loaded before the other pending ones
+     */
+    private void prioritizeLoading() {
+        var documents = new LinkedHashSet<PdfDocumentDescriptor>();
+        ofNullable(getFocusModel().getFocusedItem()).map(SelectionTableRowData::descriptor).ifPresent(documents::add);
+        getSelectionModel().getSelectedItems().stream().map(SelectionTableRowData::descriptor)
+                .forEach(documents::add);
+        virtualFlow().ifPresent(flow -> {
+            var first = flow.getFirstVisibleCell();
+            var last = flow.getLastVisibleCell();
+            if (nonNull(first) && nonNull(last)) {
+                IntStream.rangeClosed(Math.max(first.getIndex(), 0), Math.min(last.getIndex(), getItems().size() - 1))
+                        .mapToObj(getItems()::get).map(SelectionTableRowData::descriptor).forEach(documents::add);
+            }
+        });
+        documents.removeIf(d -> d.loadingStatus().getValue() != PdfDescriptorLoadingStatus.REQUESTED);
+        if (!documents.isEmpty()) {
+            LOG.trace("Prioritizing loading of {} documents", documents.size());
+            eventStudio().broadcast(new PrioritizePdfLoadRequest(List.copyOf(documents)));
+        }
+    }
+
+    private Optional<VirtualFlow<?>> virtualFlow() {
+        return ofNullable(lookup(".virtual-flow")).filter(VirtualFlow.class::isInstance)
+                .map(f -> (VirtualFlow<?>) f);
+    }
+
     private void initTopSectionContextMenu(ContextMenu contextMenu, boolean hasRanges, boolean hasPace) {
         MenuItem setDestinationItem = createMenuItem(i18n().tr("Set destination"), UniconsLine.CROSSHAIR);
         setDestinationItem.setOnAction(e -> eventStudio().broadcast(
@@ -516,9 +558,13 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
         focus.map(getItems()::indexOf).ifPresent(getFocusModel()::focus);
         this.sort();
 
-        loadEvent.getDocuments().stream().findFirst().ifPresent(
-                f -> eventStudio().broadcast(requestFallbackDestination(f.getFile(), toolBinding()), toolBinding()));
+        if (loadEvent.fallbackDestination()) {
+            loadEvent.getDocuments().stream().findFirst().ifPresent(
+                    f -> eventStudio().broadcast(requestFallbackDestination(f.getFile(), toolBinding()),
+                            toolBinding()));
+        }
         eventStudio().broadcast(loadEvent);
+        prioritizeLoading.playFromStart();
     }
 
     @EventListener
@@ -653,6 +699,7 @@ public class SelectionTable extends TableView<SelectionTableRowData> implements
             });
             getItems().addAll(items);
             eventStudio().broadcast(loadEvent);
+            prioritizeLoading.playFromStart();
         }
 
     }
@@ -34,6 +34,7 @@ import org.pdfsam.ui.components.notification.NotificationType;
 import org.pdfsam.ui.components.support.Style;
 import org.sejda.model.parameter.base.AbstractParameters;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -68,7 +69,9 @@ public abstract class BaseToolPanel extends BorderPane implements ToolBound {
                     s -> eventStudio().broadcast(
                             new AddNotificationRequest(NotificationType.ERROR, s, i18n().tr("Invalid parameters")))));
             if (!errorTracker.errorOnBuild) {
-                eventStudio().broadcast(new TaskExecutionRequest(toolBinding(), builder.build()));
+                var data = new HashMap<String, String>();
+                onSaveWorkspace(data);
+                eventStudio().broadcast(new TaskExecutionRequest(toolBinding(), builder.build(), data));
             }
         });
         setCenter(panel);
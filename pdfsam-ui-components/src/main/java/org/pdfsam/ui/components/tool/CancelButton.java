@@ -0,0 +1,50 @@
+/*
+ * This file is part of the PDF Split And Merge source code
+ * Created on 18/10/26
+ * Copyright 2026 by Sober Lemur S.r.l. (info@soberlemur.com).
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.pdfsam.ui.components.tool;
+
+import javafx.scene.control.Button;
+import org.kordamp.ikonli.javafx.FontIcon;
+import org.kordamp.ikonli.unicons.UniconsLine;
+import org.pdfsam.model.tool.TaskCancellationRequest;
+import org.pdfsam.ui.components.support.Style;
+
+import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
+import static org.pdfsam.i18n.I18nContext.i18n;
+
+/**
+ * Button requesting the cancellation of the task requested by the tool it belongs to
+ *
+ * @author Andrea Vacondio
+ */
+class CancelButton extends Button {
+
+    public CancelButton(String toolId) {
+        getStyleClass().addAll(Style.FOOTER_BUTTON.css());
+        getStyleClass().add("footer-cancel-button");
+        setText(i18n().tr("Cancel"));
+        //TODO set -fx-icon-size to 1.6em
+        setGraphic(FontIcon.of(UniconsLine.BAN));
+        setMaxHeight(Double.MAX_VALUE);
+        setPrefHeight(Double.MAX_VALUE);
+        setOnAction(e -> {
+            setDisable(true);
+            eventStudio().broadcast(new TaskCancellationRequest(toolId));
+        });
+    }
+}
@@ -28,6 +28,7 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import org.pdfsam.eventstudio.annotation.EventListener;
 import org.pdfsam.eventstudio.annotation.EventStation;
+import org.pdfsam.model.tool.TaskCancelledException;
 import org.pdfsam.model.tool.TaskExecutionRequest;
 import org.pdfsam.model.tool.ToolBound;
 import org.sejda.model.notification.event.PercentageOfWorkDoneChangedEvent;
@@ -38,6 +39,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 import static org.pdfsam.i18n.I18nContext.i18n;
 
@@ -51,6 +53,7 @@ public class Footer extends HBox implements ToolBound {
     private final ProgressBar bar = new ProgressBar(0);
     private final Label statusLabel = new Label();
     private final TaskFailedButton failed = new TaskFailedButton();
+    private final CancelButton cancel;
     private final OpenButton openButton;
     private final RunButton runButton;
     private String ownerModule;
@@ -59,6 +62,11 @@ public class Footer extends HBox implements ToolBound {
         this.ownerModule = defaultString(ownerModule);
         this.openButton = openButton;
         this.runButton = runButton;
+        if (isNotBlank(this.ownerModule)) {
+            this.runButton.bindTo(this.ownerModule);
+        }
+        this.cancel = new CancelButton(this.ownerModule);
+        this.cancel.setVisible(false);
         this.getStyleClass().addAll("footer-pane");
         this.statusLabel.getStyleClass().add("status-label");
         this.statusLabel.setVisible(false);
@@ -71,13 +79,15 @@ public class Footer extends HBox implements ToolBound {
         HBox.setHgrow(bar, Priority.ALWAYS);
         HBox.setHgrow(progressPane, Priority.ALWAYS);
         this.failed.setVisible(false);
-        StackPane buttons = new StackPane(failed, openButton);
+        StackPane buttons = new StackPane(failed, openButton, cancel);
         buttons.setAlignment(Pos.CENTER_LEFT);
         this.getChildren().addAll(runButton, buttons, progressPane);
         eventStudio().add(TaskExecutionRequest.class, e -> {
             if (e.toolId().equals(ownerModule)) {
                 failed.setVisible(false);
                 openButton.setVisible(false);
+                cancel.setDisable(false);
+                cancel.setVisible(isNotBlank(this.ownerModule));
                 statusLabel.setVisible(true);
                 statusLabel.setText(i18n().tr("Requested"));
                 bar.setProgress(0);
@@ -102,6 +112,7 @@ public class Footer extends HBox implements ToolBound {
 
     @EventListener
     public void onTaskCompleted(TaskExecutionCompletedEvent event) {
+        cancel.setVisible(false);
         failed.setVisible(false);
         openButton.setVisible(true);
         statusLabel.setText(i18n().tr("Completed"));
@@ -110,9 +121,16 @@ public class Footer extends HBox implements ToolBound {
 
     @EventListener
     public void onTaskFailed(TaskExecutionFailedEvent event) {
+        cancel.setVisible(false);
         openButton.setVisible(false);
-        failed.setVisible(true);
-        statusLabel.setText(i18n().tr("Failed"));
+        if (event.getFailingCause() instanceof TaskCancelledException) {
+            failed.setVisible(false);
+            statusLabel.setText(i18n().tr("Cancelled"));
+            bar.setProgress(0);
+        } else {
+            failed.setVisible(true);
+            statusLabel.setText(i18n().tr("Failed"));
+        }
     }
 
     @EventListener
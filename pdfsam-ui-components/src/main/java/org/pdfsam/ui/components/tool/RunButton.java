@@ -29,17 +29,22 @@ import org.pdfsam.ui.components.support.Style;
 import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
 import org.sejda.model.notification.event.TaskExecutionFailedEvent;
 
+import static java.util.Objects.isNull;
 import static org.pdfsam.eventstudio.StaticStudio.eventStudio;
 import static org.pdfsam.i18n.I18nContext.i18n;
+import static org.sejda.commons.util.RequireUtils.requireNotBlank;
 
 /**
- * Run button that enable/disable itself according the task executions events.
+ * Run button that enable/disable itself according the task executions events. Once bound to a tool, it only reacts to the
+ * executions of that tool, so that tasks of different tools can run at the same time.
  *
  * @author Andrea Vacondio
  */
 @Prototype
 public class RunButton extends Button {
 
+    private String toolBinding;
+
     public RunButton() {
         getStyleClass().addAll(Style.RUN_BUTTON.css());
         setText(i18n().tr("Run"));
@@ -54,18 +59,36 @@ public class RunButton extends Button {
         eventStudio().addAnnotatedListeners(this);
     }
 
+    /**
+     * Binds this button to the given tool
+     *
+     * @param toolId
+     */
+    public void bindTo(String toolId) {
+        requireNotBlank(toolId, "Tool id cannot be blank");
+        this.toolBinding = toolId;
+        eventStudio().add(TaskExecutionCompletedEvent.class, e -> setDisable(false), toolId);
+        eventStudio().add(TaskExecutionFailedEvent.class, e -> setDisable(false), toolId);
+    }
+
     @EventListener
     public void disableRunButtonIfTaskRequested(TaskExecutionRequest event) {
-        setDisable(true);
+        if (isNull(toolBinding) || toolBinding.equals(event.toolId())) {
+            setDisable(true);
+        }
     }
 
     @EventListener
     public void enableRunButtonOnTaskCompletion(TaskExecutionCompletedEvent event) {
-        setDisable(false);
+        if (isNull(toolBinding)) {
+            setDisable(false);
+        }
     }
 
     @EventListener
     public void enableRunButtonOnTaskFailure(TaskExecutionFailedEvent event) {
-        setDisable(false);
+        if (isNull(toolBinding)) {
+            setDisable(false);
+        }
     }
 }
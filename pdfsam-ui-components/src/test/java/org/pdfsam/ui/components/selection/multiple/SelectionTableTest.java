@@ -69,6 +69,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -138,6 +139,20 @@ public class SelectionTableTest {
         assertTrue(listener.isHit());
     }
 
+    @Test
+    public void noFallbackRequestForContinuation() throws Exception {
+        var requests = new AtomicInteger();
+        Listener<SetDestinationRequest> listener = e -> requests.incrementAndGet();
+        eventStudio().add(SetDestinationRequest.class, listener, MODULE);
+        var initial = requests.get();
+        var loadEvent = new PdfLoadRequest(MODULE, false);
+        loadEvent.add(PdfDocumentDescriptor.newDescriptorNoPassword(
+                Files.createFile(folder.resolve("continuation.pdf")).toFile()));
+        WaitForAsyncUtils.waitForAsyncFx(2000, () -> eventStudio().broadcast(loadEvent, MODULE));
+        assertEquals(5, victim.getItems().size());
+        assertEquals(initial, requests.get());
+    }
+
     @Test
     public void select() {
         HitTestListener<SelectionChangedEvent> listener = new HitTestListener<>() {
@@ -18,13 +18,17 @@
  */
 package org.pdfsam.ui.components.tool;
 
+import javafx.scene.control.Button;
 import javafx.scene.control.Labeled;
 import javafx.scene.control.ProgressBar;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.pdfsam.eventstudio.Listener;
 import org.pdfsam.i18n.SetLocaleRequest;
+import org.pdfsam.model.tool.TaskCancellationRequest;
+import org.pdfsam.model.tool.TaskCancelledException;
 import org.pdfsam.model.tool.TaskExecutionRequest;
 import org.pdfsam.model.tool.ToolInputOutputType;
 import org.pdfsam.test.ClearEventStudioExtension;
@@ -75,6 +79,7 @@ public class FooterTest {
         assertFalse(victim.lookup(".footer-failed-button").isVisible());
         assertFalse(victim.lookup(".footer-open-button").isVisible());
         assertFalse(victim.lookup(".status-label").isVisible());
+        assertFalse(victim.lookup(".footer-cancel-button").isVisible());
     }
 
     @Test
@@ -97,6 +102,31 @@ public class FooterTest {
         assertEquals(0, ((ProgressBar) victim.lookup(".pdfsam-footer-bar")).getProgress(), 0.01);
     }
 
+    @Test
+    public void onTaskCancelled() {
+        AbstractParameters params = mock(AbstractParameters.class);
+        when(params.getOutput()).thenReturn(mock(FileTaskOutput.class));
+        eventStudio().broadcast(new TaskExecutionRequest(TOOL_ID, params));
+        assertTrue(victim.lookup(".footer-cancel-button").isVisible());
+        victim.onTaskFailed(new TaskExecutionFailedEvent(new TaskCancelledException(), null));
+        assertFalse(victim.lookup(".footer-cancel-button").isVisible());
+        assertFalse(victim.lookup(".footer-failed-button").isVisible());
+        assertFalse(victim.lookup(".footer-open-button").isVisible());
+        assertEquals(i18n().tr("Cancelled"), ((Labeled) victim.lookup(".status-label")).getText());
+    }
+
+    @Test
+    public void cancelRequest() {
+        AbstractParameters params = mock(AbstractParameters.class);
+        when(params.getOutput()).thenReturn(mock(FileTaskOutput.class));
+        eventStudio().broadcast(new TaskExecutionRequest(TOOL_ID, params));
+        Listener<TaskCancellationRequest> listener = mock(Listener.class);
+        eventStudio().add(TaskCancellationRequest.class, listener);
+        ((Button) victim.lookup(".footer-cancel-button")).fire();
+        verify(listener).onEvent(new TaskCancellationRequest(TOOL_ID));
+        assertTrue(victim.lookup(".footer-cancel-button").isDisabled());
+    }
+
     @Test
     public void onProgress() {
         NotifiableTaskMetadata taskMetadata = mock(NotifiableTaskMetadata.class);
@@ -75,4 +75,29 @@ public class RunButtonTest {
         eventStudio().broadcast(new TaskExecutionCompletedEvent(1, taskMetadata));
         assertFalse(victim.isDisabled());
     }
+
+    @Test
+    public void boundIgnoresOtherTools() {
+        victim.bindTo("id");
+        victim.setDisable(false);
+        eventStudio().broadcast(new TaskExecutionRequest("other", mock(AbstractParameters.class)));
+        assertFalse(victim.isDisabled());
+        eventStudio().broadcast(new TaskExecutionRequest("id", mock(AbstractParameters.class)));
+        assertTrue(victim.isDisabled());
+        NotifiableTaskMetadata taskMetadata = mock(NotifiableTaskMetadata.class);
+        eventStudio().broadcast(new TaskExecutionCompletedEvent(1, taskMetadata));
+        assertTrue(victim.isDisabled());
+        eventStudio().broadcast(new TaskExecutionCompletedEvent(1, taskMetadata), "other");
+        assertTrue(victim.isDisabled());
+        eventStudio().broadcast(new TaskExecutionCompletedEvent(1, taskMetadata), "id");
+        assertFalse(victim.isDisabled());
+    }
+
+    @Test
+    public void boundEnableOnFail() {
+        victim.bindTo("id");
+        victim.setDisable(true);
+        eventStudio().broadcast(new TaskExecutionFailedEvent(null, mock(NotifiableTaskMetadata.class)), "id");
+        assertFalse(victim.isDisabled());
+    }
 }